@@ -0,0 +1,30 @@
+package com.PrescribeCorrect.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class AnalysisSearchResultDTO {
+    // best match first
+    private List<Hit> hits;
+    private int total;
+    private int page;
+    private int size;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+        private PrescriptionAnalysisSummaryDTO analysis;
+        private double rank;
+        // fragment of the summary / prescription text with the matched words wrapped in <mark></mark>
+        private String highlight;
+    }
+}
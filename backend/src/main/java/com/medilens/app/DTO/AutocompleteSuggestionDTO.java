@@ -0,0 +1,18 @@
+package com.PrescribeCorrect.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AutocompleteSuggestionDTO {
+    private String text;
+    // NAME, SPECIALIZATION or CITY
+    private String type;
+    // number of edits between the typed prefix and this suggestion
+    private int distance;
+}
@@ -0,0 +1,27 @@
+package com.PrescribeCorrect.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CachedAnalysisDTO {
+    private String analysisSummary;
+    private List<String> medicines;
+    private List<String> keyDiseases;
+    private List<String> dosageInstructions;
+    private String doctorName;
+    // when the cached analysis was saved
+    private LocalDateTime analysisDate;
+    // true when the normalised text is identical; otherwise a near duplicate of the user's own earlier upload
+    private boolean exact;
+    // 1 - differing SimHash bits / 64
+    private double similarity;
+}
@@ -1,8 +1,6 @@
 package com.PrescribeCorrect.app.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.PrescribeCorrect.app.model.ChatRole;
-import com.PrescribeCorrect.app.model.Message;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -15,9 +13,26 @@ import java.util.List;
 @NoArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ChatDTO {
+    public static final int PREVIEW_LENGTH = 120;
+
     Long id;
     private String name;
-    List<Message> messages;
+    // newest first; older pages come from GET /api/chat/{id}/messages?before=
+    List<MessageDTO> messages;
+    Boolean hasMoreMessages;
     LocalDateTime createdAt;
     LocalDateTime updatedAt;
+    // chat list only
+    Long messageCount;
+    String lastMessagePreview;
+
+    public ChatDTO(Long id, String name, LocalDateTime createdAt, LocalDateTime updatedAt,
+                   Long messageCount, String lastMessagePreview) {
+        this.id = id;
+        this.name = name;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.messageCount = messageCount;
+        this.lastMessagePreview = lastMessagePreview;
+    }
 }
@@ -0,0 +1,18 @@
+package com.PrescribeCorrect.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) paginated list.
+ * Pass nextCursor back as the cursor parameter to fetch the following page.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private Long nextCursor;
+    private boolean hasMore;
+}
@@ -43,6 +43,16 @@ public class DoctorDTO {
     
     // User fields without circular reference
     private UserInfoDTO user;
+
+    // used by the JPQL constructor projection in DoctorRepository
+    public DoctorDTO(Long id, String firstName, String lastName, String email,
+                     List<String> specialization, List<String> degree, List<String> phoneNumber,
+                     String chamberAddress, String designation, String institute, String currentCity,
+                     String availableTime, String websiteUrl, Status status) {
+        this(id, firstName, lastName, email, specialization, degree, phoneNumber, chamberAddress,
+                designation, institute, currentCity, availableTime, websiteUrl, status,
+                new UserInfoDTO(firstName, lastName, email));
+    }
     
     @Getter
     @Setter
@@ -0,0 +1,21 @@
+package com.PrescribeCorrect.app.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class DoctorSearchResultDTO {
+    private List<DoctorDTO> hits;
+    private int total;
+    private int page;
+    private int size;
+    // facet value -> number of matching doctors, most frequent first
+    private Map<String, Integer> specializationFacets;
+    private Map<String, Integer> cityFacets;
+}
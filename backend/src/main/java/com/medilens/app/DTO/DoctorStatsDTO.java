@@ -0,0 +1,19 @@
+package com.PrescribeCorrect.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable snapshot of doctor counts, rebuilt from aggregate queries by DoctorStatsService.
+ */
+@Getter
+@AllArgsConstructor
+public class DoctorStatsDTO {
+    private long totalDoctors;
+    private long active;
+    private long pending;
+    private long disabled;
+    private LocalDateTime refreshedAt;
+}
@@ -0,0 +1,23 @@
+package com.PrescribeCorrect.app.dto;
+
+import com.PrescribeCorrect.app.model.InteractionSeverity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DrugInteractionDTO {
+    // generics, drugA sorting first
+    private String drugA;
+    private String drugB;
+    private InteractionSeverity severity;
+    private String description;
+    // set on stored alerts; null on a live check
+    private LocalDateTime detectedAt;
+}
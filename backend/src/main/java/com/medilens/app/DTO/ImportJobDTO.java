@@ -0,0 +1,32 @@
+package com.PrescribeCorrect.app.dto;
+
+import com.PrescribeCorrect.app.model.ImportJobStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ImportJobDTO {
+    private Long id;
+    private ImportJobStatus status;
+    private String sourceFile;
+    private long bytesRead;
+    private long totalBytes;
+    private double percentComplete;
+    private long usersImported;
+    private long doctorsImported;
+    private long skipped;
+    private long failed;
+    private String lastError;
+    // throughput of the current run; null until the job has started
+    private Double rowsPerSecond;
+    // remaining bytes at the current byte rate; null when unknown or finished
+    private Long etaSeconds;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,18 @@
+package com.PrescribeCorrect.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MedicalTermDTO {
+    // lower-cased, as indexed
+    private String term;
+    // Medical Term, Prefix, Suffix or Abbreviation; null when the training data gives none
+    private String category;
+    private String definition;
+}
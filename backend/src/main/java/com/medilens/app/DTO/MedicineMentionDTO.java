@@ -0,0 +1,34 @@
+package com.PrescribeCorrect.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MedicineMentionDTO {
+    // dictionary spelling, e.g. "Napa"
+    private String medicine;
+    // ingredients joined with '+', e.g. "paracetamol+caffeine"
+    private String generic;
+    private SpanDTO name;
+    // null when no strength or form is written next to the name
+    private SpanDTO strength;
+    private SpanDTO form;
+    // Tablet, Capsule, Syrup, Injection, Suspension, Drops, Ointment, Inhaler or Other
+    private String formName;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SpanDTO {
+        // character offsets into the submitted text, end exclusive
+        private int start;
+        private int end;
+        private String text;
+    }
+}
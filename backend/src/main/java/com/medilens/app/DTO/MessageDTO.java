@@ -0,0 +1,20 @@
+package com.PrescribeCorrect.app.dto;
+
+import com.PrescribeCorrect.app.model.ChatRole;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageDTO {
+    private Long id;
+    private ChatRole role;
+    private String message;
+    private LocalDateTime createdAt;
+}
@@ -14,6 +14,7 @@ public class PrescriptionAnalysisDTO {
     private Long id;
     private String analysisSummary;
     private String fullPrescriptionText;
+    private String correctedPrescriptionText;
     private List<String> medicines;
     private List<String> keyDiseases;
     private List<String> dosageInstructions;
@@ -0,0 +1,27 @@
+package com.PrescribeCorrect.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * History list row: no prescription text or medicine lists, those come from GET /api/analysis/{id}
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrescriptionAnalysisSummaryDTO {
+    public static final int PREVIEW_LENGTH = 200;
+
+    private Long id;
+    // first PREVIEW_LENGTH characters of analysisSummary
+    private String summaryPreview;
+    private String doctorName;
+    private String patientName;
+    private LocalDateTime analysisDate;
+    private Boolean sentToChat;
+}
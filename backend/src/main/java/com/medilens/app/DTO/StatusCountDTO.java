@@ -0,0 +1,12 @@
+package com.PrescribeCorrect.app.dto;
+
+import com.PrescribeCorrect.app.model.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StatusCountDTO {
+    private Status status;
+    private Long count;
+}
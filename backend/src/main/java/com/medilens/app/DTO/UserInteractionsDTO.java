@@ -0,0 +1,20 @@
+package com.PrescribeCorrect.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserInteractionsDTO {
+    private String email;
+    // generics taken from current medications and recent analyses that appear in the interaction table
+    private List<String> drugs;
+    // most severe first
+    private List<DrugInteractionDTO> interactions;
+}
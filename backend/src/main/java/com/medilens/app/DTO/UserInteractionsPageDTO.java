@@ -0,0 +1,19 @@
+package com.PrescribeCorrect.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of the batch interaction check, over users in email order.
+ * Users without interactions are left out, so a page can list fewer reports than users it covered;
+ * pass nextCursor back as the after parameter to continue with the following users.
+ */
+@Getter
+@AllArgsConstructor
+public class UserInteractionsPageDTO {
+    private List<UserInteractionsDTO> content;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,21 @@
+package com.PrescribeCorrect.app.dto;
+
+import com.PrescribeCorrect.app.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Minimal view of a user needed to authenticate a request: email, role and whether the row exists
+ */
+@Getter
+@AllArgsConstructor
+public class UserPrincipalDTO {
+    private final String email;
+    private final Role role;
+    private final boolean registered;
+
+    // used by the JPQL constructor projection in UserRepository
+    public UserPrincipalDTO(String email, Role role) {
+        this(email, role, true);
+    }
+}
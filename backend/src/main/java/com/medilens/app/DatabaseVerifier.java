@@ -17,7 +17,7 @@ public class DatabaseVerifier implements CommandLineRunner {
 
     @Override
     public void run(String... args) throws Exception {
-        long doctorCount = userRepository.findByRole(Role.ROLE_DOCTOR).size();
+        long doctorCount = userRepository.countByRole(Role.ROLE_DOCTOR);
         System.out.println("🔍 Database Verification:");
         System.out.println("   👨‍⚕️ Total Doctors in Database: " + doctorCount);
 
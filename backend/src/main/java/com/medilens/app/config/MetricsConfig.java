@@ -0,0 +1,39 @@
+package com.PrescribeCorrect.app.config;
+
+import com.PrescribeCorrect.app.util.StatementCountInterceptor;
+import com.PrescribeCorrect.app.util.StatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Request metrics beyond what actuator records on its own (http.server.requests, spring.data.repository.invocations,
+ * hikaricp.*): the number of Hibernate statements behind each endpoint, checked against its @QueryBudget.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // log: report endpoints over their @QueryBudget; fail: reject the statement that goes over (integration tests)
+    @Value("${query-budget.mode:log}")
+    private String queryBudgetMode;
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        boolean failOverBudget = "fail".equalsIgnoreCase(queryBudgetMode);
+        registry.addInterceptor(new StatementCountInterceptor(meterRegistry, failOverBudget)).addPathPatterns("/api/**");
+    }
+}
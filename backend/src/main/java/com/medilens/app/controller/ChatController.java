@@ -1,16 +1,25 @@
 package com.PrescribeCorrect.app.controller;
 
+import com.PrescribeCorrect.app.dto.CursorPageDTO;
+import com.PrescribeCorrect.app.dto.MessageDTO;
 import com.PrescribeCorrect.app.exception.NotFoundException;
 import com.PrescribeCorrect.app.model.Chat;
 import com.PrescribeCorrect.app.model.Message;
 import com.PrescribeCorrect.app.repository.ChatRepository;
 import com.PrescribeCorrect.app.service.ChatService;
+import com.PrescribeCorrect.app.util.QueryBudget;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/chat")
@@ -30,11 +39,52 @@ public class ChatController {
         return new ResponseEntity<>(chatService.updateChat(id, message), HttpStatus.CREATED);
     }
 
+    /**
+     * Appends several messages in one transaction and returns their ids in request order
+     * POST /api/chat/{id}/messages
+     */
+    @PostMapping("/{id}/messages")
+    public ResponseEntity<List<Long>> appendMessages(@PathVariable Long id, @RequestBody List<Message> messages)
+            throws NotFoundException {
+        return new ResponseEntity<>(chatService.appendMessages(id, messages), HttpStatus.CREATED);
+    }
+
+    @QueryBudget(2)
     @GetMapping("/{id}")
     public ResponseEntity<?> getChat(@PathVariable Long id) throws NotFoundException {
         return ResponseEntity.ok(chatService.getChatById(id));
     }
 
+    /**
+     * Keyset paged messages of a chat. No cursor returns the newest page (newest first),
+     * before={messageId} pages backwards, after={messageId} or since={timestamp} returns only newer messages (oldest first)
+     * GET /api/chat/{id}/messages?before=120&limit=50
+     */
+    @QueryBudget(3)
+    @GetMapping("/{id}/messages")
+    public ResponseEntity<CursorPageDTO<MessageDTO>> getMessages(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "50") int limit) throws NotFoundException {
+        return ResponseEntity.ok(chatService.getMessages(id, before, after, since, limit));
+    }
+
+    /**
+     * Server-sent events for new messages in a chat ("message" events, id = message id, plus heartbeat comments).
+     * Reconnecting with Last-Event-ID (or lastEventId=) replays anything missed in between; when too much was missed
+     * a single "gap" event ({"after": lastEventId}) says to page the rest from /messages?after= instead
+     * GET /api/chat/{id}/stream
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChat(
+            @PathVariable Long id,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(required = false) Long lastEventId) throws NotFoundException {
+        return chatService.stream(id, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteChat(@PathVariable Long id) {
         chatService.delete(id);
@@ -1,23 +1,37 @@
 package com.PrescribeCorrect.app.controller;
 
+import com.PrescribeCorrect.app.dto.AutocompleteSuggestionDTO;
+import com.PrescribeCorrect.app.dto.CursorPageDTO;
 import com.PrescribeCorrect.app.dto.DoctorDTO;
+import com.PrescribeCorrect.app.dto.DoctorSearchResultDTO;
+import com.PrescribeCorrect.app.dto.DoctorStatsDTO;
+import com.PrescribeCorrect.app.dto.ImportJobDTO;
 import com.PrescribeCorrect.app.dto.UserDTO;
 import com.PrescribeCorrect.app.exception.NotFoundException;
 import com.PrescribeCorrect.app.model.Doctor;
 import com.PrescribeCorrect.app.model.Role;
 import com.PrescribeCorrect.app.model.Status;
 import com.PrescribeCorrect.app.model.User;
+import com.PrescribeCorrect.app.service.DoctorSearchService;
 import com.PrescribeCorrect.app.service.DoctorService;
+import com.PrescribeCorrect.app.service.DoctorStatsService;
+import com.PrescribeCorrect.app.service.ImportJobService;
 import com.PrescribeCorrect.app.service.UserService;
-import com.PrescribeCorrect.app.util.DoctorDataImporter;
+import com.PrescribeCorrect.app.util.QueryBudget;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -28,9 +42,15 @@ public class DoctorController {
     @Autowired
     private DoctorService doctorService;
     @Autowired
+    private DoctorSearchService doctorSearchService;
+    @Autowired
     private UserService userService;
     @Autowired
-    private DoctorDataImporter doctorDataImporter;
+    private ImportJobService importJobService;
+    @Autowired
+    private DoctorStatsService doctorStatsService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @PostMapping("/sign-up")
     public ResponseEntity<?> singUp(@RequestBody User user) {
@@ -46,11 +66,73 @@ public class DoctorController {
         return ResponseEntity.ok().build();
     }
 
+    @QueryBudget(1)
     @GetMapping("/all")
     public ResponseEntity<List<DoctorDTO>> getAllDoctors() {
         return ResponseEntity.ok(doctorService.getAll());
     }
 
+    /**
+     * Keyset paginated doctor directory, ordered by doctor id
+     * GET /api/doctor/page?cursor={lastId}&size=20&direction=ASC
+     */
+    @QueryBudget(1)
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<DoctorDTO>> getDoctorPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
+        return ResponseEntity.ok(doctorService.getPage(cursor, size, direction));
+    }
+
+    /**
+     * Server-side doctor search with facet counts per specialization and city
+     * GET /api/doctor/search?q=cardio&specialization=Cardiology&city=Dhaka&status=ACTIVE&page=0&size=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<DoctorSearchResultDTO> searchDoctors(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) Status status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(doctorSearchService.search(q, specialization, city, status, page, size));
+    }
+
+    /**
+     * Typo-tolerant suggestions for doctor names, specializations and cities, one call per keystroke
+     * GET /api/doctor/autocomplete?q=hobib&limit=10
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<AutocompleteSuggestionDTO>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(doctorSearchService.autocomplete(q, limit));
+    }
+
+    /**
+     * Full directory written as a JSON array in batches, so heap use does not grow with directory size
+     * GET /api/doctor/all/stream
+     */
+    @GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllDoctors() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                doctorService.streamAll(500, doctor -> {
+                    try {
+                        generator.writeObject(doctor);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/{email}")
     public ResponseEntity<DoctorDTO> getDoctorById(@PathVariable String email) throws NotFoundException {
         return ResponseEntity.ok(doctorService.getDoctorByEmail(email));
@@ -78,29 +160,13 @@ public class DoctorController {
     }
 
     /**
-     * Admin endpoint to import 1000+ doctors from JSON file
+     * Admin endpoint to import 1000+ doctors from JSON file; returns the job to poll while it runs
      * POST /api/doctor/import
      */
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/import")
-    public ResponseEntity<?> importDoctorsFromJSON() {
-        try {
-            doctorDataImporter.run();
-            
-            // Get updated stats
-            List<DoctorDTO> allDoctors = doctorService.getAll();
-            
-            return ResponseEntity.ok(Map.of(
-                "message", "Doctor import completed successfully",
-                "status", "SUCCESS",
-                "totalDoctors", allDoctors.size()
-            ));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
-                "message", "Error during import: " + e.getMessage(),
-                "status", "ERROR"
-            ));
-        }
+    public ResponseEntity<ImportJobDTO> importDoctorsFromJSON() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submit());
     }
     
     /**
@@ -108,25 +174,17 @@ public class DoctorController {
      * POST /api/doctor/import-all
      */
     @PostMapping("/import-all")
-    public ResponseEntity<?> forceImportAllDoctors() {
-        try {
-            doctorDataImporter.run();
-            
-            // Get updated stats
-            List<DoctorDTO> allDoctors = doctorService.getAll();
-            
-            return ResponseEntity.ok(Map.of(
-                "message", "Doctor import completed successfully",
-                "status", "SUCCESS",
-                "totalDoctors", allDoctors.size(),
-                "timestamp", java.time.LocalDateTime.now().toString()
-            ));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
-                "message", "Error during import: " + e.getMessage(),
-                "status", "ERROR"
-            ));
-        }
+    public ResponseEntity<ImportJobDTO> forceImportAllDoctors() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submit());
+    }
+
+    /**
+     * Progress of an import job: rows/sec, errors and ETA
+     * GET /api/doctor/import/{jobId}
+     */
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable Long jobId) throws NotFoundException {
+        return ResponseEntity.ok(importJobService.getJob(jobId));
     }
 
     /**
@@ -136,24 +194,15 @@ public class DoctorController {
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/stats")
     public ResponseEntity<?> getDatabaseStats() {
-        List<DoctorDTO> allDoctors = doctorService.getAll();
-        
-        long activeCount = allDoctors.stream()
-            .filter(d -> d.getStatus() == Status.ACTIVE)
-            .count();
-        long pendingCount = allDoctors.stream()
-            .filter(d -> d.getStatus() == Status.PENDING)
-            .count();
-        long disabledCount = allDoctors.stream()
-            .filter(d -> d.getStatus() == Status.DISABLED)
-            .count();
+        DoctorStatsDTO stats = doctorStatsService.getStats();
         
         return ResponseEntity.ok(Map.of(
-            "totalDoctors", allDoctors.size(),
-            "active", activeCount,
-            "pending", pendingCount,
-            "disabled", disabledCount,
+            "totalDoctors", stats.getTotalDoctors(),
+            "active", stats.getActive(),
+            "pending", stats.getPending(),
+            "disabled", stats.getDisabled(),
             "categories", 15,
+            "refreshedAt", stats.getRefreshedAt().toString(),
             "message", "Database Status Report"
         ));
     }
@@ -0,0 +1,59 @@
+package com.PrescribeCorrect.app.controller;
+
+import com.PrescribeCorrect.app.dto.DrugInteractionDTO;
+import com.PrescribeCorrect.app.dto.UserInteractionsDTO;
+import com.PrescribeCorrect.app.dto.UserInteractionsPageDTO;
+import com.PrescribeCorrect.app.exception.NotFoundException;
+import com.PrescribeCorrect.app.service.InteractionService;
+import com.PrescribeCorrect.app.util.QueryBudget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/interactions")
+public class InteractionController {
+
+    @Autowired
+    private InteractionService interactionService;
+
+    /**
+     * Every interacting pair among the current user's medications and recent analyses, most severe first
+     * GET /api/interactions/my
+     */
+    @PreAuthorize("hasRole('USER')")
+    @QueryBudget(2)
+    @GetMapping("/my")
+    public ResponseEntity<UserInteractionsDTO> checkMyMedications(Authentication auth) throws NotFoundException {
+        return ResponseEntity.ok(interactionService.checkUser(auth.getName()));
+    }
+
+    /**
+     * Interactions recorded when a saved prescription or profile update added a drug, newest first
+     * GET /api/interactions/alerts
+     */
+    @PreAuthorize("hasRole('USER')")
+    @QueryBudget(1)
+    @GetMapping("/alerts")
+    public ResponseEntity<List<DrugInteractionDTO>> getMyAlerts(Authentication auth) {
+        return ResponseEntity.ok(interactionService.getAlerts(auth.getName()));
+    }
+
+    /**
+     * Batch check over all users, limit users at a time in email order; only users with at least one interaction
+     * are listed. Pass nextCursor back as after= for the next users
+     * GET /api/interactions/all?after=patient@example.com&limit=200
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @QueryBudget(2)
+    @GetMapping("/all")
+    public ResponseEntity<UserInteractionsPageDTO> checkAllUsers(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "200") int limit) {
+        return ResponseEntity.ok(interactionService.checkAllUsers(after, limit));
+    }
+}
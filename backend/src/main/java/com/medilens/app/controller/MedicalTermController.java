@@ -0,0 +1,58 @@
+package com.PrescribeCorrect.app.controller;
+
+import com.PrescribeCorrect.app.dto.MedicalTermDTO;
+import com.PrescribeCorrect.app.exception.NotFoundException;
+import com.PrescribeCorrect.app.service.MedicalTermService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/medical-terms")
+public class MedicalTermController {
+
+    @Autowired
+    private MedicalTermService medicalTermService;
+
+    /**
+     * Terms starting with the typed prefix, alphabetically
+     * GET /api/medical-terms/suggest?prefix=tachy&limit=10
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<MedicalTermDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(medicalTermService.suggest(prefix, limit));
+    }
+
+    /**
+     * Terms whose definition contains every word of the description
+     * GET /api/medical-terms/describe?q=excess porphyrins urine&limit=10
+     */
+    @GetMapping("/describe")
+    public ResponseEntity<List<MedicalTermDTO>> describe(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(medicalTermService.describe(q, limit));
+    }
+
+    /**
+     * Training-data lookup for a medicine name read from a prescription, replaces identifyMedicineFromTrainingData
+     * GET /api/medical-terms/identify?name=Amoxicillin 500mg
+     */
+    @GetMapping("/identify")
+    public ResponseEntity<MedicalTermDTO> identifyMedicine(@RequestParam String name) throws NotFoundException {
+        return ResponseEntity.ok(medicalTermService.identifyMedicine(name));
+    }
+
+    /**
+     * Definition and category of one term
+     * GET /api/medical-terms/sinus tachycardia
+     */
+    @GetMapping("/{term}")
+    public ResponseEntity<MedicalTermDTO> getTerm(@PathVariable String term) throws NotFoundException {
+        return ResponseEntity.ok(medicalTermService.getTerm(term));
+    }
+}
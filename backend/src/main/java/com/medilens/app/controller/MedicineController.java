@@ -0,0 +1,27 @@
+package com.PrescribeCorrect.app.controller;
+
+import com.PrescribeCorrect.app.dto.MedicineMentionDTO;
+import com.PrescribeCorrect.app.service.MedicineExtractionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/medicines")
+public class MedicineController {
+
+    @Autowired
+    private MedicineExtractionService medicineExtractionService;
+
+    /**
+     * Medicines named in prescription text with their strength and dosage form, as character spans
+     * POST /api/medicines/extract (text/plain body: the OCR text)
+     */
+    @PostMapping(value = "/extract", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<List<MedicineMentionDTO>> extract(@RequestBody String text) {
+        return ResponseEntity.ok(medicineExtractionService.extract(text));
+    }
+}
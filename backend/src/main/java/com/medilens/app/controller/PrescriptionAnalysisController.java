@@ -1,10 +1,17 @@
 package com.PrescribeCorrect.app.controller;
 
+import com.PrescribeCorrect.app.dto.AnalysisSearchResultDTO;
+import com.PrescribeCorrect.app.dto.CachedAnalysisDTO;
+import com.PrescribeCorrect.app.dto.CursorPageDTO;
 import com.PrescribeCorrect.app.dto.PrescriptionAnalysisDTO;
+import com.PrescribeCorrect.app.dto.PrescriptionAnalysisSummaryDTO;
 import com.PrescribeCorrect.app.exception.NotFoundException;
 import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+import com.PrescribeCorrect.app.service.AnalysisCacheService;
 import com.PrescribeCorrect.app.service.PrescriptionAnalysisService;
+import com.PrescribeCorrect.app.util.QueryBudget;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -19,6 +26,9 @@ public class PrescriptionAnalysisController {
     @Autowired
     private PrescriptionAnalysisService analysisService;
 
+    @Autowired
+    private AnalysisCacheService analysisCacheService;
+
     @PreAuthorize("hasRole('USER')")
     @PostMapping("/save")
     public ResponseEntity<PrescriptionAnalysisDTO> saveAnalysis(
@@ -29,7 +39,21 @@ public class PrescriptionAnalysisController {
         return ResponseEntity.ok(savedAnalysis);
     }
 
+    /**
+     * Summary, medicines, diseases and dosage saved earlier for the same prescription text, so a re-upload
+     * skips the analysis; 404 when nothing close enough is cached
+     * POST /api/analysis/lookup (text/plain body: the OCR text)
+     */
+    @PreAuthorize("hasRole('USER')")
+    @QueryBudget(0)
+    @PostMapping(value = "/lookup", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<CachedAnalysisDTO> lookupAnalysis(Authentication auth, @RequestBody String fullPrescriptionText)
+            throws NotFoundException {
+        return ResponseEntity.ok(analysisCacheService.lookup(auth.getName(), fullPrescriptionText));
+    }
+
     @PreAuthorize("hasRole('USER')")
+    @QueryBudget(1)
     @GetMapping("/my-analyses")
     public ResponseEntity<List<PrescriptionAnalysisDTO>> getMyAnalyses(Authentication auth) throws NotFoundException {
         String userEmail = auth.getName();
@@ -37,7 +61,53 @@ public class PrescriptionAnalysisController {
         return ResponseEntity.ok(analyses);
     }
 
+    /**
+     * Analysis history of the current user, newest first, summary fields only.
+     * Pass nextCursor back as before= for the next page; full text and medicine lists come from GET /api/analysis/{id}
+     * GET /api/analysis/history?before=120&limit=20
+     */
+    @PreAuthorize("hasRole('USER')")
+    @QueryBudget(2)
+    @GetMapping("/history")
+    public ResponseEntity<CursorPageDTO<PrescriptionAnalysisSummaryDTO>> getMyAnalysisHistory(
+            Authentication auth,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int limit) throws NotFoundException {
+        return ResponseEntity.ok(analysisService.getUserAnalysisHistory(auth.getName(), before, limit));
+    }
+
+    /**
+     * Analyses of the current user that list the given medicine (exact name as saved), newest first
+     * GET /api/analysis/by-medicine?name=Napa 500mg&limit=20
+     */
+    @PreAuthorize("hasRole('USER')")
+    @QueryBudget(1)
+    @GetMapping("/by-medicine")
+    public ResponseEntity<List<PrescriptionAnalysisSummaryDTO>> getMyAnalysesWithMedicine(
+            Authentication auth,
+            @RequestParam String name,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(analysisService.getUserAnalysesWithMedicine(auth.getName(), name, limit));
+    }
+
+    /**
+     * Full-text search over the current user's analyses: doctor name and medicines rank above diseases,
+     * then summary, then the prescription text. Matches come back best first with a highlighted fragment
+     * GET /api/analysis/search?q=paracetamol fever&page=0&size=20
+     */
+    @PreAuthorize("hasRole('USER')")
+    @QueryBudget(1)
+    @GetMapping("/search")
+    public ResponseEntity<AnalysisSearchResultDTO> searchMyAnalyses(
+            Authentication auth,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(analysisService.searchAnalyses(auth.getName(), q, page, size));
+    }
+
     @PreAuthorize("hasRole('USER')")
+    @QueryBudget(1)
     @GetMapping("/{id}")
     public ResponseEntity<PrescriptionAnalysisDTO> getAnalysisById(@PathVariable Long id) throws NotFoundException {
         PrescriptionAnalysisDTO analysis = analysisService.getAnalysisById(id);
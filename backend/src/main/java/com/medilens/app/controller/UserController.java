@@ -7,6 +7,7 @@ import com.PrescribeCorrect.app.model.Chat;
 import com.PrescribeCorrect.app.model.Role;
 import com.PrescribeCorrect.app.model.User;
 import com.PrescribeCorrect.app.service.UserService;
+import com.PrescribeCorrect.app.util.QueryBudget;
 import org.apache.coyote.BadRequestException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -32,11 +33,13 @@ public class UserController {
             return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
 
+    @QueryBudget(2)
     @GetMapping("/all")
     public ResponseEntity<List<UserDTO>> getAllUsers() {
         return ResponseEntity.ok(userService.findAllUsers());
     }
 
+    @QueryBudget(3)
     @GetMapping("/{email}")
     public ResponseEntity<UserDTO> getUser(@PathVariable String email) throws NotFoundException, BadRequestException {
 
@@ -59,10 +62,13 @@ public class UserController {
     }
 
 
-    // for chat
+    // for chat: sidebar summaries, newest first
+    @QueryBudget(2)
     @GetMapping("/chat")
-    public ResponseEntity<List<ChatDTO>> getAllChats(Authentication auth) throws NotFoundException {
+    public ResponseEntity<List<ChatDTO>> getAllChats(Authentication auth,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "100") int size) throws NotFoundException {
         String email = auth.getName();
-        return ResponseEntity.ok(userService.getAllChats(email));
+        return ResponseEntity.ok(userService.getAllChats(email, page, size));
     }
 }
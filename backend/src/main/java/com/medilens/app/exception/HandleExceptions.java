@@ -1,5 +1,6 @@
 package com.PrescribeCorrect.app.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -48,6 +49,19 @@ public class HandleExceptions {
         return ResponseEntity.badRequest().body("JSON parsing failed: " + ex.getMessage());
     }
 
+    @ExceptionHandler(QueryBudgetExceededException.class)
+    public ResponseEntity<Response> handleQueryBudgetExceededException(QueryBudgetExceededException ex) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new Response(ex.getMessage()));
+    }
+
+    @ExceptionHandler(ImportQueueFullException.class)
+    public ResponseEntity<Response> handleImportQueueFullException(ImportQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .body(new Response(ex.getMessage()));
+    }
+
     @ExceptionHandler(CustomError.class)
     public ResponseEntity<Response> handleCustomException(CustomError ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
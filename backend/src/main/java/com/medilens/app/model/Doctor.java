@@ -14,8 +14,14 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Doctor {
+    // ids come from a pooled sequence so Hibernate (and the bulk importer) can batch inserts;
+    // each nextval hands out the block [value - ID_ALLOCATION_SIZE + 1, value]
+    public static final String ID_SEQUENCE = "doctor_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private List<String> specialization;
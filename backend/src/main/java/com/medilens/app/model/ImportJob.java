@@ -0,0 +1,70 @@
+package com.PrescribeCorrect.app.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One doctor import run. The row doubles as the checkpoint: processed counts are written in the
+ * same transaction as each batch, so a restarted job skips exactly the records already committed.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "import_job")
+public class ImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportJobStatus status;
+
+    @Column(nullable = false)
+    private String sourceFile;
+
+    private long totalBytes;
+    private long bytesRead;
+
+    // checkpoint: records consumed from each array, whether imported, skipped or failed
+    private long usersProcessed;
+    private long doctorsProcessed;
+
+    private long usersImported;
+    private long doctorsImported;
+    private long skipped;
+    private long failed;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // reset on every (re)start, together with the rows already processed at that point,
+    // so throughput only counts the current run
+    private LocalDateTime startedAt;
+    private long rowsAtStart;
+    private long bytesAtStart;
+
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public long getRowsProcessed() {
+        return usersProcessed + doctorsProcessed;
+    }
+}
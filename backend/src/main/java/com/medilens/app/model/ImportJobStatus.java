@@ -0,0 +1,8 @@
+package com.PrescribeCorrect.app.model;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
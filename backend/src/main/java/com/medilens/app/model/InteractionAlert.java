@@ -0,0 +1,45 @@
+package com.PrescribeCorrect.app.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A drug interaction found for a user when a prescription or their current medications brought in a new drug.
+ * One row per pair (drugA sorts before drugB) and alert window (interactions.alert-window-days), kept as history
+ * when the drugs are stopped later.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "interaction_alert", indexes = {
+        @Index(name = "idx_interaction_alert_user_date", columnList = "user_email, detected_at")
+})
+public class InteractionAlert {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "drug_a", nullable = false)
+    private String drugA;
+
+    @Column(name = "drug_b", nullable = false)
+    private String drugB;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InteractionSeverity severity;
+
+    @Column(length = 500)
+    private String description;
+
+    private LocalDateTime detectedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_email", nullable = false)
+    @JsonIgnore
+    private User user;
+}
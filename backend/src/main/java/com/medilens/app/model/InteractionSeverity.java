@@ -0,0 +1,8 @@
+package com.PrescribeCorrect.app.model;
+
+// ordered from least to most severe
+public enum InteractionSeverity {
+    MINOR,
+    MODERATE,
+    MAJOR
+}
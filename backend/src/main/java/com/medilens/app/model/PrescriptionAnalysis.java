@@ -1,5 +1,7 @@
 package com.PrescribeCorrect.app.model;
 
+import com.PrescribeCorrect.app.util.CompressedText;
+import com.PrescribeCorrect.app.util.CompressedTextConverter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -10,7 +12,9 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
-@Table(name = "prescription_analysis")
+@Table(name = "prescription_analysis", indexes = {
+        @Index(name = "idx_analysis_user_date", columnList = "user_email, analysis_date, id")
+})
 public class PrescriptionAnalysis {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,16 +23,21 @@ public class PrescriptionAnalysis {
     @Column(length = 10000)
     private String analysisSummary;
     
-    @Column(length = 10000)
-    private String fullPrescriptionText;
+    // OCR text is the bulk of the row; stored deflated and only decompressed when read
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "full_prescription_text_compressed", length = 40000)
+    private CompressedText fullPrescriptionText;
+
+    // the text as read stays untouched; what OCR correction made of it, null when it changed nothing
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "corrected_prescription_text_compressed", length = 40000)
+    private CompressedText correctedPrescriptionText;
 
-    @ElementCollection
+    // array columns like Doctor.specialization: read and written with the row, GIN indexed (V10 migration)
     private List<String> medicines;
-    
-    @ElementCollection
+
     private List<String> keyDiseases;
-    
-    @ElementCollection
+
     private List<String> dosageInstructions;
     
     private String doctorName;
@@ -42,4 +51,26 @@ public class PrescriptionAnalysis {
     @JoinColumn(name = "user_email")
     @JsonIgnore
     private User user;
+
+    public String getFullPrescriptionText() {
+        return fullPrescriptionText != null ? fullPrescriptionText.text() : null;
+    }
+
+    public void setFullPrescriptionText(String fullPrescriptionText) {
+        this.fullPrescriptionText = fullPrescriptionText != null ? CompressedText.of(fullPrescriptionText) : null;
+    }
+
+    public String getCorrectedPrescriptionText() {
+        return correctedPrescriptionText != null ? correctedPrescriptionText.text() : null;
+    }
+
+    public void setCorrectedPrescriptionText(String correctedPrescriptionText) {
+        this.correctedPrescriptionText = correctedPrescriptionText != null
+                ? CompressedText.of(correctedPrescriptionText) : null;
+    }
+
+    // what medicines are read from: the corrected text when there is one
+    public String getAnalyzedText() {
+        return correctedPrescriptionText != null ? correctedPrescriptionText.text() : getFullPrescriptionText();
+    }
 }
@@ -36,9 +36,12 @@ public class User {
     @Column(length = 1000)
     private String allergies;
 
-    @ElementCollection
     private List<String> currentMedications;
 
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
+    private List<InteractionAlert> interactionAlerts;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Role role;
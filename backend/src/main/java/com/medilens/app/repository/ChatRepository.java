@@ -1,10 +1,30 @@
 package com.PrescribeCorrect.app.repository;
 
+import com.PrescribeCorrect.app.dto.ChatDTO;
 import com.PrescribeCorrect.app.model.Chat;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface ChatRepository extends JpaRepository<Chat, Long> {
     Optional<Chat> getChatById(Long id);
+
+    // one statement instead of load + dirty check; the first message names an unnamed chat
+    @Modifying
+    @Query("UPDATE Chat c SET c.updatedAt = :now, c.name = COALESCE(c.name, :name) WHERE c.id = :id")
+    int touch(@Param("id") Long id, @Param("name") String name, @Param("now") LocalDateTime now);
+
+    // correlated subqueries use idx_messages_chat_created; only the first 120 characters of the last message are read
+    @Query("SELECT new com.PrescribeCorrect.app.dto.ChatDTO(c.id, c.name, c.createdAt, c.updatedAt, " +
+            "(SELECT COUNT(m) FROM Message m WHERE m.chat = c), " +
+            "(SELECT SUBSTRING(l.message, 1, " + ChatDTO.PREVIEW_LENGTH + ") FROM Message l WHERE l.chat = c " +
+            "ORDER BY l.createdAt DESC, l.id DESC LIMIT 1)) " +
+            "FROM Chat c WHERE c.user.email = :email ORDER BY c.createdAt DESC, c.id DESC")
+    List<ChatDTO> findSummariesByUserEmail(@Param("email") String email, Pageable pageable);
 }
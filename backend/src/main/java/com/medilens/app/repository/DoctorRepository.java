@@ -1,7 +1,37 @@
 package com.PrescribeCorrect.app.repository;
 
+import com.PrescribeCorrect.app.dto.DoctorDTO;
+import com.PrescribeCorrect.app.dto.StatusCountDTO;
 import com.PrescribeCorrect.app.model.Doctor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface DoctorRepository extends JpaRepository<Doctor,Long> {
+
+    // doctor + user columns in one statement, no entity hydration and no per-row user/doctor loads
+    String DIRECTORY_PROJECTION = "SELECT new com.PrescribeCorrect.app.dto.DoctorDTO(" +
+            "d.id, u.firstName, u.lastName, u.email, d.specialization, d.degree, d.phoneNumber, " +
+            "d.chamberAddress, d.designation, d.institute, d.currentCity, d.availableTime, d.websiteUrl, d.status) " +
+            "FROM Doctor d JOIN d.user u WHERE u.role = com.PrescribeCorrect.app.model.Role.ROLE_DOCTOR";
+
+    @Query("SELECT new com.PrescribeCorrect.app.dto.StatusCountDTO(d.status, COUNT(d)) " +
+            "FROM Doctor d JOIN d.user u WHERE u.role = com.PrescribeCorrect.app.model.Role.ROLE_DOCTOR GROUP BY d.status")
+    List<StatusCountDTO> countDirectoryByStatus();
+
+    @Query(DIRECTORY_PROJECTION + " ORDER BY d.id")
+    List<DoctorDTO> findDirectory();
+
+    @Query(DIRECTORY_PROJECTION + " AND d.id = :id")
+    Optional<DoctorDTO> findDirectoryEntry(@Param("id") Long id);
+
+    @Query(DIRECTORY_PROJECTION + " AND d.id > :after ORDER BY d.id ASC")
+    List<DoctorDTO> findDirectoryAfter(@Param("after") Long after, Limit limit);
+
+    @Query(DIRECTORY_PROJECTION + " AND d.id < :before ORDER BY d.id DESC")
+    List<DoctorDTO> findDirectoryBefore(@Param("before") Long before, Limit limit);
 }
@@ -0,0 +1,12 @@
+package com.PrescribeCorrect.app.repository;
+
+import com.PrescribeCorrect.app.model.ImportJob;
+import com.PrescribeCorrect.app.model.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+    List<ImportJob> findByStatusInOrderByIdDesc(Collection<ImportJobStatus> statuses);
+}
@@ -0,0 +1,15 @@
+package com.PrescribeCorrect.app.repository;
+
+import com.PrescribeCorrect.app.model.InteractionAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InteractionAlertRepository extends JpaRepository<InteractionAlert, Long> {
+    List<InteractionAlert> findByUser_EmailOrderByDetectedAtDescIdDesc(String userEmail);
+
+    List<InteractionAlert> findByUser_EmailAndDetectedAtAfter(String userEmail, LocalDateTime after);
+}
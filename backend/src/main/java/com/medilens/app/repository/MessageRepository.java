@@ -1,7 +1,38 @@
 package com.PrescribeCorrect.app.repository;
 
+import com.PrescribeCorrect.app.dto.MessageDTO;
 import com.PrescribeCorrect.app.model.Message;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
+
+    // keyset paging on (created_at, id), served by idx_messages_chat_created; id breaks timestamp ties
+    String PAGE_PROJECTION = "SELECT new com.PrescribeCorrect.app.dto.MessageDTO(m.id, m.role, m.message, m.createdAt) " +
+            "FROM Message m WHERE m.chat.id = :chatId";
+
+    @Query(PAGE_PROJECTION + " ORDER BY m.createdAt DESC, m.id DESC")
+    List<MessageDTO> findLatest(@Param("chatId") Long chatId, Limit limit);
+
+    @Query(PAGE_PROJECTION + " AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id))" +
+            " ORDER BY m.createdAt DESC, m.id DESC")
+    List<MessageDTO> findBefore(@Param("chatId") Long chatId, @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id, Limit limit);
+
+    @Query(PAGE_PROJECTION + " AND (m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id))" +
+            " ORDER BY m.createdAt ASC, m.id ASC")
+    List<MessageDTO> findAfter(@Param("chatId") Long chatId, @Param("createdAt") LocalDateTime createdAt,
+                               @Param("id") Long id, Limit limit);
+
+    @Query(PAGE_PROJECTION + " AND m.id = :id")
+    Optional<MessageDTO> findInChat(@Param("chatId") Long chatId, @Param("id") Long id);
+
+    @Query("SELECT m.createdAt FROM Message m WHERE m.id = :id AND m.chat.id = :chatId")
+    Optional<LocalDateTime> findCreatedAt(@Param("chatId") Long chatId, @Param("id") Long id);
 }
@@ -1,12 +1,54 @@
 package com.PrescribeCorrect.app.repository;
 
+import com.PrescribeCorrect.app.dto.PrescriptionAnalysisSummaryDTO;
 import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PrescriptionAnalysisRepository extends JpaRepository<PrescriptionAnalysis, Long> {
     List<PrescriptionAnalysis> findByUser_EmailOrderByAnalysisDateDesc(String userEmail);
+
+    // summary columns only, keyset paged on (analysis_date, id) through idx_analysis_user_date
+    String SUMMARY_PROJECTION = "SELECT new com.PrescribeCorrect.app.dto.PrescriptionAnalysisSummaryDTO(a.id, " +
+            "SUBSTRING(a.analysisSummary, 1, " + PrescriptionAnalysisSummaryDTO.PREVIEW_LENGTH + "), " +
+            "a.doctorName, a.patientName, a.analysisDate, a.sentToChat) " +
+            "FROM PrescriptionAnalysis a WHERE a.user.email = :email";
+
+    @Query(SUMMARY_PROJECTION + " ORDER BY a.analysisDate DESC, a.id DESC")
+    List<PrescriptionAnalysisSummaryDTO> findLatestSummaries(@Param("email") String email, Limit limit);
+
+    @Query(SUMMARY_PROJECTION + " AND (a.analysisDate < :analysisDate OR (a.analysisDate = :analysisDate AND a.id < :id))" +
+            " ORDER BY a.analysisDate DESC, a.id DESC")
+    List<PrescriptionAnalysisSummaryDTO> findSummariesBefore(@Param("email") String email,
+                                                             @Param("analysisDate") LocalDateTime analysisDate,
+                                                             @Param("id") Long id, Limit limit);
+
+    // medicines @> ARRAY[:medicine] on PostgreSQL, served by the GIN index idx_analysis_medicines
+    @Query(SUMMARY_PROJECTION + " AND array_contains(a.medicines, :medicine) ORDER BY a.analysisDate DESC, a.id DESC")
+    List<PrescriptionAnalysisSummaryDTO> findSummariesWithMedicine(@Param("email") String email,
+                                                                   @Param("medicine") String medicine, Limit limit);
+
+    // medicines only, for interaction checks: (id, medicines) per analysis since the given date
+    @Query("SELECT a.id, a.medicines FROM PrescriptionAnalysis a WHERE a.user.email = :email AND a.analysisDate >= :since")
+    List<Object[]> findMedicinesSince(@Param("email") String email, @Param("since") LocalDateTime since);
+
+    // the same for a page of users at once: (user email, medicines)
+    @Query("SELECT a.user.email, a.medicines FROM PrescriptionAnalysis a "
+            + "WHERE a.user.email IN :emails AND a.analysisDate >= :since AND a.medicines IS NOT NULL")
+    List<Object[]> findMedicinesSince(@Param("emails") Collection<String> emails, @Param("since") LocalDateTime since);
+
+    @Query("SELECT a.id FROM PrescriptionAnalysis a WHERE a.user.email = :email")
+    List<Long> findIdsByUserEmail(@Param("email") String email);
+
+    @Query("SELECT a.analysisDate FROM PrescriptionAnalysis a WHERE a.id = :id AND a.user.email = :email")
+    Optional<LocalDateTime> findAnalysisDate(@Param("email") String email, @Param("id") Long id);
 }
@@ -1,7 +1,10 @@
 package com.PrescribeCorrect.app.repository;
 
+import com.PrescribeCorrect.app.dto.UserPrincipalDTO;
 import com.PrescribeCorrect.app.model.Role;
 import com.PrescribeCorrect.app.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,9 +15,26 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
      Optional<User> getUserByEmail(String email);
 
+     // doctor is the inverse side of a one-to-one and would otherwise be loaded one query per user
+     @EntityGraph(attributePaths = "doctor")
      List<User> findByRole(Role role);
 
+     long countByRole(Role role);
+
+     boolean existsByEmail(String email);
+
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.chats WHERE u.email = :email")
     Optional<User> findByEmailWithChats(@Param("email") String email);
 
+    @Query("SELECT new com.PrescribeCorrect.app.dto.UserPrincipalDTO(u.email, u.role) FROM User u WHERE u.email = :email")
+    Optional<UserPrincipalDTO> findPrincipalByEmail(@Param("email") String email);
+
+    // (email, current medications) for the users after the given email, in email order, for the batch interaction check
+    @Query("SELECT u.email, u.currentMedications FROM User u WHERE u.email > :after ORDER BY u.email")
+    List<Object[]> findCurrentMedicationsAfter(@Param("after") String after, Limit limit);
+
+    // (email, current medications) of one user without loading the entity and its inverse doctor one-to-one
+    @Query("SELECT u.email, u.currentMedications FROM User u WHERE u.email = :email")
+    List<Object[]> findCurrentMedications(@Param("email") String email);
+
 }
@@ -50,12 +50,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         try {
-            final String username = jwtUtil.extractUsername(token);
+            // single parse: signature, expiry and subject come from one verified claims object
+            final JwtClaims claims = jwtUtil.validate(token);
+            final String username = claims.getSubject();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = userDetailsService.loadUserByUsernameOrCreate(username);
 
-                if (jwtUtil.validateToken(token, userDetails)) {
+                if (username.equals(userDetails.getUsername())) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -0,0 +1,20 @@
+package com.PrescribeCorrect.app.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Subject and expiry of a token whose signature has already been verified
+ */
+@Getter
+@AllArgsConstructor
+public class JwtClaims {
+    private final String subject;
+    private final Date expiration;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
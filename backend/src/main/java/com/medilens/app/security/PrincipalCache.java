@@ -0,0 +1,39 @@
+package com.PrescribeCorrect.app.security;
+
+import com.PrescribeCorrect.app.dto.UserPrincipalDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived email -> principal cache used by JwtAuthFilter so authenticated
+ * requests don't hit the users table every time.
+ * Services that change a user's role or existence must call {@link #invalidate(String)}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserPrincipalDTO> principals;
+
+    public PrincipalCache(@Value("${security.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize) {
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public UserPrincipalDTO get(String email, Function<String, UserPrincipalDTO> loader) {
+        return principals.get(email, loader);
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            principals.invalidate(email);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.PrescribeCorrect.app.service;
+
+import com.PrescribeCorrect.app.dto.CachedAnalysisDTO;
+import com.PrescribeCorrect.app.exception.NotFoundException;
+import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+
+public interface AnalysisCacheService {
+    CachedAnalysisDTO lookup(String userEmail, String fullPrescriptionText) throws NotFoundException;
+
+    void put(PrescriptionAnalysis analysis);
+
+    void invalidate(String userEmail);
+}
@@ -0,0 +1,19 @@
+package com.PrescribeCorrect.app.service;
+
+import com.PrescribeCorrect.app.dto.AnalysisSearchResultDTO;
+import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+
+/**
+ * Full-text search over a user's saved analyses (summary, prescription text, medicines, diseases, doctor name).
+ * analysis.search=postgres (default) uses a tsvector column with a GIN index; in-memory keeps an
+ * in-process inverted index, for tests and databases without full-text search.
+ */
+public interface AnalysisSearchService {
+    AnalysisSearchResultDTO search(String userEmail, String query, int page, int size);
+
+    // called after an analysis is saved, inside the saving transaction
+    void index(PrescriptionAnalysis analysis);
+
+    // called when an analysis is deleted
+    void remove(Long analysisId);
+}
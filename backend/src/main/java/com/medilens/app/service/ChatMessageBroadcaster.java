@@ -0,0 +1,11 @@
+package com.PrescribeCorrect.app.service;
+
+import com.PrescribeCorrect.app.dto.MessageDTO;
+
+/**
+ * Delivers committed chat messages to stream subscribers on every backend instance.
+ * Selected with chat.broadcaster: "in-process" (single instance, tests) or "postgres" (LISTEN/NOTIFY).
+ */
+public interface ChatMessageBroadcaster {
+    void publish(Long chatId, MessageDTO message);
+}
@@ -1,6 +1,8 @@
 package com.PrescribeCorrect.app.service;
 
 import com.PrescribeCorrect.app.dto.ChatDTO;
+import com.PrescribeCorrect.app.dto.CursorPageDTO;
+import com.PrescribeCorrect.app.dto.MessageDTO;
 import com.PrescribeCorrect.app.exception.NotFoundException;
 import com.PrescribeCorrect.app.model.Chat;
 import com.PrescribeCorrect.app.model.Message;
@@ -8,13 +10,24 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface ChatService {
     Long create(String email);
 
     ChatDTO getChatById(Long id) throws NotFoundException;
 
+    CursorPageDTO<MessageDTO> getMessages(Long chatId, Long before, Long after, LocalDateTime since, int limit)
+            throws NotFoundException;
+
     Long updateChat(Long id, Message message) throws NotFoundException;
 
+    List<Long> appendMessages(Long chatId, List<Message> messages) throws NotFoundException;
+
+    SseEmitter stream(Long chatId, Long lastEventId) throws NotFoundException;
+
     void delete(Long id);
 }
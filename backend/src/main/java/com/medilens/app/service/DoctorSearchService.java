@@ -0,0 +1,19 @@
+package com.PrescribeCorrect.app.service;
+
+import com.PrescribeCorrect.app.dto.AutocompleteSuggestionDTO;
+import com.PrescribeCorrect.app.dto.DoctorSearchResultDTO;
+import com.PrescribeCorrect.app.model.Status;
+
+import java.util.List;
+
+public interface DoctorSearchService {
+    DoctorSearchResultDTO search(String query, String specialization, String city, Status status, int page, int size);
+
+    List<AutocompleteSuggestionDTO> autocomplete(String prefix, int limit);
+
+    void reindex(Long doctorId);
+
+    void remove(Long doctorId);
+
+    void rebuild();
+}
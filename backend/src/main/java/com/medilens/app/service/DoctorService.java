@@ -1,19 +1,26 @@
 package com.PrescribeCorrect.app.service;
 
+import com.PrescribeCorrect.app.dto.CursorPageDTO;
 import com.PrescribeCorrect.app.dto.DoctorDTO;
 import com.PrescribeCorrect.app.exception.NotFoundException;
 import com.PrescribeCorrect.app.model.Doctor;
 import com.PrescribeCorrect.app.model.Status;
 import com.PrescribeCorrect.app.model.User;
+import org.springframework.data.domain.Sort;
 
 import javax.print.Doc;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DoctorService {
     void save(String email, Doctor doctor) throws NotFoundException;
 
     List<DoctorDTO> getAll();
 
+    CursorPageDTO<DoctorDTO> getPage(Long cursor, int size, Sort.Direction direction);
+
+    void streamAll(int batchSize, Consumer<DoctorDTO> consumer);
+
     DoctorDTO getDoctorByEmail(String email) throws NotFoundException;
 
     void delete(String email) throws NotFoundException;
@@ -0,0 +1,11 @@
+package com.PrescribeCorrect.app.service;
+
+import com.PrescribeCorrect.app.dto.DoctorStatsDTO;
+
+public interface DoctorStatsService {
+    DoctorStatsDTO getStats();
+
+    void refresh();
+
+    void invalidate();
+}
@@ -0,0 +1,14 @@
+package com.PrescribeCorrect.app.service;
+
+import com.PrescribeCorrect.app.dto.ImportJobDTO;
+import com.PrescribeCorrect.app.exception.NotFoundException;
+
+import java.util.Optional;
+
+public interface ImportJobService {
+    ImportJobDTO submit();
+
+    Optional<ImportJobDTO> resumeInterrupted();
+
+    ImportJobDTO getJob(Long id) throws NotFoundException;
+}
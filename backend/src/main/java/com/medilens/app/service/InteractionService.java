@@ -0,0 +1,22 @@
+package com.PrescribeCorrect.app.service;
+
+import com.PrescribeCorrect.app.dto.DrugInteractionDTO;
+import com.PrescribeCorrect.app.dto.UserInteractionsDTO;
+import com.PrescribeCorrect.app.dto.UserInteractionsPageDTO;
+import com.PrescribeCorrect.app.exception.NotFoundException;
+import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+import com.PrescribeCorrect.app.model.User;
+
+import java.util.List;
+
+public interface InteractionService {
+    UserInteractionsDTO checkUser(String email) throws NotFoundException;
+
+    UserInteractionsPageDTO checkAllUsers(String after, int limit);
+
+    List<DrugInteractionDTO> getAlerts(String email);
+
+    void checkNewAnalysis(PrescriptionAnalysis analysis);
+
+    void checkMedicationChange(User user, List<String> previousMedications);
+}
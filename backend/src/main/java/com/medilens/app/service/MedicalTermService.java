@@ -0,0 +1,19 @@
+package com.PrescribeCorrect.app.service;
+
+import com.PrescribeCorrect.app.dto.MedicalTermDTO;
+import com.PrescribeCorrect.app.exception.NotFoundException;
+import com.PrescribeCorrect.app.util.MedicalTermDictionary;
+
+import java.util.List;
+
+public interface MedicalTermService {
+    MedicalTermDTO getTerm(String term) throws NotFoundException;
+
+    List<MedicalTermDTO> suggest(String prefix, int limit);
+
+    List<MedicalTermDTO> describe(String description, int limit);
+
+    MedicalTermDTO identifyMedicine(String name) throws NotFoundException;
+
+    MedicalTermDictionary getDictionary();
+}
@@ -0,0 +1,15 @@
+package com.PrescribeCorrect.app.service;
+
+import com.PrescribeCorrect.app.dto.MedicineMentionDTO;
+
+import java.util.List;
+
+public interface MedicineExtractionService {
+    List<MedicineMentionDTO> extract(String text);
+
+    // distinct "Name strength" entries in order of appearance, the format PrescriptionAnalysis.medicines holds
+    List<String> extractMedicineNames(String text);
+
+    // distinct single-ingredient generics, combination products split on '+'
+    List<String> extractGenerics(String text);
+}
@@ -0,0 +1,5 @@
+package com.PrescribeCorrect.app.service;
+
+public interface OcrCorrectionService {
+    String correct(String text);
+}
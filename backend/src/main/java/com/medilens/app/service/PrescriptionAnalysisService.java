@@ -1,6 +1,9 @@
 package com.PrescribeCorrect.app.service;
 
+import com.PrescribeCorrect.app.dto.AnalysisSearchResultDTO;
+import com.PrescribeCorrect.app.dto.CursorPageDTO;
 import com.PrescribeCorrect.app.dto.PrescriptionAnalysisDTO;
+import com.PrescribeCorrect.app.dto.PrescriptionAnalysisSummaryDTO;
 import com.PrescribeCorrect.app.exception.NotFoundException;
 import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
 
@@ -9,6 +12,9 @@ import java.util.List;
 public interface PrescriptionAnalysisService {
     PrescriptionAnalysisDTO saveAnalysis(PrescriptionAnalysis analysis, String userEmail) throws NotFoundException;
     List<PrescriptionAnalysisDTO> getUserAnalyses(String userEmail) throws NotFoundException;
+    CursorPageDTO<PrescriptionAnalysisSummaryDTO> getUserAnalysisHistory(String userEmail, Long before, int limit) throws NotFoundException;
+    List<PrescriptionAnalysisSummaryDTO> getUserAnalysesWithMedicine(String userEmail, String medicine, int limit);
+    AnalysisSearchResultDTO searchAnalyses(String userEmail, String query, int page, int size);
     PrescriptionAnalysisDTO getAnalysisById(Long id) throws NotFoundException;
     PrescriptionAnalysisDTO sendAnalysisToChat(Long analysisId, String userEmail) throws NotFoundException;
 }
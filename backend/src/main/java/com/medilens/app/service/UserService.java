@@ -22,7 +22,7 @@ public interface UserService {
 
     UserDTO update(User user);
 
-    List<ChatDTO> getAllChats(String email) throws NotFoundException;
+    List<ChatDTO> getAllChats(String email, int page, int size) throws NotFoundException;
 
 
 }
@@ -0,0 +1,122 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.CachedAnalysisDTO;
+import com.PrescribeCorrect.app.exception.NotFoundException;
+import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+import com.PrescribeCorrect.app.service.AnalysisCacheService;
+import com.PrescribeCorrect.app.service.MedicineExtractionService;
+import com.PrescribeCorrect.app.service.OcrCorrectionService;
+import com.PrescribeCorrect.app.util.NearDuplicateCache;
+import com.PrescribeCorrect.app.util.TextFingerprint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Analyses of recently saved prescriptions, looked up by the text of a new upload before the frontend
+ * runs its own analysis again. In memory per instance, like the principal and token caches.
+ */
+@Service
+public class AnalysisCacheServiceImp implements AnalysisCacheService {
+
+    // bounds one request; the upload page sends at most 10000 characters
+    private static final int MAX_TEXT_LENGTH = 100_000;
+
+    // prescribed: medicine names and strengths read from the saved text, compared against a near-duplicate upload
+    private record CachedAnalysis(String analysisSummary, List<String> medicines, List<String> keyDiseases,
+                                  List<String> dosageInstructions, String doctorName, LocalDateTime analysisDate,
+                                  List<String> prescribed) {
+    }
+
+    @Autowired
+    private OcrCorrectionService ocrCorrectionService;
+
+    @Autowired
+    private MedicineExtractionService medicineExtractionService;
+
+    private final NearDuplicateCache<CachedAnalysis> cache;
+    private final Counter exactHits;
+    private final Counter similarHits;
+    private final Counter misses;
+
+    public AnalysisCacheServiceImp(@Value("${analysis.cache.max-size:10000}") long maxSize,
+                                   @Value("${analysis.cache.ttl-minutes:1440}") long ttlMinutes,
+                                   @Value("${analysis.cache.max-distance:3}") int maxDistance,
+                                   MeterRegistry meterRegistry) {
+        this.cache = new NearDuplicateCache<>(maxSize, Duration.ofMinutes(ttlMinutes), maxDistance,
+                cause -> meterRegistry.counter("analysis.cache.evictions", "cause", cause.name()).increment());
+        this.exactHits = lookups(meterRegistry, "exact");
+        this.similarHits = lookups(meterRegistry, "similar");
+        this.misses = lookups(meterRegistry, "miss");
+        Gauge.builder("analysis.cache.size", cache, NearDuplicateCache::size)
+                .description("Prescription analyses held for repeated uploads")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("analysis.cache.lookups")
+                .description("Analysis cache lookups by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CachedAnalysisDTO lookup(String userEmail, String fullPrescriptionText) throws NotFoundException {
+        if (fullPrescriptionText != null && fullPrescriptionText.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("text must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+        // saved text went through the same correction, so both sides fingerprint the same words
+        String text = ocrCorrectionService.correct(fullPrescriptionText);
+        TextFingerprint fingerprint = TextFingerprint.of(text);
+        NearDuplicateCache.Hit<CachedAnalysis> hit = fingerprint != null ? cache.get(userEmail, fingerprint) : null;
+        // a near duplicate can be the same letterhead with a new Rx block: the medicines and strengths must agree
+        if (hit != null && !hit.exact()
+                && !hit.value().prescribed().equals(medicineExtractionService.extractMedicineNames(text))) {
+            hit = null;
+        }
+        if (hit == null) {
+            misses.increment();
+            throw new NotFoundException("No cached analysis for this prescription");
+        }
+        (hit.exact() ? exactHits : similarHits).increment();
+        CachedAnalysis analysis = hit.value();
+        return new CachedAnalysisDTO(analysis.analysisSummary(), analysis.medicines(), analysis.keyDiseases(),
+                analysis.dosageInstructions(), analysis.doctorName(), analysis.analysisDate(), hit.exact(),
+                1.0 - hit.distance() / 64.0);
+    }
+
+    /**
+     * Caches a saved analysis under its corrected text. Patient name and full text are not kept.
+     */
+    @Override
+    public void put(PrescriptionAnalysis analysis) {
+        TextFingerprint fingerprint = TextFingerprint.of(analysis.getAnalyzedText());
+        if (fingerprint == null || analysis.getAnalysisSummary() == null) {
+            return;
+        }
+        cache.put(analysis.getUser().getEmail(), fingerprint, new CachedAnalysis(analysis.getAnalysisSummary(),
+                copy(analysis.getMedicines()), copy(analysis.getKeyDiseases()), copy(analysis.getDosageInstructions()),
+                analysis.getDoctorName(), analysis.getAnalysisDate(),
+                medicineExtractionService.extractMedicineNames(analysis.getAnalyzedText())));
+    }
+
+    /**
+     * Forgets a deleted user's analyses; identical text would otherwise still be served to other users.
+     */
+    @Override
+    public void invalidate(String userEmail) {
+        cache.removeOwner(userEmail);
+    }
+
+    private static List<String> copy(List<String> values) {
+        return values != null ? new ArrayList<>(values) : null;
+    }
+}
@@ -1,6 +1,8 @@
 package com.PrescribeCorrect.app.service.imp;
 
 import com.PrescribeCorrect.app.dto.ChatDTO;
+import com.PrescribeCorrect.app.dto.CursorPageDTO;
+import com.PrescribeCorrect.app.dto.MessageDTO;
 import com.PrescribeCorrect.app.exception.NotFoundException;
 import com.PrescribeCorrect.app.model.Chat;
 import com.PrescribeCorrect.app.model.Message;
@@ -8,26 +10,35 @@ import com.PrescribeCorrect.app.model.User;
 import com.PrescribeCorrect.app.repository.ChatRepository;
 import com.PrescribeCorrect.app.repository.MessageRepository;
 import com.PrescribeCorrect.app.repository.UserRepository;
+import com.PrescribeCorrect.app.service.ChatMessageBroadcaster;
 import com.PrescribeCorrect.app.service.ChatService;
+import com.PrescribeCorrect.app.util.ChatStreamRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 
 @Service
 public class ChatServiceImp implements ChatService {
 
+    private static final int CHAT_MESSAGES = 100;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_APPEND_SIZE = 500;
+    private static final int CHAT_NAME_LENGTH = 255;
+
+    // metadata only: messages are paged from MessageRepository, never read through chat.getMessages()
     ChatDTO convertChatDTO(Chat chat) {
         ChatDTO chatDTO = new ChatDTO();
         chatDTO.setId(chat.getId());
         chatDTO.setName(chat.getName());
-        chatDTO.setMessages(
-                chat.getMessages().stream()
-                        .peek(m -> m.setChat(null))
-                        .toList()
-        );
         chatDTO.setCreatedAt(chat.getCreatedAt());
         chatDTO.setUpdatedAt(chat.getUpdatedAt());
         return chatDTO;
@@ -42,6 +53,12 @@ public class ChatServiceImp implements ChatService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ChatMessageBroadcaster chatMessageBroadcaster;
+
+    @Autowired
+    private ChatStreamRegistry chatStreamRegistry;
+
     @Override
     public Long create(String email) {
         User user = userRepository.getUserByEmail(email)
@@ -53,20 +70,124 @@ public class ChatServiceImp implements ChatService {
     public ChatDTO getChatById(Long id) throws NotFoundException {
         Chat chat = chatRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Chat not found with this id ..."));
-        chat.getMessages().sort((m1, m2) -> m2.getCreatedAt().compareTo(m1.getCreatedAt()));
-        return  convertChatDTO(chat);
+        ChatDTO chatDTO = convertChatDTO(chat);
+        List<MessageDTO> latest = messageRepository.findLatest(id, Limit.of(CHAT_MESSAGES + 1));
+        chatDTO.setHasMoreMessages(latest.size() > CHAT_MESSAGES);
+        chatDTO.setMessages(latest.size() > CHAT_MESSAGES ? latest.subList(0, CHAT_MESSAGES) : latest);
+        return chatDTO;
     }
 
     @Override
+    public CursorPageDTO<MessageDTO> getMessages(Long chatId, Long before, Long after, LocalDateTime since, int limit)
+            throws NotFoundException {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((before != null ? 1 : 0) + (after != null ? 1 : 0) + (since != null ? 1 : 0) > 1) {
+            throw new IllegalArgumentException("use only one of before, after or since");
+        }
+        if (!chatRepository.existsById(chatId)) {
+            throw new NotFoundException("Chat not found with this id ...");
+        }
+
+        // one extra row tells whether another page exists
+        Limit fetch = Limit.of(limit + 1);
+        List<MessageDTO> rows;
+        if (before != null) {
+            rows = messageRepository.findBefore(chatId, cursorTime(chatId, before), before, fetch);
+        } else if (after != null) {
+            rows = messageRepository.findAfter(chatId, cursorTime(chatId, after), after, fetch);
+        } else if (since != null) {
+            rows = messageRepository.findAfter(chatId, since, Long.MAX_VALUE, fetch);
+        } else {
+            rows = messageRepository.findLatest(chatId, fetch);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<MessageDTO> content = hasMore ? rows.subList(0, limit) : rows;
+        // pass nextCursor back as before= (backward pages) or after= (delta polling)
+        Long nextCursor = content.isEmpty() ? (after != null ? after : null) : content.get(content.size() - 1).getId();
+        return new CursorPageDTO<>(content, nextCursor, hasMore);
+    }
+
+    private LocalDateTime cursorTime(Long chatId, Long messageId) throws NotFoundException {
+        return messageRepository.findCreatedAt(chatId, messageId)
+                .orElseThrow(() -> new NotFoundException("Message not found in this chat: " + messageId));
+    }
+
+    @Override
+    @Transactional
     public Long updateChat(Long id, Message message) throws NotFoundException {
-        Chat chat = chatRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Chat not found with this id ..."));
-        chat.setUpdatedAt(LocalDateTime.now());
-        if(chat.getName() == null) {
-            chat.setName(message.getMessage());
+        return appendMessages(id, List.of(message)).get(0);
+    }
+
+    @Override
+    @Transactional
+    public List<Long> appendMessages(Long chatId, List<Message> messages) throws NotFoundException {
+        if (messages == null || messages.isEmpty() || messages.size() > MAX_APPEND_SIZE) {
+            throw new IllegalArgumentException("send between 1 and " + MAX_APPEND_SIZE + " messages");
+        }
+        for (Message message : messages) {
+            if (message == null || message.getRole() == null || message.getMessage() == null) {
+                throw new IllegalArgumentException("every message needs a role and a message");
+            }
+        }
+
+        // one UPDATE for the chat instead of loading it; 0 rows means it doesn't exist
+        String firstText = messages.get(0).getMessage();
+        String name = firstText.length() > CHAT_NAME_LENGTH ? firstText.substring(0, CHAT_NAME_LENGTH) : firstText;
+        if (chatRepository.touch(chatId, name, LocalDateTime.now()) == 0) {
+            throw new NotFoundException("Chat not found with this id ...");
+        }
+
+        // ids come from the pooled sequence, so saveAll flushes as JDBC batches of hibernate.jdbc.batch_size
+        Chat chat = chatRepository.getReferenceById(chatId);
+        for (Message message : messages) {
+            message.setId(null);
+            message.setChat(chat);
+        }
+        List<Message> saved = messageRepository.saveAll(messages);
+
+        List<Long> ids = new ArrayList<>(saved.size());
+        for (Message message : saved) {
+            ids.add(message.getId());
+            publishAfterCommit(chatId, new MessageDTO(message.getId(), message.getRole(), message.getMessage(), message.getCreatedAt()));
+        }
+        return ids;
+    }
+
+    @Override
+    public SseEmitter stream(Long chatId, Long lastEventId) throws NotFoundException {
+        if (!chatRepository.existsById(chatId)) {
+            throw new NotFoundException("Chat not found with this id ...");
+        }
+        if (lastEventId == null) {
+            return chatStreamRegistry.subscribe(chatId, () -> ChatStreamRegistry.Backlog.NONE);
+        }
+        // reconnect: replay what the client missed, from the same keyset query the paged endpoint uses;
+        // past the replay limit the client is told to page instead of silently losing the rest
+        LocalDateTime cursor = cursorTime(chatId, lastEventId);
+        int replayLimit = Math.min(MAX_PAGE_SIZE, chatStreamRegistry.replayLimit());
+        return chatStreamRegistry.subscribe(chatId, () -> {
+            List<MessageDTO> missed = messageRepository.findAfter(chatId, cursor, lastEventId, Limit.of(replayLimit + 1));
+            return missed.size() > replayLimit
+                    ? ChatStreamRegistry.Backlog.gap(lastEventId)
+                    : new ChatStreamRegistry.Backlog(missed, null);
+        });
+    }
+
+    // subscribers must never see a message that could still roll back
+    private void publishAfterCommit(Long chatId, MessageDTO message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    chatMessageBroadcaster.publish(chatId, message);
+                }
+            });
+        } else {
+            chatMessageBroadcaster.publish(chatId, message);
         }
-        message.setChat(chat);
-        return messageRepository.save(message).getId();
     }
 
     @Override
@@ -0,0 +1,160 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.AutocompleteSuggestionDTO;
+import com.PrescribeCorrect.app.dto.DoctorDTO;
+import com.PrescribeCorrect.app.dto.DoctorSearchResultDTO;
+import com.PrescribeCorrect.app.model.Status;
+import com.PrescribeCorrect.app.repository.DoctorRepository;
+import com.PrescribeCorrect.app.service.DoctorSearchService;
+import com.PrescribeCorrect.app.util.AutocompleteTrie;
+import com.PrescribeCorrect.app.util.DoctorSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class DoctorSearchServiceImp implements DoctorSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int MAX_SUGGESTIONS = AutocompleteTrie.MAX_LIMIT;
+
+    // rebuilt off to the side and swapped in whole, so a search never sees a half-filled index
+    private final AtomicReference<DoctorSearchIndex> index = new AtomicReference<>(new DoctorSearchIndex());
+    // doctors changed while a rebuild is reading the table; replayed onto the new index after the swap
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    // one rebuild at a time; the import worker calls rebuild() from a virtual thread when those are on, and a
+    // synchronized method would pin its carrier for the whole JDBC loop
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // the trie is immutable; changes mark it stale and the next keystroke triggers a background rebuild
+    private volatile AutocompleteTrie trie = AutocompleteTrie.EMPTY;
+    private final AtomicBoolean trieStale = new AtomicBoolean(false);
+    private final AtomicBoolean trieRebuilding = new AtomicBoolean(false);
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Override
+    public DoctorSearchResultDTO search(String query, String specialization, String city, Status status, int page, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        return index.get().search(query, specialization, city, status, page, size);
+    }
+
+    @Override
+    public List<AutocompleteSuggestionDTO> autocomplete(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        if (trieStale.get() && trieRebuilding.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    rebuildTrie();
+                } finally {
+                    trieRebuilding.set(false);
+                }
+            });
+        }
+        return trie.suggest(prefix, limit).stream()
+                .map(s -> new AutocompleteSuggestionDTO(s.text(), s.type().name(), s.distance()))
+                .toList();
+    }
+
+    @Override
+    public void reindex(Long doctorId) {
+        markChanged(doctorId);
+        DoctorSearchIndex current = index.get();
+        doctorRepository.findDirectoryEntry(doctorId)
+                .ifPresentOrElse(current::put, () -> current.remove(doctorId));
+        trieStale.set(true);
+    }
+
+    @Override
+    public void remove(Long doctorId) {
+        markChanged(doctorId);
+        index.get().remove(doctorId);
+        trieStale.set(true);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            changedDuringRebuild.clear();
+            rebuilding = true;
+            DoctorSearchIndex fresh = new DoctorSearchIndex();
+            try {
+                long after = 0L;
+                List<DoctorDTO> batch;
+                do {
+                    batch = doctorRepository.findDirectoryAfter(after, Limit.of(REBUILD_BATCH_SIZE));
+                    batch.forEach(fresh::put);
+                    if (!batch.isEmpty()) {
+                        after = batch.get(batch.size() - 1).getId();
+                    }
+                } while (batch.size() == REBUILD_BATCH_SIZE);
+                index.set(fresh);
+            } finally {
+                rebuilding = false;
+            }
+            // a change marked before the swap may have gone to the old index only
+            for (Long doctorId : changedDuringRebuild) {
+                doctorRepository.findDirectoryEntry(doctorId)
+                        .ifPresentOrElse(fresh::put, () -> fresh.remove(doctorId));
+            }
+            changedDuringRebuild.clear();
+            System.out.println("🔎 Doctor search index built with " + fresh.size() + " doctors");
+            rebuildTrie();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // recorded before the index is read, so a change that lands in the old index is always replayed
+    private void markChanged(Long doctorId) {
+        if (rebuilding) {
+            changedDuringRebuild.add(doctorId);
+        }
+    }
+
+    private void rebuildTrie() {
+        trieStale.set(false);
+        AutocompleteTrie.Builder builder = new AutocompleteTrie.Builder();
+        index.get().forEach(doctor -> {
+            builder.add(doctor.getFirstName(), AutocompleteTrie.Type.NAME);
+            builder.add(doctor.getLastName(), AutocompleteTrie.Type.NAME);
+            // a doctor with one name part gets no full-name entry; that part was just added on its own
+            if (!isBlank(doctor.getFirstName()) && !isBlank(doctor.getLastName())) {
+                builder.add(doctor.getFirstName().strip() + " " + doctor.getLastName().strip(), AutocompleteTrie.Type.NAME);
+            }
+            if (doctor.getSpecialization() != null) {
+                doctor.getSpecialization().forEach(s -> builder.add(s, AutocompleteTrie.Type.SPECIALIZATION));
+            }
+            if (doctor.getCurrentCity() != null) {
+                builder.add(doctor.getCurrentCity(), AutocompleteTrie.Type.CITY);
+            }
+        });
+        trie = builder.build();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,23 +1,30 @@
 package com.PrescribeCorrect.app.service.imp;
 
+import com.PrescribeCorrect.app.dto.CursorPageDTO;
 import com.PrescribeCorrect.app.dto.DoctorDTO;
 import com.PrescribeCorrect.app.exception.NotFoundException;
 import com.PrescribeCorrect.app.model.Doctor;
-import com.PrescribeCorrect.app.model.Role;
 import com.PrescribeCorrect.app.model.Status;
 import com.PrescribeCorrect.app.model.User;
 import com.PrescribeCorrect.app.repository.DoctorRepository;
 import com.PrescribeCorrect.app.repository.UserRepository;
+import com.PrescribeCorrect.app.security.PrincipalCache;
+import com.PrescribeCorrect.app.service.DoctorSearchService;
 import com.PrescribeCorrect.app.service.DoctorService;
+import com.PrescribeCorrect.app.service.DoctorStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 public class DoctorServiceImp implements DoctorService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     DoctorDTO convertToDoctorDTO(User user) {
         DoctorDTO dto = new DoctorDTO();
         dto.setId(user.getDoctor().getId());
@@ -49,23 +56,56 @@ public class DoctorServiceImp implements DoctorService {
     private DoctorRepository doctorRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private PrincipalCache principalCache;
+    @Autowired
+    private DoctorSearchService doctorSearchService;
+    @Autowired
+    private DoctorStatsService doctorStatsService;
 
     @Override
     public void save(String email, Doctor doctor) throws NotFoundException {
         doctor.setStatus(Status.PENDING);
         doctor.setUser(userRepository.getUserByEmail(email).orElseThrow(
                 () -> new NotFoundException("Doctor not found with this email")));
-        doctorRepository.save(doctor);
+        Doctor saved = doctorRepository.save(doctor);
+        doctorSearchService.reindex(saved.getId());
+        doctorStatsService.invalidate();
     }
 
     @Override
     public List<DoctorDTO> getAll() {
-        List<User> users = userRepository.findByRole(Role.ROLE_DOCTOR);
+        return doctorRepository.findDirectory();
+    }
 
-        return users.stream()
-                .filter(user -> user.getDoctor() != null)
-                .map(this::convertToDoctorDTO)
-                .collect(Collectors.toList());
+    @Override
+    public CursorPageDTO<DoctorDTO> getPage(Long cursor, int size, Sort.Direction direction) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(size + 1);
+        List<DoctorDTO> rows = direction == Sort.Direction.DESC
+                ? doctorRepository.findDirectoryBefore(cursor == null ? Long.MAX_VALUE : cursor, limit)
+                : doctorRepository.findDirectoryAfter(cursor == null ? 0L : cursor, limit);
+
+        boolean hasMore = rows.size() > size;
+        List<DoctorDTO> content = hasMore ? rows.subList(0, size) : rows;
+        Long nextCursor = hasMore ? content.get(content.size() - 1).getId() : null;
+        return new CursorPageDTO<>(content, nextCursor, hasMore);
+    }
+
+    @Override
+    public void streamAll(int batchSize, Consumer<DoctorDTO> consumer) {
+        long after = 0L;
+        List<DoctorDTO> batch;
+        do {
+            batch = doctorRepository.findDirectoryAfter(after, Limit.of(batchSize));
+            batch.forEach(consumer);
+            if (!batch.isEmpty()) {
+                after = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
     }
 
     @Override
@@ -85,6 +125,11 @@ public class DoctorServiceImp implements DoctorService {
         User user = userRepository.getUserByEmail(email)
                         .orElseThrow(()-> new NotFoundException("Doctor not found with id: " + email));
         userRepository.delete(user);
+        principalCache.invalidate(email);
+        if (user.getDoctor() != null) {
+            doctorSearchService.remove(user.getDoctor().getId());
+            doctorStatsService.invalidate();
+        }
     }
 
     @Override
@@ -109,6 +154,8 @@ public class DoctorServiceImp implements DoctorService {
         doctor.setStatus(Status.PENDING);
         doctor.setUser(user);
         doctorRepository.save(doctor);
+        doctorSearchService.reindex(doctor.getId());
+        doctorStatsService.invalidate();
     }
 
     @Override
@@ -118,5 +165,8 @@ public class DoctorServiceImp implements DoctorService {
         Doctor doctor = user.getDoctor();
         doctor.setStatus(status);
         userRepository.save(user);
+        principalCache.invalidate(email);
+        doctorSearchService.reindex(doctor.getId());
+        doctorStatsService.invalidate();
     }
 }
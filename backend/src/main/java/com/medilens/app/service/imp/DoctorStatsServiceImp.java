@@ -0,0 +1,54 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.DoctorStatsDTO;
+import com.PrescribeCorrect.app.dto.StatusCountDTO;
+import com.PrescribeCorrect.app.repository.DoctorRepository;
+import com.PrescribeCorrect.app.service.DoctorStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class DoctorStatsServiceImp implements DoctorStatsService {
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    // readers get the last snapshot; doctor writes only flag it, and the next read (or the schedule) recomputes
+    private volatile DoctorStatsDTO snapshot;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+
+    @Override
+    public DoctorStatsDTO getStats() {
+        if (stale.get() || snapshot == null) {
+            refresh();
+        }
+        return snapshot;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${doctor.stats.refresh-interval-ms:300000}")
+    public void refresh() {
+        // cleared before querying so a write that lands mid-refresh flags the next read again
+        stale.set(false);
+        long active = 0;
+        long pending = 0;
+        long disabled = 0;
+        for (StatusCountDTO row : doctorRepository.countDirectoryByStatus()) {
+            switch (row.getStatus()) {
+                case ACTIVE -> active = row.getCount();
+                case PENDING -> pending = row.getCount();
+                case DISABLED -> disabled = row.getCount();
+            }
+        }
+        snapshot = new DoctorStatsDTO(active + pending + disabled, active, pending, disabled, LocalDateTime.now());
+    }
+
+    @Override
+    public void invalidate() {
+        stale.set(true);
+    }
+}
@@ -0,0 +1,356 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.ImportJobDTO;
+import com.PrescribeCorrect.app.exception.ImportQueueFullException;
+import com.PrescribeCorrect.app.exception.NotFoundException;
+import com.PrescribeCorrect.app.model.ImportJob;
+import com.PrescribeCorrect.app.model.ImportJobStatus;
+import com.PrescribeCorrect.app.repository.ImportJobRepository;
+import com.PrescribeCorrect.app.service.DoctorSearchService;
+import com.PrescribeCorrect.app.service.DoctorStatsService;
+import com.PrescribeCorrect.app.service.ImportJobService;
+import com.PrescribeCorrect.app.util.DoctorBulkWriter;
+import com.PrescribeCorrect.app.util.DoctorBulkWriter.BatchResult;
+import com.PrescribeCorrect.app.util.DoctorJsonReader;
+import com.PrescribeCorrect.app.util.ThreadFactories;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+@Service
+public class ImportJobServiceImp implements ImportJobService {
+
+    private static final Set<ImportJobStatus> ACTIVE = EnumSet.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private DoctorSearchService doctorSearchService;
+
+    @Autowired
+    private DoctorStatsService doctorStatsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${doctor.import.file:doctors_data.json}")
+    private String jsonFilePath;
+
+    @Value("${doctor.import.batch-size:500}")
+    private int batchSize;
+
+    // one worker and a one-slot queue: imports write the same tables, and submissions are coalesced anyway
+    private ThreadPoolExecutor executor;
+
+    private final ReentrantLock submitLock = new ReentrantLock();
+
+    // job queued or running in this process; null when the worker is idle
+    private volatile Long activeJobId;
+
+    /**
+     * Starts an import, or returns the one already queued or running.
+     * A job left unfinished by a previous process is resumed from its checkpoint instead of starting over.
+     */
+    @Override
+    public ImportJobDTO submit() {
+        submitLock.lock();
+        try {
+            if (activeJobId != null) {
+                Optional<ImportJob> active = importJobRepository.findById(activeJobId);
+                if (active.isPresent()) {
+                    return convertToDTO(active.get());
+                }
+            }
+            List<ImportJob> interrupted = importJobRepository.findByStatusInOrderByIdDesc(ACTIVE);
+            ImportJob job = interrupted.isEmpty() ? newJob() : interrupted.get(0);
+            return convertToDTO(enqueue(job));
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<ImportJobDTO> resumeInterrupted() {
+        submitLock.lock();
+        try {
+            List<ImportJob> interrupted = importJobRepository.findByStatusInOrderByIdDesc(ACTIVE);
+            if (interrupted.isEmpty() || activeJobId != null) {
+                return Optional.empty();
+            }
+            ImportJob latest = interrupted.get(0);
+            // only the newest job is resumed; older leftovers would re-read the same file
+            for (ImportJob stale : interrupted.subList(1, interrupted.size())) {
+                stale.setStatus(ImportJobStatus.FAILED);
+                stale.setLastError("Superseded by import job " + latest.getId());
+                stale.setFinishedAt(LocalDateTime.now());
+                importJobRepository.save(stale);
+            }
+            System.out.println("🔄 Resuming import job " + latest.getId() + " after "
+                    + latest.getRowsProcessed() + " committed records");
+            return Optional.of(convertToDTO(enqueue(latest)));
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    @Override
+    public ImportJobDTO getJob(Long id) throws NotFoundException {
+        return convertToDTO(importJobRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Import job not found")));
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                ThreadFactories.create(environment, "doctor-import-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // an interrupted job stays RUNNING in the database and is resumed on the next start
+        executor.shutdownNow();
+    }
+
+    private ImportJob newJob() {
+        ImportJob job = new ImportJob();
+        job.setSourceFile(jsonFilePath);
+        job.setStatus(ImportJobStatus.QUEUED);
+        return job;
+    }
+
+    /**
+     * Called under submitLock, so nothing else can fill the queue between the capacity check and execute.
+     * A job the executor still rejects (it is shutting down) is marked FAILED rather than left QUEUED.
+     */
+    private ImportJob enqueue(ImportJob job) {
+        if (executor.isShutdown() || executor.getQueue().remainingCapacity() == 0) {
+            throw new ImportQueueFullException("Import queue is full, try again later");
+        }
+        job.setStatus(ImportJobStatus.QUEUED);
+        ImportJob saved = importJobRepository.save(job);
+        activeJobId = saved.getId();
+        try {
+            executor.execute(() -> runJob(saved.getId()));
+        } catch (RejectedExecutionException e) {
+            activeJobId = null;
+            saved.setStatus(ImportJobStatus.FAILED);
+            saved.setLastError("Rejected by the import queue");
+            saved.setFinishedAt(LocalDateTime.now());
+            importJobRepository.save(saved);
+            throw new ImportQueueFullException("Import queue is full, try again later");
+        }
+        return saved;
+    }
+
+    private void runJob(Long jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            activeJobId = null;
+            return;
+        }
+        try {
+            File file = new File(job.getSourceFile());
+            if (!file.exists()) {
+                throw new IOException("JSON file not found: " + job.getSourceFile());
+            }
+            job.setStatus(ImportJobStatus.RUNNING);
+            job.setTotalBytes(file.length());
+            job.setStartedAt(LocalDateTime.now());
+            job.setRowsAtStart(job.getRowsProcessed());
+            job.setBytesAtStart(job.getBytesRead());
+            job.setFinishedAt(null);
+            importJobRepository.save(job);
+            System.out.println("🏥 Import job " + jobId + " started (" + job.getSourceFile() + ")");
+
+            DoctorBulkWriter writer = new DoctorBulkWriter(jdbcTemplate, transactionTemplate);
+            ImportTally users = new ImportTally(jobId, "user");
+            ImportTally doctors = new ImportTally(jobId, "doctor");
+
+            try (InputStream in = new BufferedInputStream(new FileInputStream(file), 1 << 16);
+                 DoctorJsonReader reader = new DoctorJsonReader(MAPPER, in, batchSize)) {
+                reader.read(
+                        batch -> users.record(batch, writer::writeUsers, reader),
+                        batch -> doctors.record(batch, writer::writeDoctors, reader),
+                        job.getUsersProcessed(), job.getDoctorsProcessed());
+            }
+
+            job = importJobRepository.findById(jobId).orElseThrow();
+            job.setStatus(ImportJobStatus.COMPLETED);
+            job.setBytesRead(job.getTotalBytes());
+            job.setFinishedAt(LocalDateTime.now());
+            importJobRepository.save(job);
+
+            System.out.println("\n📊 Import Summary (job " + jobId + "):");
+            System.out.println("   ✅ Users imported: " + job.getUsersImported());
+            System.out.println("   ✅ Doctors imported: " + job.getDoctorsImported());
+            System.out.println("   ⏭️  Skipped (already exist): " + job.getSkipped());
+            System.out.println("   ⚠️  Failed: " + job.getFailed());
+            Double rowsPerSecond = rowsPerSecond(job);
+            System.out.println("   📈 Throughput: " + (rowsPerSecond == null ? "-" : Math.round(rowsPerSecond)) + " rows/s");
+
+            // bulk inserts bypass DoctorService, so the in-memory search index is reloaded once at the end
+            doctorSearchService.rebuild();
+            doctorStatsService.invalidate();
+        } catch (Exception e) {
+            System.err.println("❌ Import job " + jobId + " failed: " + e.getMessage());
+            importJobRepository.findById(jobId).ifPresent(failedJob -> {
+                failedJob.setStatus(ImportJobStatus.FAILED);
+                failedJob.setLastError(truncate(e.getMessage()));
+                failedJob.setFinishedAt(LocalDateTime.now());
+                importJobRepository.save(failedJob);
+            });
+        } finally {
+            activeJobId = null;
+        }
+    }
+
+    private ImportJobDTO convertToDTO(ImportJob job) {
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setId(job.getId());
+        dto.setStatus(job.getStatus());
+        dto.setSourceFile(job.getSourceFile());
+        dto.setBytesRead(job.getBytesRead());
+        dto.setTotalBytes(job.getTotalBytes());
+        dto.setPercentComplete(job.getTotalBytes() > 0 ? 100.0 * job.getBytesRead() / job.getTotalBytes() : 0);
+        dto.setUsersImported(job.getUsersImported());
+        dto.setDoctorsImported(job.getDoctorsImported());
+        dto.setSkipped(job.getSkipped());
+        dto.setFailed(job.getFailed());
+        dto.setLastError(job.getLastError());
+        dto.setRowsPerSecond(rowsPerSecond(job));
+        dto.setEtaSeconds(etaSeconds(job));
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        return dto;
+    }
+
+    private static Double rowsPerSecond(ImportJob job) {
+        double seconds = secondsRunning(job);
+        return seconds > 0 ? (job.getRowsProcessed() - job.getRowsAtStart()) / seconds : null;
+    }
+
+    private static Long etaSeconds(ImportJob job) {
+        double seconds = secondsRunning(job);
+        long bytesThisRun = job.getBytesRead() - job.getBytesAtStart();
+        if (job.getStatus() != ImportJobStatus.RUNNING || seconds <= 0 || bytesThisRun <= 0) {
+            return null;
+        }
+        double bytesPerSecond = bytesThisRun / seconds;
+        return Math.round((job.getTotalBytes() - job.getBytesRead()) / bytesPerSecond);
+    }
+
+    private static double secondsRunning(ImportJob job) {
+        if (job.getStartedAt() == null) {
+            return 0;
+        }
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        return Duration.between(job.getStartedAt(), end).toMillis() / 1000.0;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    /**
+     * Writes one record type's batches and advances the job checkpoint in the same transaction,
+     * mirroring the outcome into doctor.import.rows / doctor.import.batch metrics.
+     */
+    private class ImportTally {
+        private final Long jobId;
+        private final String type;
+        private final String checkpointSql;
+        private final String failureSql;
+        private final Counter importedRows;
+        private final Counter skippedRows;
+        private final Counter failedRows;
+        private final Timer batchTimer;
+
+        ImportTally(Long jobId, String type) {
+            this.jobId = jobId;
+            this.type = type;
+            this.checkpointSql = "UPDATE import_job SET " + type + "s_processed = " + type + "s_processed + ?, "
+                    + type + "s_imported = " + type + "s_imported + ?, skipped = skipped + ?, failed = failed + ?, "
+                    + "bytes_read = ?, updated_at = ? WHERE id = ?";
+            this.failureSql = "UPDATE import_job SET " + type + "s_processed = " + type + "s_processed + ?, "
+                    + "failed = failed + ?, bytes_read = ?, last_error = ?, updated_at = ? WHERE id = ?";
+            this.importedRows = rows("imported");
+            this.skippedRows = rows("skipped");
+            this.failedRows = rows("failed");
+            this.batchTimer = Timer.builder("doctor.import.batch")
+                    .description("Time to write one import batch")
+                    .tag("type", type)
+                    .register(meterRegistry);
+        }
+
+        <T> void record(List<T> batch, Function<List<T>, BatchResult> write, DoctorJsonReader reader) {
+            long position = reader.position();
+            try {
+                BatchResult result = batchTimer.record(() -> transactionTemplate.execute(status -> {
+                    BatchResult written = write.apply(batch);
+                    jdbcTemplate.update(checkpointSql, batch.size(), written.imported(), written.skipped(),
+                            written.failed(), position, LocalDateTime.now(), jobId);
+                    return written;
+                }));
+                importedRows.increment(result.imported());
+                skippedRows.increment(result.skipped());
+                failedRows.increment(result.failed());
+            } catch (Exception e) {
+                // the batch rolled back; count it as failed, move the checkpoint past it and keep going
+                System.err.println("   ⚠️  Error importing " + type + " batch: " + e.getMessage());
+                jdbcTemplate.update(failureSql, batch.size(), batch.size(), position,
+                        truncate(e.getMessage()), LocalDateTime.now(), jobId);
+                failedRows.increment(batch.size());
+            }
+        }
+
+        private Counter rows(String outcome) {
+            return Counter.builder("doctor.import.rows")
+                    .description("Rows processed by the doctor JSON import")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.AnalysisSearchResultDTO;
+import com.PrescribeCorrect.app.dto.PrescriptionAnalysisSummaryDTO;
+import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+import com.PrescribeCorrect.app.repository.PrescriptionAnalysisRepository;
+import com.PrescribeCorrect.app.service.AnalysisSearchService;
+import com.PrescribeCorrect.app.util.AnalysisSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@ConditionalOnProperty(name = "analysis.search", havingValue = "in-memory")
+public class InMemoryAnalysisSearchService implements AnalysisSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // rebuilt off to the side and swapped in whole, so a search never sees a half-filled index
+    private final AtomicReference<AnalysisSearchIndex> index = new AtomicReference<>(new AnalysisSearchIndex());
+    // documents indexed (or empty: removed) while a rebuild is reading the table; replayed onto the new index
+    // after the swap. The document itself is kept because a save's transaction may not have committed yet
+    private final Map<Long, Optional<AnalysisSearchIndex.Document>> changedDuringRebuild = new ConcurrentHashMap<>();
+    private volatile boolean rebuilding;
+    // serializes rebuilds without pinning a virtual thread's carrier while the batches are read
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Autowired
+    private PrescriptionAnalysisRepository analysisRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public AnalysisSearchResultDTO search(String userEmail, String query, int page, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        return index.get().search(userEmail, query, page, size);
+    }
+
+    @Override
+    public void index(PrescriptionAnalysis analysis) {
+        AnalysisSearchIndex.Document document = toDocument(analysis);
+        markChanged(document.id(), Optional.of(document));
+        index.get().put(document);
+    }
+
+    @Override
+    public void remove(Long analysisId) {
+        markChanged(analysisId, Optional.empty());
+        index.get().remove(analysisId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            changedDuringRebuild.clear();
+            rebuilding = true;
+            AnalysisSearchIndex fresh = new AnalysisSearchIndex();
+            try {
+                int page = 0;
+                boolean more;
+                do {
+                    PageRequest request = PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id"));
+                    // collections are lazy, so each batch is read inside its own transaction
+                    more = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                        Page<PrescriptionAnalysis> batch = analysisRepository.findAll(request);
+                        batch.forEach(analysis -> fresh.put(toDocument(analysis)));
+                        return batch.hasNext();
+                    }));
+                } while (more);
+                index.set(fresh);
+            } finally {
+                rebuilding = false;
+            }
+            // a change marked before the swap may have gone to the old index only
+            changedDuringRebuild.forEach((id, document) ->
+                    document.ifPresentOrElse(fresh::put, () -> fresh.remove(id)));
+            changedDuringRebuild.clear();
+            System.out.println("🔎 Analysis search index built with " + fresh.size() + " analyses");
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // recorded before the index is written, so a change that lands in the old index is always replayed
+    private void markChanged(Long analysisId, Optional<AnalysisSearchIndex.Document> document) {
+        if (rebuilding) {
+            changedDuringRebuild.put(analysisId, document);
+        }
+    }
+
+    private static AnalysisSearchIndex.Document toDocument(PrescriptionAnalysis analysis) {
+        String summary = analysis.getAnalysisSummary();
+        PrescriptionAnalysisSummaryDTO dto = new PrescriptionAnalysisSummaryDTO(analysis.getId(),
+                summary != null && summary.length() > PrescriptionAnalysisSummaryDTO.PREVIEW_LENGTH
+                        ? summary.substring(0, PrescriptionAnalysisSummaryDTO.PREVIEW_LENGTH) : summary,
+                analysis.getDoctorName(), analysis.getPatientName(), analysis.getAnalysisDate(), analysis.getSentToChat());
+        String text = (summary != null ? summary : "") + " "
+                + (analysis.getFullPrescriptionText() != null ? analysis.getFullPrescriptionText() : "");
+        return new AnalysisSearchIndex.DocumentBuilder()
+                .add(analysis.getDoctorName(), AnalysisSearchIndex.WEIGHT_A)
+                .addAll(analysis.getMedicines(), AnalysisSearchIndex.WEIGHT_A)
+                .addAll(analysis.getKeyDiseases(), AnalysisSearchIndex.WEIGHT_B)
+                .add(summary, AnalysisSearchIndex.WEIGHT_C)
+                .add(analysis.getFullPrescriptionText(), AnalysisSearchIndex.WEIGHT_D)
+                .build(analysis.getId(), analysis.getUser().getEmail(), dto, text.strip());
+    }
+}
@@ -0,0 +1,21 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.MessageDTO;
+import com.PrescribeCorrect.app.service.ChatMessageBroadcaster;
+import com.PrescribeCorrect.app.util.ChatStreamRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "chat.broadcaster", havingValue = "in-process", matchIfMissing = true)
+public class InProcessChatMessageBroadcaster implements ChatMessageBroadcaster {
+
+    @Autowired
+    private ChatStreamRegistry chatStreamRegistry;
+
+    @Override
+    public void publish(Long chatId, MessageDTO message) {
+        chatStreamRegistry.deliver(chatId, message);
+    }
+}
@@ -0,0 +1,273 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.DrugInteractionDTO;
+import com.PrescribeCorrect.app.dto.UserInteractionsDTO;
+import com.PrescribeCorrect.app.dto.UserInteractionsPageDTO;
+import com.PrescribeCorrect.app.exception.NotFoundException;
+import com.PrescribeCorrect.app.model.InteractionAlert;
+import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+import com.PrescribeCorrect.app.model.User;
+import com.PrescribeCorrect.app.repository.InteractionAlertRepository;
+import com.PrescribeCorrect.app.repository.PrescriptionAnalysisRepository;
+import com.PrescribeCorrect.app.repository.UserRepository;
+import com.PrescribeCorrect.app.service.InteractionService;
+import com.PrescribeCorrect.app.service.MedicineExtractionService;
+import com.PrescribeCorrect.app.util.InteractionTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+public class InteractionServiceImp implements InteractionService {
+
+    static final String INTERACTIONS_RESOURCE = "/medicines/interactions.tsv";
+    private static final int MAX_USERS_PER_PAGE = 1000;
+
+    private static final Comparator<DrugInteractionDTO> MOST_SEVERE_FIRST = Comparator
+            .comparing(DrugInteractionDTO::getSeverity).reversed()
+            .thenComparing(DrugInteractionDTO::getDrugA)
+            .thenComparing(DrugInteractionDTO::getDrugB);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PrescriptionAnalysisRepository analysisRepository;
+
+    @Autowired
+    private InteractionAlertRepository alertRepository;
+
+    @Autowired
+    private MedicineExtractionService medicineExtractionService;
+
+    // analyses older than this no longer count as something the patient is taking
+    @Value("${interactions.history-days:180}")
+    private int historyDays;
+
+    // a pair alerted within this many days is not alerted again
+    @Value("${interactions.alert-window-days:30}")
+    private int alertWindowDays;
+
+    private final InteractionTable table;
+
+    public InteractionServiceImp() {
+        try (InputStream in = InteractionServiceImp.class.getResourceAsStream(INTERACTIONS_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing interaction table " + INTERACTIONS_RESOURCE);
+            }
+            table = InteractionTable.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println("💊 Interaction table built with " + table.drugCount() + " drugs and "
+                + table.interactionCount() + " interactions");
+    }
+
+    @Override
+    public UserInteractionsDTO checkUser(String email) throws NotFoundException {
+        List<Object[]> user = userRepository.findCurrentMedications(email);
+        if (user.isEmpty()) {
+            throw new NotFoundException("User not found");
+        }
+        BitSet drugs = resolve(medicines(user.get(0)[1]));
+        for (Object[] row : analysisRepository.findMedicinesSince(email, since())) {
+            drugs.or(resolve(medicines(row[1])));
+        }
+        return report(email, drugs);
+    }
+
+    /**
+     * Two queries per page of users, keyset paged on email: the users' current medications, then their recent
+     * analyses. Names are resolved to drug ids per user, then each user's pairs are read off the table.
+     */
+    @Override
+    public UserInteractionsPageDTO checkAllUsers(String after, int limit) {
+        if (limit < 1 || limit > MAX_USERS_PER_PAGE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_USERS_PER_PAGE);
+        }
+        // one extra row tells whether another page exists
+        List<Object[]> users = userRepository.findCurrentMedicationsAfter(after != null ? after : "", Limit.of(limit + 1));
+        boolean hasMore = users.size() > limit;
+        if (hasMore) {
+            users = users.subList(0, limit);
+        }
+        Map<String, BitSet> drugsByUser = new LinkedHashMap<>();
+        for (Object[] row : users) {
+            drugsByUser.put((String) row[0], resolve(medicines(row[1])));
+        }
+        if (!drugsByUser.isEmpty()) {
+            for (Object[] row : analysisRepository.findMedicinesSince(drugsByUser.keySet(), since())) {
+                drugsByUser.get((String) row[0]).or(resolve(medicines(row[1])));
+            }
+        }
+        List<UserInteractionsDTO> reports = new ArrayList<>();
+        for (Map.Entry<String, BitSet> entry : drugsByUser.entrySet()) {
+            if (entry.getValue().cardinality() > 1) {
+                UserInteractionsDTO report = report(entry.getKey(), entry.getValue());
+                if (!report.getInteractions().isEmpty()) {
+                    reports.add(report);
+                }
+            }
+        }
+        String nextCursor = users.isEmpty() ? null : (String) users.get(users.size() - 1)[0];
+        return new UserInteractionsPageDTO(reports, nextCursor, hasMore);
+    }
+
+    @Override
+    public List<DrugInteractionDTO> getAlerts(String email) {
+        List<DrugInteractionDTO> alerts = new ArrayList<>();
+        for (InteractionAlert alert : alertRepository.findByUser_EmailOrderByDetectedAtDescIdDesc(email)) {
+            alerts.add(new DrugInteractionDTO(alert.getDrugA(), alert.getDrugB(), alert.getSeverity(),
+                    alert.getDescription(), alert.getDetectedAt()));
+        }
+        return alerts;
+    }
+
+    /**
+     * Called after the analysis is saved: only pairs involving a drug the patient was not already on are evaluated.
+     */
+    @Override
+    public void checkNewAnalysis(PrescriptionAnalysis analysis) {
+        BitSet prescribed = resolve(analysis.getMedicines());
+        if (prescribed.isEmpty()) {
+            return;
+        }
+        User user = analysis.getUser();
+        BitSet before = resolve(user.getCurrentMedications());
+        for (Object[] row : analysisRepository.findMedicinesSince(user.getEmail(), since())) {
+            if (!Objects.equals(row[0], analysis.getId())) {
+                before.or(resolve(medicines(row[1])));
+            }
+        }
+        BitSet now = (BitSet) before.clone();
+        now.or(prescribed);
+        recordNewInteractions(user, before, now);
+    }
+
+    /**
+     * Called after a profile update: drugs added to the current medications are checked against
+     * the remaining ones and recent analyses.
+     */
+    @Override
+    public void checkMedicationChange(User user, List<String> previousMedications) {
+        BitSet current = resolve(user.getCurrentMedications());
+        BitSet added = (BitSet) current.clone();
+        added.andNot(resolve(previousMedications));
+        if (added.isEmpty()) {
+            return;
+        }
+        BitSet history = new BitSet();
+        for (Object[] row : analysisRepository.findMedicinesSince(user.getEmail(), since())) {
+            history.or(resolve(medicines(row[1])));
+        }
+        BitSet before = (BitSet) current.clone();
+        before.andNot(added);
+        before.or(history);
+        BitSet now = (BitSet) current.clone();
+        now.or(history);
+        recordNewInteractions(user, before, now);
+    }
+
+    private void recordNewInteractions(User user, BitSet before, BitSet now) {
+        BitSet added = (BitSet) now.clone();
+        added.andNot(before);
+        if (added.isEmpty()) {
+            return;
+        }
+        BitSet existing = (BitSet) now.clone();
+        existing.andNot(added);
+        List<InteractionTable.Interaction> found = table.checkAdded(existing.stream().toArray(), added.stream().toArray());
+        if (found.isEmpty()) {
+            return;
+        }
+
+        // a drug removed and added back, or a prescription saved twice, brings a pair back within days: it is
+        // alerted once per window; a pair that returns after the window is a new alert
+        LocalDateTime detectedAt = LocalDateTime.now();
+        Set<String> stored = new HashSet<>();
+        for (InteractionAlert alert : alertRepository.findByUser_EmailAndDetectedAtAfter(user.getEmail(),
+                detectedAt.minusDays(alertWindowDays))) {
+            stored.add(alert.getDrugA() + "\t" + alert.getDrugB());
+        }
+        List<InteractionAlert> alerts = new ArrayList<>();
+        for (InteractionTable.Interaction interaction : found) {
+            if (stored.add(interaction.drugA() + "\t" + interaction.drugB())) {
+                InteractionAlert alert = new InteractionAlert();
+                alert.setUser(user);
+                alert.setDrugA(interaction.drugA());
+                alert.setDrugB(interaction.drugB());
+                alert.setSeverity(interaction.severity());
+                alert.setDescription(interaction.description());
+                alert.setDetectedAt(detectedAt);
+                alerts.add(alert);
+            }
+        }
+        if (!alerts.isEmpty()) {
+            alertRepository.saveAll(alerts);
+            System.out.println("⚠️  " + alerts.size() + " new drug interaction(s) for " + user.getEmail());
+        }
+    }
+
+    private UserInteractionsDTO report(String email, BitSet drugs) {
+        int[] ids = drugs.stream().toArray();
+        List<String> names = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            names.add(table.drug(id));
+        }
+        List<DrugInteractionDTO> interactions = new ArrayList<>();
+        for (InteractionTable.Interaction interaction : table.check(ids)) {
+            interactions.add(new DrugInteractionDTO(interaction.drugA(), interaction.drugB(), interaction.severity(),
+                    interaction.description(), null));
+        }
+        interactions.sort(MOST_SEVERE_FIRST);
+        return new UserInteractionsDTO(email, names, interactions);
+    }
+
+    /**
+     * Drug ids named by free-text medicine entries ("Napa Extra 500mg", "warfarin 5 mg"): brands and generics
+     * are recognised by the medicine extractor, combinations count as each of their ingredients.
+     */
+    private BitSet resolve(Collection<String> medicines) {
+        BitSet drugs = new BitSet(table.drugCount());
+        if (medicines == null) {
+            return drugs;
+        }
+        for (String medicine : medicines) {
+            if (medicine == null || medicine.isBlank()) {
+                continue;
+            }
+            for (String generic : medicineExtractionService.extractGenerics(medicine)) {
+                int id = table.id(generic);
+                if (id >= 0) {
+                    drugs.set(id);
+                }
+            }
+        }
+        return drugs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<String> medicines(Object column) {
+        return (Collection<String>) column;
+    }
+
+    private LocalDateTime since() {
+        return LocalDateTime.now().minusDays(historyDays);
+    }
+}
@@ -0,0 +1,105 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.MedicalTermDTO;
+import com.PrescribeCorrect.app.exception.NotFoundException;
+import com.PrescribeCorrect.app.service.MedicalTermService;
+import com.PrescribeCorrect.app.util.MedicalTermDictionary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ResourceUtils;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.util.List;
+
+@Service
+public class MedicalTermServiceImp implements MedicalTermService {
+
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    // packaged with the application; a file path (or file: URL) loads another copy instead
+    @Value("${medical-terms.file:classpath:medical-terms/training_data.json}")
+    private String trainingDataLocation;
+
+    private volatile MedicalTermDictionary dictionary = MedicalTermDictionary.EMPTY;
+
+    // the medicine lookups and OCR correction depend on it, so a missing or broken file stops startup
+    @PostConstruct
+    public void load() {
+        Resource trainingData = ResourceUtils.isUrl(trainingDataLocation)
+                ? resourceLoader.getResource(trainingDataLocation)
+                : new FileSystemResource(trainingDataLocation);
+        if (!trainingData.exists()) {
+            throw new IllegalStateException("Medical term training data not found: " + trainingData.getDescription());
+        }
+        long start = System.nanoTime();
+        try (InputStream in = new BufferedInputStream(trainingData.getInputStream(), 1 << 16)) {
+            dictionary = MedicalTermDictionary.load(objectMapper, in);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not load medical term dictionary from "
+                    + trainingData.getDescription(), e);
+        }
+        if (dictionary.size() == 0) {
+            throw new IllegalStateException("Medical term training data has no terms: " + trainingData.getDescription());
+        }
+        System.out.println("📚 Medical term dictionary loaded with " + dictionary.size() + " terms in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    @Override
+    public MedicalTermDTO getTerm(String term) throws NotFoundException {
+        MedicalTermDictionary.Entry entry = dictionary.lookup(term);
+        if (entry == null) {
+            throw new NotFoundException("Medical term not found: " + term);
+        }
+        return toDTO(entry);
+    }
+
+    @Override
+    public List<MedicalTermDTO> suggest(String prefix, int limit) {
+        checkLimit(limit);
+        return dictionary.withPrefix(prefix, limit).stream().map(MedicalTermServiceImp::toDTO).toList();
+    }
+
+    @Override
+    public List<MedicalTermDTO> describe(String description, int limit) {
+        checkLimit(limit);
+        return dictionary.describedBy(description, limit).stream().map(MedicalTermServiceImp::toDTO).toList();
+    }
+
+    @Override
+    public MedicalTermDTO identifyMedicine(String name) throws NotFoundException {
+        MedicalTermDictionary.Entry entry = dictionary.identifyMedicine(name);
+        if (entry == null) {
+            throw new NotFoundException("No training data found for: " + name);
+        }
+        return toDTO(entry);
+    }
+
+    @Override
+    public MedicalTermDictionary getDictionary() {
+        return dictionary;
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    private static MedicalTermDTO toDTO(MedicalTermDictionary.Entry entry) {
+        return new MedicalTermDTO(entry.term(), entry.category(), entry.definition());
+    }
+}
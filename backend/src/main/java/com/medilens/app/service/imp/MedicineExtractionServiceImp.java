@@ -0,0 +1,81 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.MedicineMentionDTO;
+import com.PrescribeCorrect.app.service.MedicineExtractionService;
+import com.PrescribeCorrect.app.util.MedicineExtractor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class MedicineExtractionServiceImp implements MedicineExtractionService {
+
+    static final String DICTIONARY_RESOURCE = "/medicines/medicines.tsv";
+    // bounds one request; the upload page sends at most 10000 characters
+    private static final int MAX_TEXT_LENGTH = 100_000;
+
+    private final MedicineExtractor extractor;
+
+    public MedicineExtractionServiceImp() {
+        try (InputStream in = MedicineExtractionServiceImp.class.getResourceAsStream(DICTIONARY_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing medicine dictionary " + DICTIONARY_RESOURCE);
+            }
+            extractor = MedicineExtractor.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println("💊 Medicine extractor built with " + extractor.medicineCount() + " names");
+    }
+
+    @Override
+    public List<MedicineMentionDTO> extract(String text) {
+        checkLength(text);
+        List<MedicineMentionDTO> mentions = new ArrayList<>();
+        for (MedicineExtractor.Mention mention : extractor.extract(text)) {
+            mentions.add(new MedicineMentionDTO(mention.medicine(), mention.generic(), toDTO(mention.name()),
+                    toDTO(mention.strength()), toDTO(mention.form()), mention.formName()));
+        }
+        return mentions;
+    }
+
+    @Override
+    public List<String> extractMedicineNames(String text) {
+        checkLength(text);
+        Set<String> names = new LinkedHashSet<>();
+        for (MedicineExtractor.Mention mention : extractor.extract(text)) {
+            names.add(mention.strength() != null
+                    ? mention.medicine() + " " + mention.strength().text()
+                    : mention.medicine());
+        }
+        return new ArrayList<>(names);
+    }
+
+    @Override
+    public List<String> extractGenerics(String text) {
+        checkLength(text);
+        Set<String> generics = new LinkedHashSet<>();
+        for (MedicineExtractor.Mention mention : extractor.extract(text)) {
+            for (String generic : mention.generic().split("\\+")) {
+                generics.add(generic.strip());
+            }
+        }
+        return new ArrayList<>(generics);
+    }
+
+    private static void checkLength(String text) {
+        if (text != null && text.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("text must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+    }
+
+    private static MedicineMentionDTO.SpanDTO toDTO(MedicineExtractor.Span span) {
+        return span != null ? new MedicineMentionDTO.SpanDTO(span.start(), span.end(), span.text()) : null;
+    }
+}
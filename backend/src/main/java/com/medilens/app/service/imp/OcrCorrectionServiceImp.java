@@ -0,0 +1,77 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.service.MedicalTermService;
+import com.PrescribeCorrect.app.service.OcrCorrectionService;
+import com.PrescribeCorrect.app.util.MedicineExtractor;
+import com.PrescribeCorrect.app.util.OcrCorrector;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+@Service
+public class OcrCorrectionServiceImp implements OcrCorrectionService {
+
+    private static final String WORDS_RESOURCE = "/ocr/prescription-words.txt";
+    // each occurrence in the training data counts once; prescription words and medicine names outrank rare terms
+    private static final int PRESCRIPTION_WORD_COUNT = 10_000;
+    private static final int MEDICINE_WORD_COUNT = 1_000;
+
+    @Autowired
+    private MedicalTermService medicalTermService;
+
+    @Value("${ocr.correction.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ocr.correction.max-distance:2}")
+    private int maxDistance;
+
+    private volatile OcrCorrector corrector = OcrCorrector.EMPTY;
+
+    @PostConstruct
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        OcrCorrector.Builder builder = new OcrCorrector.Builder();
+        medicalTermService.getDictionary().forEachText(text -> builder.addText(text, 1));
+        try (InputStream medicines = OcrCorrectionServiceImp.class.getResourceAsStream(MedicineExtractionServiceImp.DICTIONARY_RESOURCE);
+             InputStream words = OcrCorrectionServiceImp.class.getResourceAsStream(WORDS_RESOURCE)) {
+            if (medicines != null) {
+                MedicineExtractor.forEachEntry(medicines, (name, generic) -> builder
+                        .addName(name, MEDICINE_WORD_COUNT)
+                        .addName(generic, MEDICINE_WORD_COUNT));
+            }
+            if (words != null) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(words, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank() && !line.startsWith("#")) {
+                        builder.addWord(line, PRESCRIPTION_WORD_COUNT);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Could not read OCR correction vocabulary: " + e.getMessage());
+            return;
+        }
+        corrector = builder.build(maxDistance);
+        System.out.println("🔤 OCR corrector built with " + corrector.size() + " words and "
+                + corrector.indexedDeletes() + " deletes in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    @Override
+    public String correct(String text) {
+        if (!enabled || text == null || text.isBlank()) {
+            return text;
+        }
+        return corrector.correct(text).text();
+    }
+}
@@ -0,0 +1,136 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.AnalysisSearchResultDTO;
+import com.PrescribeCorrect.app.dto.PrescriptionAnalysisSummaryDTO;
+import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+import com.PrescribeCorrect.app.service.AnalysisSearchService;
+import com.PrescribeCorrect.app.util.AnalysisSearchIndex;
+import com.PrescribeCorrect.app.util.CompressedText;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Analysis search on PostgreSQL full-text search.
+ * prescription_analysis.search_vector holds the weighted document (V8 migration, also ensured at startup):
+ * medicines and doctor name weigh A, diseases B, summary C, full text D. It is written in the same transaction
+ * as the analysis, and rows saved before the column existed are backfilled in the background.
+ * The 'simple' configuration is used because medicine and brand names must not be stemmed as English words.
+ * The prescription text is stored compressed by the application, so it is passed in decoded as a parameter,
+ * and highlighting is done here for the returned page only.
+ */
+@Service
+@ConditionalOnProperty(name = "analysis.search", havingValue = "postgres", matchIfMissing = true)
+public class PostgresAnalysisSearchService implements AnalysisSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private static final String DOCUMENT = "setweight(to_tsvector('simple', coalesce(a.doctor_name, '') || ' ' || "
+            + "coalesce(array_to_string(a.medicines, ' '), '')), 'A') || "
+            + "setweight(to_tsvector('simple', coalesce(array_to_string(a.key_diseases, ' '), '')), 'B') || "
+            + "setweight(to_tsvector('simple', coalesce(a.analysis_summary, '')), 'C') || "
+            + "setweight(to_tsvector('simple', ?), 'D')";
+
+    private static final String UPDATE_DOCUMENT = "UPDATE prescription_analysis a SET search_vector = " + DOCUMENT
+            + " WHERE a.id = ?";
+
+    // rank and count over every match; the text columns are only read for the rows of the requested page
+    private static final String SEARCH = "SELECT a.id, a.doctor_name, a.patient_name, a.analysis_date, a.sent_to_chat, "
+            + "a.analysis_summary, a.full_prescription_text_compressed, ts_rank_cd(a.search_vector, q.query) AS rank, "
+            + "COUNT(*) OVER () AS total "
+            + "FROM prescription_analysis a, websearch_to_tsquery('simple', ?) AS q(query) "
+            + "WHERE a.user_email = ? AND a.search_vector @@ q.query "
+            + "ORDER BY rank DESC, a.id DESC LIMIT ? OFFSET ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public AnalysisSearchResultDTO search(String userEmail, String query, int page, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        AnalysisSearchResultDTO result = new AnalysisSearchResultDTO();
+        result.setPage(page);
+        result.setSize(size);
+        List<AnalysisSearchResultDTO.Hit> hits = new ArrayList<>();
+        int[] total = {0};
+        if (query != null && !query.isBlank()) {
+            jdbcTemplate.query(SEARCH, rs -> {
+                total[0] = rs.getInt("total");
+                Timestamp analysisDate = rs.getTimestamp("analysis_date");
+                String summary = rs.getString("analysis_summary");
+                PrescriptionAnalysisSummaryDTO analysis = new PrescriptionAnalysisSummaryDTO(rs.getLong("id"),
+                        summary != null && summary.length() > PrescriptionAnalysisSummaryDTO.PREVIEW_LENGTH
+                                ? summary.substring(0, PrescriptionAnalysisSummaryDTO.PREVIEW_LENGTH) : summary,
+                        rs.getString("doctor_name"), rs.getString("patient_name"),
+                        analysisDate != null ? analysisDate.toLocalDateTime() : null,
+                        (Boolean) rs.getObject("sent_to_chat"));
+                String text = (summary != null ? summary : "") + " "
+                        + fullText(rs.getBytes("full_prescription_text_compressed"));
+                hits.add(new AnalysisSearchResultDTO.Hit(analysis, rs.getDouble("rank"),
+                        AnalysisSearchIndex.highlight(text.strip(), query)));
+            }, query, userEmail, size, (long) page * size);
+        }
+        result.setHits(hits);
+        result.setTotal(total[0]);
+        return result;
+    }
+
+    @Override
+    public void index(PrescriptionAnalysis analysis) {
+        String fullText = analysis.getFullPrescriptionText();
+        jdbcTemplate.update(UPDATE_DOCUMENT, fullText != null ? fullText : "", analysis.getId());
+    }
+
+    @Override
+    public void remove(Long analysisId) {
+        // the search vector is a column of the deleted row
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepare() {
+        try {
+            jdbcTemplate.execute("ALTER TABLE prescription_analysis ADD COLUMN IF NOT EXISTS search_vector tsvector");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_analysis_search ON prescription_analysis USING GIN (search_vector)");
+        } catch (Exception e) {
+            System.err.println("⚠️  Could not prepare analysis search (apply V8__Analysis_Search_Vector.sql): " + e.getMessage());
+            return;
+        }
+        CompletableFuture.runAsync(this::backfill);
+    }
+
+    private void backfill() {
+        int total = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList("SELECT id, full_prescription_text_compressed FROM prescription_analysis "
+                    + "WHERE search_vector IS NULL LIMIT " + BACKFILL_BATCH_SIZE);
+            jdbcTemplate.batchUpdate(UPDATE_DOCUMENT, rows, rows.size(), (ps, row) -> {
+                ps.setString(1, fullText((byte[]) row.get("full_prescription_text_compressed")));
+                ps.setLong(2, ((Number) row.get("id")).longValue());
+            });
+            total += rows.size();
+        } while (rows.size() == BACKFILL_BATCH_SIZE);
+        if (total > 0) {
+            System.out.println("🔎 Analysis search vectors backfilled for " + total + " analyses");
+        }
+    }
+
+    private static String fullText(byte[] stored) {
+        return stored != null && stored.length > 0 ? CompressedText.fromStored(stored).text() : "";
+    }
+}
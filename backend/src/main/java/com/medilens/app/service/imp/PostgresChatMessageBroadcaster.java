@@ -0,0 +1,129 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.MessageDTO;
+import com.PrescribeCorrect.app.repository.MessageRepository;
+import com.PrescribeCorrect.app.service.ChatMessageBroadcaster;
+import com.PrescribeCorrect.app.util.ChatStreamRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+/**
+ * Fans chat messages out across instances with Postgres LISTEN/NOTIFY.
+ * Every instance (including the publisher) receives the notification and delivers it to its own subscribers.
+ * NOTIFY payloads are capped at 8000 bytes, so long messages travel as ids and are loaded by the receiver.
+ */
+@Service
+@ConditionalOnProperty(name = "chat.broadcaster", havingValue = "postgres")
+public class PostgresChatMessageBroadcaster implements ChatMessageBroadcaster {
+
+    private static final String CHANNEL = "chat_messages";
+    private static final int MAX_INLINE_PAYLOAD_BYTES = 7500;
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 2000;
+
+    record Notification(Long chatId, Long messageId, MessageDTO message) {
+    }
+
+    @Autowired
+    private ChatStreamRegistry chatStreamRegistry;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // LISTEN holds its connection for the application's lifetime, so it is opened outside the Hikari pool
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    @Override
+    public void publish(Long chatId, MessageDTO message) {
+        try {
+            String payload = objectMapper.writeValueAsString(new Notification(chatId, message.getId(), message));
+            if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_INLINE_PAYLOAD_BYTES) {
+                payload = objectMapper.writeValueAsString(new Notification(chatId, message.getId(), null));
+            }
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, payload);
+        } catch (Exception e) {
+            // subscribers still get the message on reconnect or through the paged endpoint
+            System.err.println("⚠️  Could not publish chat message " + message.getId() + ": " + e.getMessage());
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "chat-notify-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        listener.interrupt();
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                System.err.println("⚠️  Chat notification listener disconnected, retrying: " + e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            Notification notification = objectMapper.readValue(payload, Notification.class);
+            MessageDTO message = notification.message() != null ? notification.message()
+                    : messageRepository.findInChat(notification.chatId(), notification.messageId()).orElse(null);
+            if (message != null) {
+                chatStreamRegistry.deliver(notification.chatId(), message);
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️  Dropping malformed chat notification: " + e.getMessage());
+        }
+    }
+}
@@ -1,33 +1,64 @@
 package com.PrescribeCorrect.app.service.imp;
 
+import com.PrescribeCorrect.app.dto.AnalysisSearchResultDTO;
+import com.PrescribeCorrect.app.dto.CursorPageDTO;
 import com.PrescribeCorrect.app.dto.PrescriptionAnalysisDTO;
+import com.PrescribeCorrect.app.dto.PrescriptionAnalysisSummaryDTO;
 import com.PrescribeCorrect.app.exception.NotFoundException;
 import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
 import com.PrescribeCorrect.app.model.User;
 import com.PrescribeCorrect.app.repository.PrescriptionAnalysisRepository;
 import com.PrescribeCorrect.app.repository.UserRepository;
+import com.PrescribeCorrect.app.service.AnalysisCacheService;
+import com.PrescribeCorrect.app.service.AnalysisSearchService;
+import com.PrescribeCorrect.app.service.InteractionService;
+import com.PrescribeCorrect.app.service.MedicineExtractionService;
+import com.PrescribeCorrect.app.service.OcrCorrectionService;
 import com.PrescribeCorrect.app.service.PrescriptionAnalysisService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 public class PrescriptionAnalysisServiceImp implements PrescriptionAnalysisService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private PrescriptionAnalysisRepository analysisRepository;
 
     @Autowired
     private UserRepository userRepository;
 
-    private PrescriptionAnalysisDTO convertToDTO(PrescriptionAnalysis analysis) {
+    @Autowired
+    private AnalysisSearchService analysisSearchService;
+
+    @Autowired
+    private MedicineExtractionService medicineExtractionService;
+
+    @Autowired
+    private OcrCorrectionService ocrCorrectionService;
+
+    @Autowired
+    private InteractionService interactionService;
+
+    @Autowired
+    private AnalysisCacheService analysisCacheService;
+
+    PrescriptionAnalysisDTO convertToDTO(PrescriptionAnalysis analysis) {
         PrescriptionAnalysisDTO dto = new PrescriptionAnalysisDTO();
         dto.setId(analysis.getId());
         dto.setAnalysisSummary(analysis.getAnalysisSummary());
         dto.setFullPrescriptionText(analysis.getFullPrescriptionText());
+        dto.setCorrectedPrescriptionText(analysis.getCorrectedPrescriptionText());
         dto.setMedicines(analysis.getMedicines());
         dto.setKeyDiseases(analysis.getKeyDiseases());
         dto.setDosageInstructions(analysis.getDosageInstructions());
@@ -40,6 +71,7 @@ public class PrescriptionAnalysisServiceImp implements PrescriptionAnalysisServi
     }
 
     @Override
+    @Transactional
     public PrescriptionAnalysisDTO saveAnalysis(PrescriptionAnalysis analysis, String userEmail) throws NotFoundException {
         User user = userRepository.getUserByEmail(userEmail)
                 .orElseThrow(() -> new NotFoundException("User not found"));
@@ -47,16 +79,56 @@ public class PrescriptionAnalysisServiceImp implements PrescriptionAnalysisServi
         analysis.setUser(user);
         analysis.setAnalysisDate(LocalDateTime.now());
         analysis.setSentToChat(false);
+        // misread words are fixed before anything reads the text, in a copy: the text as read is kept
+        String corrected = ocrCorrectionService.correct(analysis.getFullPrescriptionText());
+        analysis.setCorrectedPrescriptionText(Objects.equals(corrected, analysis.getFullPrescriptionText()) ? null : corrected);
+
+        // the client's own list wins; otherwise medicines are read from the prescription text
+        if ((analysis.getMedicines() == null || analysis.getMedicines().isEmpty())
+                && analysis.getAnalyzedText() != null && !analysis.getAnalyzedText().isBlank()) {
+            analysis.setMedicines(medicineExtractionService.extractMedicineNames(analysis.getAnalyzedText()));
+        }
         
-        PrescriptionAnalysis savedAnalysis = analysisRepository.save(analysis);
+        // flushed so the search document is built from the inserted row; indexed in the same transaction
+        PrescriptionAnalysis savedAnalysis = analysisRepository.saveAndFlush(analysis);
+        analysisSearchService.index(savedAnalysis);
+        interactionService.checkNewAnalysis(savedAnalysis);
+        putInCacheAfterCommit(savedAnalysis);
         return convertToDTO(savedAnalysis);
     }
 
+    // a rolled back save must not be served to the next upload of the same text
+    private void putInCacheAfterCommit(PrescriptionAnalysis analysis) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    analysisCacheService.put(analysis);
+                }
+            });
+        } else {
+            analysisCacheService.put(analysis);
+        }
+    }
+
     @Override
-    public List<PrescriptionAnalysisDTO> getUserAnalyses(String userEmail) throws NotFoundException {
-        User user = userRepository.getUserByEmail(userEmail)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+    public List<PrescriptionAnalysisSummaryDTO> getUserAnalysesWithMedicine(String userEmail, String medicine, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (medicine == null || medicine.isBlank()) {
+            throw new IllegalArgumentException("medicine is required");
+        }
+        return analysisRepository.findSummariesWithMedicine(userEmail, medicine.strip(), Limit.of(limit));
+    }
+
+    @Override
+    public AnalysisSearchResultDTO searchAnalyses(String userEmail, String query, int page, int size) {
+        return analysisSearchService.search(userEmail, query, page, size);
+    }
 
+    @Override
+    public List<PrescriptionAnalysisDTO> getUserAnalyses(String userEmail) throws NotFoundException {
         List<PrescriptionAnalysis> analyses = analysisRepository
                 .findByUser_EmailOrderByAnalysisDateDesc(userEmail);
 
@@ -65,6 +137,28 @@ public class PrescriptionAnalysisServiceImp implements PrescriptionAnalysisServi
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPageDTO<PrescriptionAnalysisSummaryDTO> getUserAnalysisHistory(String userEmail, Long before, int limit)
+            throws NotFoundException {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // one extra row tells whether another page exists
+        Limit fetch = Limit.of(limit + 1);
+        List<PrescriptionAnalysisSummaryDTO> rows;
+        if (before != null) {
+            LocalDateTime analysisDate = analysisRepository.findAnalysisDate(userEmail, before)
+                    .orElseThrow(() -> new NotFoundException("Analysis not found for this user: " + before));
+            rows = analysisRepository.findSummariesBefore(userEmail, analysisDate, before, fetch);
+        } else {
+            rows = analysisRepository.findLatestSummaries(userEmail, fetch);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<PrescriptionAnalysisSummaryDTO> content = hasMore ? rows.subList(0, limit) : rows;
+        Long nextCursor = content.isEmpty() ? null : content.get(content.size() - 1).getId();
+        return new CursorPageDTO<>(content, nextCursor, hasMore);
+    }
 
     @Override
     public PrescriptionAnalysisDTO getAnalysisById(Long id) throws NotFoundException {
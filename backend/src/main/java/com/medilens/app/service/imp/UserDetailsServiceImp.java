@@ -1,8 +1,10 @@
 package com.PrescribeCorrect.app.service.imp;
 
+import com.PrescribeCorrect.app.dto.UserPrincipalDTO;
 import com.PrescribeCorrect.app.model.Role;
 import com.PrescribeCorrect.app.model.User;
 import com.PrescribeCorrect.app.repository.UserRepository;
+import com.PrescribeCorrect.app.security.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,6 +18,9 @@ public class UserDetailsServiceImp implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = (User) userRepository.getUserByEmail(email)
@@ -26,17 +31,20 @@ public class UserDetailsServiceImp implements UserDetailsService {
     }
     
     // Method to create a minimal user record for JWT authentication if user doesn't exist
+    // Only email and role are read (through the principal cache), the full User entity is never loaded here
     public UserDetails loadUserByUsernameOrCreate(String email) {
-        try {
-            return loadUserByUsername(email);
-        } catch (UsernameNotFoundException e) {
+        UserPrincipalDTO principal = principalCache.get(email, key ->
+                userRepository.findPrincipalByEmail(key)
+                        .orElseGet(() -> new UserPrincipalDTO(key, Role.ROLE_USER, false)));
+
+        User tempUser = new User();
+        tempUser.setEmail(principal.getEmail());
+        tempUser.setRole(principal.getRole());
+        if (!principal.isRegistered()) {
             // Create a minimal user record for authentication purposes
-            User tempUser = new User();
-            tempUser.setEmail(email);
-            tempUser.setRole(Role.ROLE_USER);
             tempUser.setFirstName("User"); // Default first name
             tempUser.setLastName(""); // Default last name
-            return new MyUserDetails(tempUser);
         }
+        return new MyUserDetails(tempUser);
     }
 }
@@ -3,19 +3,26 @@ package com.PrescribeCorrect.app.service.imp;
 import com.PrescribeCorrect.app.dto.ChatDTO;
 import com.PrescribeCorrect.app.dto.UserDTO;
 import com.PrescribeCorrect.app.exception.NotFoundException;
-import com.PrescribeCorrect.app.model.Chat;
 import com.PrescribeCorrect.app.model.Role;
 import com.PrescribeCorrect.app.model.User;
+import com.PrescribeCorrect.app.repository.ChatRepository;
+import com.PrescribeCorrect.app.repository.PrescriptionAnalysisRepository;
 import com.PrescribeCorrect.app.repository.UserRepository;
+import com.PrescribeCorrect.app.security.PrincipalCache;
+import com.PrescribeCorrect.app.service.AnalysisCacheService;
+import com.PrescribeCorrect.app.service.AnalysisSearchService;
 import com.PrescribeCorrect.app.service.ChatService;
+import com.PrescribeCorrect.app.service.DoctorSearchService;
+import com.PrescribeCorrect.app.service.DoctorStatsService;
+import com.PrescribeCorrect.app.service.InteractionService;
 import com.PrescribeCorrect.app.service.UserService;
 import org.apache.coyote.BadRequestException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,6 +52,27 @@ public class UserServiceImp implements UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private DoctorStatsService doctorStatsService;
+
+    @Autowired
+    private InteractionService interactionService;
+
+    @Autowired
+    private DoctorSearchService doctorSearchService;
+
+    @Autowired
+    private PrescriptionAnalysisRepository analysisRepository;
+
+    @Autowired
+    private AnalysisSearchService analysisSearchService;
+
+    @Autowired
+    private AnalysisCacheService analysisCacheService;
+
     @Override
     public UserDTO getUserByEmail(String email) throws NotFoundException, BadRequestException {
         User user = userRepository.getUserByEmail(email)
@@ -74,6 +102,7 @@ public class UserServiceImp implements UserService {
 
         user.setPassword(bCryptPasswordEncoder.encode(user.getPassword()));
         User result = userRepository.save(user);
+        principalCache.invalidate(result.getEmail());
         return convertUserDTO(result);
     }
 
@@ -93,7 +122,16 @@ public class UserServiceImp implements UserService {
     public void delete(String email) throws NotFoundException {
         User user = userRepository.getUserByEmail(email)
                         .orElseThrow(() -> new NotFoundException("user not found ..."));
+        // the analyses go with the user (cascade), so they leave the search index too
+        List<Long> analysisIds = analysisRepository.findIdsByUserEmail(email);
         userRepository.delete(user);
+        principalCache.invalidate(email);
+        analysisIds.forEach(analysisSearchService::remove);
+        analysisCacheService.invalidate(email);
+        if (user.getDoctor() != null) {
+            doctorSearchService.remove(user.getDoctor().getId());
+            doctorStatsService.invalidate();
+        }
     }
 
     @Override
@@ -123,32 +161,40 @@ public class UserServiceImp implements UserService {
             //     existingUser.setMedicalHistory(user.getMedicalHistory());
             // }
             existingUser.setAllergies(user.getAllergies());
+            List<String> previousMedications = existingUser.getCurrentMedications();
             existingUser.setCurrentMedications(user.getCurrentMedications());
             User useredited = userRepository.save(existingUser);
+            principalCache.invalidate(useredited.getEmail());
+            interactionService.checkMedicationChange(useredited, previousMedications);
             return convertUserDTO(useredited);
         } else {
             // User doesn't exist, create a new user profile
             user.setPassword(bCryptPasswordEncoder.encode("profile_user_" + System.currentTimeMillis()));
             User newUser = userRepository.save(user);
+            principalCache.invalidate(newUser.getEmail());
+            interactionService.checkMedicationChange(newUser, null);
             return convertUserDTO(newUser);
         }
     }
 
     @Autowired
-    private ChatServiceImp chatService;
-
-    @Override
-    public List<ChatDTO> getAllChats(String email) throws NotFoundException {
-        User user = userRepository.findByEmailWithChats(email)
-                .orElseThrow(() -> new NotFoundException("user not found ..."));
+    private ChatRepository chatRepository;
 
-        List<ChatDTO> chatsDTO = user.getChats().stream()
-                .sorted(Comparator.comparing(Chat::getCreatedAt).reversed()) // sort newest first
-                .map(chatService::convertChatDTO)
-                .peek(chatDTO -> chatDTO.setMessages(null))
-                .toList();
+    private static final int MAX_CHAT_PAGE_SIZE = 200;
 
-        return chatsDTO;
+    @Override
+    public List<ChatDTO> getAllChats(String email, int page, int size) throws NotFoundException {
+        if (size < 1 || size > MAX_CHAT_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_CHAT_PAGE_SIZE);
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (!userRepository.existsByEmail(email)) {
+            throw new NotFoundException("user not found ...");
+        }
+        // newest first, with message count and last message preview computed in the same statement
+        return chatRepository.findSummariesByUserEmail(email, PageRequest.of(page, size));
     }
 
 }
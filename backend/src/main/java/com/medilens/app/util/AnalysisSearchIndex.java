@@ -0,0 +1,208 @@
+package com.PrescribeCorrect.app.util;
+
+import com.PrescribeCorrect.app.dto.AnalysisSearchResultDTO;
+import com.PrescribeCorrect.app.dto.PrescriptionAnalysisSummaryDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over saved analyses, the embeddable counterpart of the tsvector search.
+ * Fields carry the same weights Postgres gives A/B/C/D (1.0, 0.4, 0.2, 0.1); a document's score is the sum of
+ * weight x idf over the query words, every word must match, and the last word also matches as a prefix.
+ * Thread-safe: searches share a read lock, updates take the write lock.
+ */
+public class AnalysisSearchIndex {
+
+    public static final float WEIGHT_A = 1.0f;
+    public static final float WEIGHT_B = 0.4f;
+    public static final float WEIGHT_C = 0.2f;
+    public static final float WEIGHT_D = 0.1f;
+
+    private static final int HIGHLIGHT_BEFORE = 40;
+    private static final int HIGHLIGHT_LENGTH = 160;
+
+    public record Document(Long id, String ownerEmail, PrescriptionAnalysisSummaryDTO summary,
+                           String highlightText, Map<String, Float> termWeights) {
+    }
+
+    /**
+     * Collects the weighted terms of one analysis.
+     */
+    public static class DocumentBuilder {
+        private final Map<String, Float> termWeights = new HashMap<>();
+
+        public DocumentBuilder add(String text, float weight) {
+            for (String token : DoctorSearchIndex.tokenize(text)) {
+                termWeights.merge(token, weight, Float::sum);
+            }
+            return this;
+        }
+
+        public DocumentBuilder addAll(List<String> values, float weight) {
+            if (values != null) {
+                values.forEach(value -> add(value, weight));
+            }
+            return this;
+        }
+
+        public Document build(Long id, String ownerEmail, PrescriptionAnalysisSummaryDTO summary, String highlightText) {
+            return new Document(id, ownerEmail, summary, highlightText, Map.copyOf(termWeights));
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    public void put(Document document) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.id());
+            documents.put(document.id(), document);
+            document.termWeights().forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.id(), weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public AnalysisSearchResultDTO search(String ownerEmail, String query, int page, int size) {
+        List<String> words = DoctorSearchIndex.tokenize(query);
+        AnalysisSearchResultDTO result = new AnalysisSearchResultDTO();
+        result.setPage(page);
+        result.setSize(size);
+        result.setHits(new ArrayList<>());
+        if (words.isEmpty()) {
+            return result;
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (int i = 0; i < words.size(); i++) {
+                Map<Long, Float> wordScores = score(words.get(i), i == words.size() - 1, ownerEmail);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    // every word must match: keep the intersection, adding up the scores
+                    Map<Long, Float> both = new HashMap<>();
+                    for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                        Float other = wordScores.get(entry.getKey());
+                        if (other != null) {
+                            both.put(entry.getKey(), entry.getValue() + other);
+                        }
+                    }
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Float>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+            result.setTotal(ranked.size());
+            Pattern highlight = highlightPattern(words);
+            int from = Math.min(page * size, ranked.size());
+            for (Map.Entry<Long, Float> entry : ranked.subList(from, Math.min(from + size, ranked.size()))) {
+                Document document = documents.get(entry.getKey());
+                result.getHits().add(new AnalysisSearchResultDTO.Hit(document.summary(), entry.getValue(),
+                        highlight(document.highlightText(), highlight)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> score(String word, boolean prefix, String ownerEmail) {
+        Map<Long, Float> scores = new HashMap<>();
+        NavigableMap<String, Map<Long, Float>> terms = prefix && word.length() >= 2
+                ? postings.subMap(word, true, word + Character.MAX_VALUE, false)
+                : postings.subMap(word, true, word, true);
+        for (Map<Long, Float> docs : terms.values()) {
+            double idf = Math.log(1.0 + (double) documents.size() / docs.size());
+            for (Map.Entry<Long, Float> posting : docs.entrySet()) {
+                if (ownerEmail.equals(documents.get(posting.getKey()).ownerEmail())) {
+                    scores.merge(posting.getKey(), (float) (posting.getValue() * idf), Float::sum);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void removeLocked(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.termWeights().keySet()) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fragment of text around the first match of the query words, matches wrapped in &lt;mark&gt;&lt;/mark&gt;.
+     */
+    public static String highlight(String text, String query) {
+        List<String> words = DoctorSearchIndex.tokenize(query);
+        return words.isEmpty() ? null : highlight(text, highlightPattern(words));
+    }
+
+    // words match at a word start; the rest of the word is highlighted too, like a stemmed match
+    private static Pattern highlightPattern(List<String> words) {
+        StringBuilder alternatives = new StringBuilder();
+        for (String word : words) {
+            if (!alternatives.isEmpty()) {
+                alternatives.append('|');
+            }
+            alternatives.append(Pattern.quote(word));
+        }
+        return Pattern.compile("(?<![\\p{L}\\p{N}])(?:" + alternatives + ")[\\p{L}\\p{N}]*",
+                Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    private static String highlight(String text, Pattern pattern) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        Matcher first = pattern.matcher(text);
+        int start = first.find() ? Math.max(0, first.start() - HIGHLIGHT_BEFORE) : 0;
+        int end = Math.min(text.length(), start + HIGHLIGHT_LENGTH);
+        return pattern.matcher(text.substring(start, end)).replaceAll("<mark>$0</mark>");
+    }
+}
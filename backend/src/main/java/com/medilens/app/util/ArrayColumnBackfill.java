@@ -0,0 +1,75 @@
+package com.PrescribeCorrect.app.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Copies medicine, disease, dosage and current-medication lists saved before V10 from their old join tables into
+ * the array columns, deleting the copied rows as it goes, so a database where the columns were only created by
+ * ddl-auto=update does not read older rows as empty. Runs before startup completes; if a join table still holds
+ * rows that cannot be copied, startup fails instead of serving analyses without their medicines.
+ * Once the join tables are empty they can be dropped (see V10__Analysis_Array_Columns.sql).
+ */
+@Component
+public class ArrayColumnBackfill implements CommandLineRunner {
+
+    private record ListColumn(String joinTable, String ownerColumn, String valueColumn,
+                              String table, String idColumn, String arrayColumn) {
+    }
+
+    private static final List<ListColumn> COLUMNS = List.of(
+            new ListColumn("prescription_analysis_medicines", "prescription_analysis_id", "medicines",
+                    "prescription_analysis", "id", "medicines"),
+            new ListColumn("prescription_analysis_key_diseases", "prescription_analysis_id", "key_diseases",
+                    "prescription_analysis", "id", "key_diseases"),
+            new ListColumn("prescription_analysis_dosage_instructions", "prescription_analysis_id", "dosage_instructions",
+                    "prescription_analysis", "id", "dosage_instructions"),
+            new ListColumn("user_current_medications", "user_email", "current_medications",
+                    "users", "email", "current_medications"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(String... args) {
+        for (ListColumn column : COLUMNS) {
+            Integer legacyTables = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables "
+                    + "WHERE LOWER(table_name) = ?", Integer.class, column.joinTable());
+            if (legacyTables == null || legacyTables == 0) {
+                continue;
+            }
+            try {
+                Integer copied = transactionTemplate.execute(status -> backfill(column));
+                if (copied != null && copied > 0) {
+                    System.out.println("📋 Copied " + column.joinTable() + " into " + column.table() + "."
+                            + column.arrayColumn() + " for " + copied + " rows");
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not copy " + column.joinTable() + " into " + column.table()
+                        + "." + column.arrayColumn() + "; apply V10__Analysis_Array_Columns.sql", e);
+            }
+        }
+    }
+
+    private int backfill(ListColumn column) {
+        // the join tables are bags without an order column; physical row order is the order Hibernate read them in
+        int copied = jdbcTemplate.update("UPDATE " + column.table() + " t SET " + column.arrayColumn() + " = j.items "
+                + "FROM (SELECT " + column.ownerColumn() + " AS owner, array_agg(" + column.valueColumn()
+                + " ORDER BY ctid) AS items FROM " + column.joinTable() + " GROUP BY " + column.ownerColumn() + ") j "
+                + "WHERE j.owner = t." + column.idColumn() + " AND t." + column.arrayColumn() + " IS NULL");
+        // rows whose list the new version already wrote are stale; left behind they would come back
+        // the next time the list is cleared
+        jdbcTemplate.update("DELETE FROM " + column.joinTable() + " j WHERE EXISTS (SELECT 1 FROM " + column.table()
+                + " t WHERE t." + column.idColumn() + " = j." + column.ownerColumn() + " AND t." + column.arrayColumn()
+                + " IS NOT NULL)");
+        return copied;
+    }
+}
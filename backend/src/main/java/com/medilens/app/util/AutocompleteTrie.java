@@ -0,0 +1,383 @@
+package com.PrescribeCorrect.app.util;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable, array-backed trie for typo-tolerant prefix autocomplete.
+ * <p>
+ * Nodes are laid out breadth first so the children of a node are contiguous, and every node
+ * knows the range of (sorted) terms below it, so collecting completions is a range scan.
+ * There are no per-node objects or maps: a node is just an index into a few primitive arrays.
+ * Fuzzy matching walks the trie with one Levenshtein DP row per depth and prunes branches
+ * whose best cell already exceeds the edit budget.
+ */
+public class AutocompleteTrie {
+
+    public enum Type { NAME, SPECIALIZATION, CITY }
+
+    // completions returned per call; nodes above the threshold keep this many pre-ranked terms
+    public static final int MAX_LIMIT = 20;
+    private static final int PRERANK_THRESHOLD = 64;
+
+    public static final AutocompleteTrie EMPTY = new Builder().build();
+
+    // node arrays
+    private final char[] nodeChar;
+    private final int[] childStart;
+    private final int[] childEnd;
+    private final int[] termLo;
+    private final int[] termHi;
+    // for nodes with a large range: offset into preranked (by weight), otherwise -1
+    private final int[] prerankStart;
+    private final int[] preranked;
+    private final int nodeCount;
+
+    // term arrays, indexed by position in sorted key order
+    private final String[] labels;
+    private final byte[] types;
+    private final int[] weights;
+
+    private AutocompleteTrie(char[] nodeChar, int[] childStart, int[] childEnd, int[] termLo, int[] termHi,
+                             int nodeCount, String[] labels, byte[] types, int[] weights) {
+        this.nodeChar = nodeChar;
+        this.childStart = childStart;
+        this.childEnd = childEnd;
+        this.termLo = termLo;
+        this.termHi = termHi;
+        this.nodeCount = nodeCount;
+        this.labels = labels;
+        this.types = types;
+        this.weights = weights;
+
+        // short prefixes cover thousands of terms; pre-rank them once so a keystroke never scans a huge range
+        this.prerankStart = new int[nodeCount];
+        int[] buffer = new int[16 * MAX_LIMIT];
+        int used = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            prerankStart[node] = -1;
+            if (termHi[node] - termLo[node] <= PRERANK_THRESHOLD) {
+                continue;
+            }
+            int[] best = topByWeight(termLo[node], termHi[node]);
+            if (used + MAX_LIMIT > buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            prerankStart[node] = used;
+            System.arraycopy(best, 0, buffer, used, MAX_LIMIT);
+            used += MAX_LIMIT;
+        }
+        this.preranked = Arrays.copyOf(buffer, used);
+    }
+
+    private int[] topByWeight(int lo, int hi) {
+        // insertion into a small sorted window; ties keep key order because terms are visited in order
+        int[] best = new int[MAX_LIMIT];
+        int count = 0;
+        for (int term = lo; term < hi; term++) {
+            if (count == MAX_LIMIT && weights[term] <= weights[best[count - 1]]) {
+                continue;
+            }
+            int i = count == MAX_LIMIT ? count - 1 : count++;
+            while (i > 0 && weights[best[i - 1]] < weights[term]) {
+                best[i] = best[i - 1];
+                i--;
+            }
+            best[i] = term;
+        }
+        return best;
+    }
+
+    public int size() {
+        return labels.length;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Edit budget grows with what the user has typed: none for 1-2 chars, one up to 5, two beyond
+     */
+    public static int maxEditsFor(String normalizedQuery) {
+        int length = normalizedQuery.length();
+        return length <= 2 ? 0 : length <= 5 ? 1 : 2;
+    }
+
+    public List<Suggestion> suggest(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0 || labels.length == 0) {
+            return List.of();
+        }
+        return suggest(q, maxEditsFor(q), Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * A term reached through several matching nodes keeps its smallest distance.
+     * Nodes are visited closest first, and a pre-ranked node only contributes its top MAX_LIMIT terms:
+     * anything it already yielded at a smaller distance outranks the rest of its range anyway.
+     */
+    public List<Suggestion> suggest(String normalizedQuery, int maxEdits, int limit) {
+        char[] q = normalizedQuery.toCharArray();
+        int m = q.length;
+
+        Comparator<int[]> ranking = this::compareHits;
+        Matches matches = new Matches();
+        int[] firstRow = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            firstRow[i] = i;
+        }
+        if (firstRow[m] <= maxEdits) {
+            matches.add(0, firstRow[m]);
+        } else {
+            walk(0, q, firstRow, maxEdits, matches);
+        }
+
+        matches.sortByDistance();
+        long[] seen = new long[(labels.length + 63) >>> 6];
+        PriorityQueue<int[]> top = new PriorityQueue<>(ranking.reversed());
+        for (int i = 0; i < matches.size; i++) {
+            int node = matches.nodes[i];
+            int distance = matches.distances[i];
+            boolean ranked = prerankStart[node] >= 0;
+            int from = ranked ? prerankStart[node] : termLo[node];
+            int to = ranked ? from + MAX_LIMIT : termHi[node];
+            for (int k = from; k < to; k++) {
+                int term = ranked ? preranked[k] : k;
+                if ((seen[term >>> 6] & (1L << term)) != 0) {
+                    continue;
+                }
+                seen[term >>> 6] |= 1L << term;
+                int[] candidate = {term, distance};
+                if (top.size() < limit) {
+                    top.add(candidate);
+                } else if (ranking.compare(candidate, top.peek()) < 0) {
+                    top.poll();
+                    top.add(candidate);
+                }
+            }
+        }
+
+        List<int[]> ranked = new ArrayList<>(top);
+        ranked.sort(ranking);
+        List<Suggestion> result = new ArrayList<>(ranked.size());
+        for (int[] hit : ranked) {
+            result.add(new Suggestion(labels[hit[0]], Type.values()[types[hit[0]]], hit[1], weights[hit[0]]));
+        }
+        return result;
+    }
+
+    // lower distance first, then more frequent, then key order
+    private int compareHits(int[] a, int[] b) {
+        if (a[1] != b[1]) {
+            return Integer.compare(a[1], b[1]);
+        }
+        if (weights[a[0]] != weights[b[0]]) {
+            return Integer.compare(weights[b[0]], weights[a[0]]);
+        }
+        return Integer.compare(a[0], b[0]);
+    }
+
+    private void walk(int node, char[] q, int[] previousRow, int maxEdits, Matches matches) {
+        int m = q.length;
+        for (int child = childStart[node]; child < childEnd[node]; child++) {
+            char c = nodeChar[child];
+            int[] row = new int[m + 1];
+            row[0] = previousRow[0] + 1;
+            int rowMin = row[0];
+            for (int i = 1; i <= m; i++) {
+                int cost = q[i - 1] == c ? 0 : 1;
+                row[i] = Math.min(Math.min(row[i - 1] + 1, previousRow[i] + 1), previousRow[i - 1] + cost);
+                rowMin = Math.min(rowMin, row[i]);
+            }
+            if (rowMin > maxEdits) {
+                continue;
+            }
+            if (row[m] <= maxEdits) {
+                matches.add(child, row[m]);
+                // a deeper node can only help if some cell is still better than what we just recorded
+                if (row[m] == 0 || rowMin >= row[m]) {
+                    continue;
+                }
+            }
+            walk(child, q, row, maxEdits, matches);
+        }
+    }
+
+    /**
+     * Growable (node, distance) pairs recorded during the walk
+     */
+    private static class Matches {
+        int[] nodes = new int[8];
+        int[] distances = new int[8];
+        int size;
+
+        void add(int node, int distance) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            nodes[size] = node;
+            distances[size] = distance;
+            size++;
+        }
+
+        void sortByDistance() {
+            // distances are 0..2, so a stable counting pass is enough
+            int[] sortedNodes = new int[size];
+            int[] sortedDistances = new int[size];
+            int k = 0;
+            for (int d = 0; k < size; d++) {
+                for (int i = 0; i < size; i++) {
+                    if (distances[i] == d) {
+                        sortedNodes[k] = nodes[i];
+                        sortedDistances[k++] = d;
+                    }
+                }
+            }
+            nodes = sortedNodes;
+            distances = sortedDistances;
+        }
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKD).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(folded.length());
+        boolean space = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            int type = Character.getType(c);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(c);
+                space = false;
+            } else if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK) {
+                // accents on Latin letters are folded away; vowel signs in scripts like Bengali are kept
+                if (sb.length() > 0 && !space && sb.charAt(sb.length() - 1) >= '\u0250') {
+                    sb.append(c);
+                }
+            } else {
+                space = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    public record Suggestion(String text, Type type, int distance, int weight) {
+    }
+
+    /**
+     * Collects terms, merging duplicates (same key and type) into one weighted entry
+     */
+    public static class Builder {
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> keys = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+        private final List<Type> types = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+
+        public Builder add(String label, Type type) {
+            String key = normalize(label);
+            if (key.isEmpty()) {
+                return this;
+            }
+            Integer existing = index.putIfAbsent(key + '\u0000' + type.ordinal(), keys.size());
+            if (existing != null) {
+                weights.set(existing, weights.get(existing) + 1);
+            } else {
+                keys.add(key);
+                labels.add(label.trim());
+                types.add(type);
+                weights.add(1);
+            }
+            return this;
+        }
+
+        public AutocompleteTrie build() {
+            int n = keys.size();
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(keys::get));
+
+            String[] sortedKeys = new String[n];
+            String[] sortedLabels = new String[n];
+            byte[] sortedTypes = new byte[n];
+            int[] sortedWeights = new int[n];
+            for (int i = 0; i < n; i++) {
+                sortedKeys[i] = keys.get(order[i]);
+                sortedLabels[i] = labels.get(order[i]);
+                sortedTypes[i] = (byte) types.get(order[i]).ordinal();
+                sortedWeights[i] = weights.get(order[i]);
+            }
+
+            int capacity = Math.max(16, n * 4);
+            char[] nodeChar = new char[capacity];
+            int[] childStart = new int[capacity];
+            int[] childEnd = new int[capacity];
+            int[] termLo = new int[capacity];
+            int[] termHi = new int[capacity];
+            int[] depth = new int[capacity];
+            int count = 1;
+            termHi[0] = n;
+
+            // breadth-first: a node's children get consecutive ids when it is dequeued
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(0);
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                int d = depth[node];
+                int lo = termLo[node];
+                int hi = termHi[node];
+                // keys equal to this node's prefix sort first; skip them
+                while (lo < hi && sortedKeys[lo].length() == d) {
+                    lo++;
+                }
+                childStart[node] = count;
+                while (lo < hi) {
+                    char c = sortedKeys[lo].charAt(d);
+                    int end = lo + 1;
+                    while (end < hi && sortedKeys[end].charAt(d) == c) {
+                        end++;
+                    }
+                    if (count == nodeChar.length) {
+                        int grown = count * 2;
+                        nodeChar = Arrays.copyOf(nodeChar, grown);
+                        childStart = Arrays.copyOf(childStart, grown);
+                        childEnd = Arrays.copyOf(childEnd, grown);
+                        termLo = Arrays.copyOf(termLo, grown);
+                        termHi = Arrays.copyOf(termHi, grown);
+                        depth = Arrays.copyOf(depth, grown);
+                    }
+                    nodeChar[count] = c;
+                    termLo[count] = lo;
+                    termHi[count] = end;
+                    depth[count] = d + 1;
+                    queue.add(count);
+                    count++;
+                    lo = end;
+                }
+                childEnd[node] = count;
+            }
+
+            return new AutocompleteTrie(
+                    Arrays.copyOf(nodeChar, count), Arrays.copyOf(childStart, count), Arrays.copyOf(childEnd, count),
+                    Arrays.copyOf(termLo, count), Arrays.copyOf(termHi, count), count,
+                    sortedLabels, sortedTypes, sortedWeights);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.PrescribeCorrect.app.util;
+
+import com.PrescribeCorrect.app.dto.MessageDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Per-chat fan-out of new messages to this instance's SSE subscribers.
+ * Every subscriber has a bounded queue drained on a small worker pool, so a slow client never blocks the
+ * publisher; a client that falls a full queue behind is disconnected and catches up on reconnect via Last-Event-ID.
+ */
+@Component
+public class ChatStreamRegistry {
+
+    /**
+     * What a reconnecting client missed. When that is more than {@link #replayLimit()} messages nothing is replayed;
+     * the client gets a "gap" event carrying gapAfter and pages the rest from GET /api/chat/{id}/messages?after=.
+     */
+    public record Backlog(List<MessageDTO> messages, Long gapAfter) {
+        public static final Backlog NONE = new Backlog(List.of(), null);
+
+        public static Backlog gap(Long after) {
+            return new Backlog(List.of(), after);
+        }
+    }
+
+    private final Map<Long, Set<Subscriber>> subscribersByChat = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService deliveryExecutor;
+
+    private final long timeoutMillis;
+    private final int queueCapacity;
+
+    public ChatStreamRegistry(@Value("${chat.stream.timeout-ms:1800000}") long timeoutMillis,
+                              @Value("${chat.stream.queue-capacity:256}") int queueCapacity,
+                              @Value("${chat.stream.delivery-threads:4}") int deliveryThreads,
+                              MeterRegistry meterRegistry,
+                              Environment environment) {
+        this.timeoutMillis = timeoutMillis;
+        this.queueCapacity = queueCapacity;
+        ThreadFactory threadFactory = ThreadFactories.create(environment, "chat-stream-");
+        // a virtual thread blocked on a slow socket costs no carrier, so drains get one thread each instead of a capped pool
+        this.deliveryExecutor = ThreadFactories.virtualThreads(environment)
+                ? new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), threadFactory)
+                : Executors.newFixedThreadPool(deliveryThreads, threadFactory);
+        Gauge.builder("chat.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open chat SSE connections on this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for a chat. The backlog (messages the client missed) is loaded after the subscriber is
+     * registered, and anything published meanwhile is held back and de-duplicated, so nothing falls in between.
+     */
+    public SseEmitter subscribe(Long chatId, Supplier<Backlog> backlog) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(chatId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        // compute/computeIfPresent keep add and remove-when-empty atomic per chat
+        subscribersByChat.compute(chatId, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        subscriberCount.incrementAndGet();
+        try {
+            subscriber.start(backlog.get());
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+        return emitter;
+    }
+
+    public void deliver(Long chatId, MessageDTO message) {
+        Set<Subscriber> subscribers = subscribersByChat.get(chatId);
+        if (subscribers != null) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(message);
+            }
+        }
+    }
+
+    // keeps proxies from closing idle connections and surfaces dead clients as failed writes
+    @Scheduled(fixedRateString = "${chat.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> subscribers : subscribersByChat.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.heartbeat();
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // a replay must leave room in the subscriber queue, or the client is dropped as too slow and reconnects forever
+    public int replayLimit() {
+        return Math.max(1, queueCapacity / 2);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Subscriber> subscribers : subscribersByChat.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        deliveryExecutor.shutdownNow();
+    }
+
+    private static SseEventBuilder messageEvent(MessageDTO message) {
+        return SseEmitter.event()
+                .id(String.valueOf(message.getId()))
+                .name("message")
+                .data(message, MediaType.APPLICATION_JSON);
+    }
+
+    // no id: the client's Last-Event-ID stays where the gap starts
+    private static SseEventBuilder gapEvent(Long after) {
+        return SseEmitter.event()
+                .name("gap")
+                .data(Map.of("after", after), MediaType.APPLICATION_JSON);
+    }
+
+    private class Subscriber {
+        private final Long chatId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<SseEventBuilder> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        // until the backlog is queued, live messages wait here
+        private final ReentrantLock startLock = new ReentrantLock();
+        private List<MessageDTO> early = new ArrayList<>();
+
+        Subscriber(Long chatId, SseEmitter emitter) {
+            this.chatId = chatId;
+            this.emitter = emitter;
+        }
+
+        void start(Backlog backlog) {
+            startLock.lock();
+            try {
+                if (backlog.gapAfter() != null && queue.offer(gapEvent(backlog.gapAfter()))) {
+                    scheduleDrain();
+                }
+                Set<Long> replayed = new HashSet<>();
+                for (MessageDTO message : backlog.messages()) {
+                    replayed.add(message.getId());
+                    enqueue(message);
+                }
+                for (MessageDTO message : early) {
+                    if (!replayed.contains(message.getId())) {
+                        enqueue(message);
+                    }
+                }
+                early = null;
+            } finally {
+                startLock.unlock();
+            }
+        }
+
+        void offer(MessageDTO message) {
+            startLock.lock();
+            try {
+                if (early != null) {
+                    early.add(message);
+                    return;
+                }
+                enqueue(message);
+            } finally {
+                startLock.unlock();
+            }
+        }
+
+        void heartbeat() {
+            // a full queue already has writes pending; no need to add a ping behind them
+            if (!closed.get() && queue.offer(SseEmitter.event().comment("heartbeat"))) {
+                scheduleDrain();
+            }
+        }
+
+        private void enqueue(MessageDTO message) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(messageEvent(message))) {
+                // too far behind: drop the connection, the client resumes from its Last-Event-ID
+                System.out.println("⚠️  Chat " + chatId + " stream subscriber fell behind, disconnecting");
+                close();
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    deliveryExecutor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEventBuilder event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (Exception e) {
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed.get() && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscriberCount.decrementAndGet();
+                subscribersByChat.computeIfPresent(chatId, (id, subscribers) -> {
+                    subscribers.remove(this);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+                queue.clear();
+            }
+        }
+    }
+}
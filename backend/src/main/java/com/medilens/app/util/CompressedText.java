@@ -0,0 +1,175 @@
+package com.PrescribeCorrect.app.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable text value kept in its stored, compressed form until it is read.
+ * Stored form is one format byte followed by the payload: raw deflate with the prescription dictionary
+ * as preset dictionary, or plain UTF-8 for short texts where compression doesn't pay off.
+ * Decoding (from the database) and encoding (on flush) each happen at most once per instance.
+ * <p>
+ * The dictionary resource is part of the stored format: rows written with v1 can only be read with the
+ * exact same bytes, so a retrained dictionary must be added as a new format, never edited in place.
+ */
+public final class CompressedText {
+
+    static final byte PLAIN = 0;
+    static final byte DEFLATE_V1 = 1;
+
+    private static final String DICTIONARY_V1_RESOURCE = "/compression/prescription-dictionary-v1.txt";
+    private static final long DICTIONARY_V1_CRC32 = 0x8135435cL;
+    private static final byte[] DICTIONARY_V1 = loadDictionary(DICTIONARY_V1_RESOURCE, DICTIONARY_V1_CRC32);
+
+    // below this the deflate block header and dictionary references cost more than they save
+    private static final int MIN_COMPRESS_BYTES = 64;
+
+    private volatile String text;
+    private volatile byte[] stored;
+
+    private CompressedText(String text, byte[] stored) {
+        this.text = text;
+        this.stored = stored;
+    }
+
+    public static CompressedText of(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("text must not be null");
+        }
+        return new CompressedText(text, null);
+    }
+
+    public static CompressedText fromStored(byte[] stored) {
+        if (stored == null || stored.length == 0) {
+            throw new IllegalArgumentException("stored text must not be empty");
+        }
+        return new CompressedText(null, stored);
+    }
+
+    public String text() {
+        String value = text;
+        if (value == null) {
+            value = decode(stored);
+            text = value;
+        }
+        return value;
+    }
+
+    public byte[] stored() {
+        byte[] value = stored;
+        if (value == null) {
+            value = encode(text);
+            stored = value;
+        }
+        return value;
+    }
+
+    static byte[] encode(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_COMPRESS_BYTES) {
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+            try {
+                deflater.setDictionary(DICTIONARY_V1);
+                deflater.setInput(utf8);
+                deflater.finish();
+                // only worth keeping when it actually shrinks, so the result is never larger than PLAIN
+                byte[] out = new byte[utf8.length];
+                out[0] = DEFLATE_V1;
+                int length = 1;
+                while (!deflater.finished() && length < out.length) {
+                    length += deflater.deflate(out, length, out.length - length);
+                }
+                if (deflater.finished()) {
+                    return Arrays.copyOf(out, length);
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        byte[] out = new byte[utf8.length + 1];
+        out[0] = PLAIN;
+        System.arraycopy(utf8, 0, out, 1, utf8.length);
+        return out;
+    }
+
+    static String decode(byte[] stored) {
+        switch (stored[0]) {
+            case PLAIN:
+                return new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+            case DEFLATE_V1:
+                Inflater inflater = new Inflater(true);
+                try {
+                    inflater.setDictionary(DICTIONARY_V1);
+                    inflater.setInput(stored, 1, stored.length - 1);
+                    ByteArrayOutputStream out = new ByteArrayOutputStream(stored.length * 4);
+                    byte[] buffer = new byte[8192];
+                    while (!inflater.finished()) {
+                        int n = inflater.inflate(buffer);
+                        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            throw new IllegalStateException("Truncated compressed text");
+                        }
+                        out.write(buffer, 0, n);
+                    }
+                    return out.toString(StandardCharsets.UTF_8);
+                } catch (DataFormatException e) {
+                    throw new IllegalStateException("Corrupt compressed text", e);
+                } finally {
+                    inflater.end();
+                }
+            default:
+                throw new IllegalStateException("Unknown compressed text format " + stored[0]);
+        }
+    }
+
+    private static byte[] loadDictionary(String resource, long expectedCrc) {
+        try (InputStream in = CompressedText.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing compression dictionary " + resource);
+            }
+            byte[] dictionary = in.readAllBytes();
+            CRC32 crc = new CRC32();
+            crc.update(dictionary);
+            // a dictionary changed by an editor or line-ending conversion would silently corrupt every stored row
+            if (crc.getValue() != expectedCrc) {
+                throw new IllegalStateException("Compression dictionary " + resource + " was modified");
+            }
+            return dictionary;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompressedText other)) {
+            return false;
+        }
+        byte[] mine = stored;
+        byte[] theirs = other.stored;
+        if (mine != null && theirs != null && Arrays.equals(mine, theirs)) {
+            return true;
+        }
+        return text().equals(other.text());
+    }
+
+    @Override
+    public int hashCode() {
+        return text().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text();
+    }
+}
@@ -0,0 +1,24 @@
+package com.PrescribeCorrect.app.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Maps {@link CompressedText} to a bytea column. Marked immutable so Hibernate dirty-checks by reference
+ * and never decompresses a loaded value that nobody read.
+ */
+@Converter
+@Immutable
+public class CompressedTextConverter implements AttributeConverter<CompressedText, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(CompressedText attribute) {
+        return attribute != null ? attribute.stored() : null;
+    }
+
+    @Override
+    public CompressedText convertToEntityAttribute(byte[] dbData) {
+        return dbData != null && dbData.length > 0 ? CompressedText.fromStored(dbData) : null;
+    }
+}
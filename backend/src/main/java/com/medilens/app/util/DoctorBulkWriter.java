@@ -0,0 +1,183 @@
+package com.PrescribeCorrect.app.util;
+
+import com.PrescribeCorrect.app.model.Doctor;
+import com.PrescribeCorrect.app.model.Role;
+import com.PrescribeCorrect.app.model.Status;
+import com.PrescribeCorrect.app.util.DoctorJsonReader.DoctorRecord;
+import com.PrescribeCorrect.app.util.DoctorJsonReader.UserRecord;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes imported users and doctors with JDBC batch inserts, one transaction per batch.
+ * Existence is checked with a single IN query per batch instead of a lookup per row,
+ * and doctor ids are reserved from doctor_seq in blocks of {@link Doctor#ID_ALLOCATION_SIZE}.
+ */
+public class DoctorBulkWriter {
+
+    // kept for parity with the old importer: users without a password get the hash of "doctor123"
+    private static final String DEFAULT_PASSWORD = "$2a$10$slYQmyNdGzin7olVaML8MuVs.5W6OFcNnHhUP9ZNqVnqW3GFxc3dm";
+
+    private static final String INSERT_USER = "INSERT INTO users (email, password, first_name, last_name, phone_number, "
+            + "gender, role, date_of_birth, address) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_DOCTOR = "INSERT INTO doctor (id, specialization, degree, phone_number, "
+            + "chamber_address, designation, institute, current_city, available_time, website_url, status, user_email) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public record BatchResult(int imported, int skipped, int failed) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DoctorBulkWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public BatchResult writeUsers(List<UserRecord> batch) {
+        Map<String, UserRecord> byEmail = new LinkedHashMap<>();
+        int failed = 0;
+        for (UserRecord user : batch) {
+            if (user.email() == null || user.email().isBlank()) {
+                failed++;
+            } else {
+                byEmail.putIfAbsent(user.email(), user);
+            }
+        }
+        int duplicates = batch.size() - failed - byEmail.size();
+        if (byEmail.isEmpty()) {
+            return new BatchResult(0, duplicates, failed);
+        }
+
+        int invalid = failed;
+        return transactionTemplate.execute(status -> {
+            Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(
+                    "SELECT email FROM users WHERE email IN (:emails)",
+                    Map.of("emails", byEmail.keySet()), String.class));
+            List<UserRecord> fresh = new ArrayList<>(byEmail.size());
+            for (UserRecord user : byEmail.values()) {
+                if (!existing.contains(user.email())) {
+                    fresh.add(user);
+                }
+            }
+            if (fresh.isEmpty()) {
+                return new BatchResult(0, byEmail.size() + duplicates, invalid);
+            }
+            jdbcTemplate.batchUpdate(INSERT_USER, fresh, fresh.size(), (ps, user) -> {
+                ps.setString(1, user.email());
+                ps.setString(2, user.password() != null ? user.password() : DEFAULT_PASSWORD);
+                ps.setString(3, user.firstName());
+                ps.setString(4, user.lastName());
+                ps.setString(5, user.phoneNumber());
+                ps.setString(6, user.gender());
+                ps.setString(7, Role.ROLE_DOCTOR.name());
+                ps.setString(8, user.dateOfBirth());
+                ps.setString(9, user.address());
+            });
+            return new BatchResult(fresh.size(), byEmail.size() - fresh.size() + duplicates, invalid);
+        });
+    }
+
+    public BatchResult writeDoctors(List<DoctorRecord> batch) {
+        Map<String, DoctorRecord> byEmail = new LinkedHashMap<>();
+        int failed = 0;
+        for (DoctorRecord doctor : batch) {
+            if (doctor.email() == null || doctor.email().isBlank()) {
+                failed++;
+            } else {
+                byEmail.putIfAbsent(doctor.email(), doctor);
+            }
+        }
+        int duplicates = batch.size() - failed - byEmail.size();
+        if (byEmail.isEmpty()) {
+            return new BatchResult(0, duplicates, failed);
+        }
+
+        int invalid = failed;
+        return transactionTemplate.execute(status -> {
+            // one row per known user: doctor id is null when the user has no doctor profile yet
+            Map<String, Boolean> hasProfile = new HashMap<>();
+            namedJdbcTemplate.query(
+                    "SELECT u.email, d.id FROM users u LEFT JOIN doctor d ON d.user_email = u.email WHERE u.email IN (:emails)",
+                    Map.of("emails", byEmail.keySet()),
+                    rs -> {
+                        hasProfile.put(rs.getString(1), rs.getObject(2) != null);
+                    });
+            List<DoctorRecord> fresh = new ArrayList<>(byEmail.size());
+            for (DoctorRecord doctor : byEmail.values()) {
+                // doctors whose user is missing are skipped, like the row-by-row importer did
+                if (Boolean.FALSE.equals(hasProfile.get(doctor.email()))) {
+                    fresh.add(doctor);
+                }
+            }
+            if (fresh.isEmpty()) {
+                return new BatchResult(0, byEmail.size() + duplicates, invalid);
+            }
+            long[] ids = reserveDoctorIds(fresh.size());
+            int[] next = {0};
+            jdbcTemplate.batchUpdate(INSERT_DOCTOR, fresh, fresh.size(), (ps, doctor) -> {
+                ps.setLong(1, ids[next[0]++]);
+                setArray(ps, 2, doctor.specialization());
+                setArray(ps, 3, doctor.degree());
+                setArray(ps, 4, doctor.phoneNumber());
+                ps.setString(5, doctor.chamberAddress());
+                ps.setString(6, doctor.designation());
+                ps.setString(7, doctor.institute());
+                ps.setString(8, doctor.currentCity());
+                ps.setString(9, doctor.availableTime());
+                ps.setString(10, doctor.websiteUrl());
+                ps.setString(11, parseStatus(doctor.status()).name());
+                ps.setString(12, doctor.email());
+            });
+            return new BatchResult(fresh.size(), byEmail.size() - fresh.size() + duplicates, invalid);
+        });
+    }
+
+    /**
+     * Same pooled scheme Hibernate uses for Doctor: each nextval covers
+     * [value - ID_ALLOCATION_SIZE + 1, value], so n ids cost n / 50 sequence calls.
+     */
+    private long[] reserveDoctorIds(int count) {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            Long high = jdbcTemplate.queryForObject("SELECT nextval('" + Doctor.ID_SEQUENCE + "')", Long.class);
+            for (long id = Math.max(1, high - Doctor.ID_ALLOCATION_SIZE + 1); id <= high && filled < count; id++) {
+                ids[filled++] = id;
+            }
+        }
+        return ids;
+    }
+
+    private static void setArray(PreparedStatement ps, int index, List<String> values) throws SQLException {
+        if (values == null) {
+            ps.setNull(index, Types.ARRAY);
+        } else {
+            ps.setArray(index, ps.getConnection().createArrayOf("varchar", values.toArray()));
+        }
+    }
+
+    private static Status parseStatus(String status) {
+        try {
+            return Status.valueOf(status);
+        } catch (Exception e) {
+            return Status.PENDING;
+        }
+    }
+}
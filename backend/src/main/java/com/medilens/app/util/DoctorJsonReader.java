@@ -0,0 +1,113 @@
+package com.PrescribeCorrect.app.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams doctors_data.json ({"users": [...], "doctors": [...]}) without building the whole tree.
+ * Elements are bound one at a time to typed records and handed out in batches,
+ * so memory stays flat no matter how many doctors the file holds.
+ */
+public class DoctorJsonReader implements Closeable {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record UserRecord(String email, String password, String firstName, String lastName,
+                             String phoneNumber, String gender, String dateOfBirth, String address) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record DoctorRecord(String email, List<String> specialization, List<String> degree,
+                               List<String> phoneNumber, String chamberAddress, String designation,
+                               String institute, String currentCity, String availableTime,
+                               String websiteUrl, String status) {
+    }
+
+    private final ObjectMapper mapper;
+    private final JsonParser parser;
+    private final int batchSize;
+
+    public DoctorJsonReader(ObjectMapper mapper, InputStream in, int batchSize) throws IOException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.mapper = mapper;
+        this.parser = mapper.getFactory().createParser(in);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads the whole document. The "users" and "doctors" arrays are delivered in file order,
+     * so a file listing users first has every user written before the doctors that reference them.
+     */
+    public void read(Consumer<List<UserRecord>> users, Consumer<List<DoctorRecord>> doctors) throws IOException {
+        read(users, doctors, 0, 0);
+    }
+
+    /**
+     * Same as {@link #read(Consumer, Consumer)}, but the first skipUsers / skipDoctors elements are
+     * only scanned, not bound or delivered. Used to resume an import after its last committed batch.
+     */
+    public void read(Consumer<List<UserRecord>> users, Consumer<List<DoctorRecord>> doctors,
+                     long skipUsers, long skipDoctors) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Invalid JSON structure: expected an object at the top level");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("users".equals(field)) {
+                readArray(UserRecord.class, users, skipUsers);
+            } else if ("doctors".equals(field)) {
+                readArray(DoctorRecord.class, doctors, skipDoctors);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Bytes consumed so far; with the file size this gives import progress.
+     */
+    public long position() {
+        return parser.currentLocation().getByteOffset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private <T> void readArray(Class<T> type, Consumer<List<T>> sink, long skip) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Invalid JSON structure: expected an array at " + parser.currentName());
+        }
+        List<T> batch = new ArrayList<>(batchSize);
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            if (token == null) {
+                throw new IOException("Unexpected end of input inside " + type.getSimpleName() + " array");
+            }
+            if (skip > 0) {
+                parser.skipChildren();
+                skip--;
+                continue;
+            }
+            batch.add(mapper.readValue(parser, type));
+            if (batch.size() == batchSize) {
+                sink.accept(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.PrescribeCorrect.app.util;
+
+import com.PrescribeCorrect.app.dto.DoctorDTO;
+import com.PrescribeCorrect.app.dto.DoctorSearchResultDTO;
+import com.PrescribeCorrect.app.model.Status;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over the doctor directory.
+ * Every doctor gets a slot number; each term, specialization, city and status maps to a BitSet of slots,
+ * so a query is a handful of word-wise ANDs and facet counts are a single pass over the matching slots.
+ * Thread-safe: searches share a read lock, updates take the write lock.
+ */
+public class DoctorSearchIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<DoctorDTO> docs = new ArrayList<>();
+    private final Map<Long, Integer> slotByDoctorId = new HashMap<>();
+    private final List<Integer> freeSlots = new ArrayList<>();
+    private final BitSet live = new BitSet();
+
+    private final TreeMap<String, BitSet> terms = new TreeMap<>();
+    private final Facet specializations = new Facet();
+    private final Facet cities = new Facet();
+    private final Map<Status, BitSet> statuses = new HashMap<>();
+
+    public void put(DoctorDTO doctor) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotByDoctorId.get(doctor.getId());
+            if (existing != null) {
+                clearSlot(existing);
+            }
+            int slot = existing != null ? existing
+                    : !freeSlots.isEmpty() ? freeSlots.remove(freeSlots.size() - 1)
+                    : docs.size();
+            if (slot == docs.size()) {
+                docs.add(doctor);
+            } else {
+                docs.set(slot, doctor);
+            }
+            slotByDoctorId.put(doctor.getId(), slot);
+            live.set(slot);
+
+            for (String token : tokensOf(doctor)) {
+                terms.computeIfAbsent(token, t -> new BitSet()).set(slot);
+            }
+            if (doctor.getSpecialization() != null) {
+                for (String specialization : doctor.getSpecialization()) {
+                    specializations.add(specialization, slot);
+                }
+            }
+            cities.add(doctor.getCurrentCity(), slot);
+            if (doctor.getStatus() != null) {
+                statuses.computeIfAbsent(doctor.getStatus(), s -> new BitSet()).set(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long doctorId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByDoctorId.remove(doctorId);
+            if (slot != null) {
+                clearSlot(slot);
+                docs.set(slot, null);
+                live.clear(slot);
+                freeSlots.add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByDoctorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void forEach(Consumer<DoctorDTO> consumer) {
+        lock.readLock().lock();
+        try {
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                consumer.accept(docs.get(slot));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public DoctorSearchResultDTO search(String query, String specialization, String city, Status status, int page, int size) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) live.clone();
+
+            List<String> words = tokenize(query);
+            for (int i = 0; i < words.size() && !matches.isEmpty(); i++) {
+                boolean last = i == words.size() - 1;
+                matches.and(last ? prefixPostings(words.get(i)) : terms.getOrDefault(words.get(i), new BitSet()));
+            }
+
+            // facet counts respect the text query and the *other* facet's filter, like a typical faceted UI
+            BitSet specializationFilter = specializations.filter(specialization);
+            BitSet cityFilter = cities.filter(city);
+            if (status != null) {
+                matches.and(statuses.getOrDefault(status, new BitSet()));
+            }
+
+            BitSet forSpecializationFacet = (BitSet) matches.clone();
+            if (cityFilter != null) {
+                forSpecializationFacet.and(cityFilter);
+            }
+            BitSet forCityFacet = (BitSet) matches.clone();
+            if (specializationFilter != null) {
+                forCityFacet.and(specializationFilter);
+            }
+
+            if (specializationFilter != null) {
+                matches.and(specializationFilter);
+            }
+            if (cityFilter != null) {
+                matches.and(cityFilter);
+            }
+
+            int total = matches.cardinality();
+            List<DoctorDTO> hits = new ArrayList<>(Math.min(size, total));
+            long skip = (long) page * size;
+            for (int slot = matches.nextSetBit(0); slot >= 0 && hits.size() < size; slot = matches.nextSetBit(slot + 1)) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    hits.add(docs.get(slot));
+                }
+            }
+
+            DoctorSearchResultDTO result = new DoctorSearchResultDTO();
+            result.setHits(hits);
+            result.setTotal(total);
+            result.setPage(page);
+            result.setSize(size);
+            result.setSpecializationFacets(specializations.count(forSpecializationFacet));
+            result.setCityFacets(cities.count(forCityFacet));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private BitSet prefixPostings(String prefix) {
+        BitSet exact = terms.get(prefix);
+        if (prefix.length() < 2) {
+            return exact != null ? exact : new BitSet();
+        }
+        // every completion counts, so total stays exact; an OR per term is cheap next to the facet pass
+        NavigableMap<String, BitSet> range = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        BitSet union = new BitSet();
+        for (BitSet postings : range.values()) {
+            union.or(postings);
+        }
+        return union;
+    }
+
+    private void clearSlot(int slot) {
+        DoctorDTO previous = docs.get(slot);
+        if (previous == null) {
+            return;
+        }
+        for (String token : tokensOf(previous)) {
+            BitSet postings = terms.get(token);
+            if (postings != null) {
+                postings.clear(slot);
+                if (postings.isEmpty()) {
+                    terms.remove(token);
+                }
+            }
+        }
+        specializations.removeSlot(slot);
+        cities.removeSlot(slot);
+        statuses.values().forEach(bits -> bits.clear(slot));
+    }
+
+    private static List<String> tokensOf(DoctorDTO doctor) {
+        List<String> tokens = new ArrayList<>();
+        tokens.addAll(tokenize(doctor.getFirstName()));
+        tokens.addAll(tokenize(doctor.getLastName()));
+        tokens.addAll(tokenize(doctor.getInstitute()));
+        tokens.addAll(tokenize(doctor.getDesignation()));
+        tokens.addAll(tokenize(doctor.getCurrentCity()));
+        if (doctor.getSpecialization() != null) {
+            doctor.getSpecialization().forEach(s -> tokens.addAll(tokenize(s)));
+        }
+        return tokens;
+    }
+
+    /**
+     * Exact-value facet (case-insensitive), keeping the first spelling seen for display.
+     * Holds both value -> slots (for filtering) and slot -> value ids (for counting in one pass).
+     */
+    private static class Facet {
+        private static final int[] NONE = new int[0];
+
+        private final Map<String, Integer> idByKey = new HashMap<>();
+        private final List<String> labels = new ArrayList<>();
+        private final List<BitSet> postings = new ArrayList<>();
+        private final List<int[]> valueIdsBySlot = new ArrayList<>();
+
+        void add(String value, int slot) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            int id = idByKey.computeIfAbsent(value.trim().toLowerCase(Locale.ROOT), key -> {
+                labels.add(value.trim());
+                postings.add(new BitSet());
+                return labels.size() - 1;
+            });
+            if (postings.get(id).get(slot)) {
+                return;
+            }
+            postings.get(id).set(slot);
+            while (valueIdsBySlot.size() <= slot) {
+                valueIdsBySlot.add(NONE);
+            }
+            int[] ids = valueIdsBySlot.get(slot);
+            int[] grown = Arrays.copyOf(ids, ids.length + 1);
+            grown[ids.length] = id;
+            valueIdsBySlot.set(slot, grown);
+        }
+
+        void removeSlot(int slot) {
+            if (slot >= valueIdsBySlot.size()) {
+                return;
+            }
+            for (int id : valueIdsBySlot.get(slot)) {
+                postings.get(id).clear(slot);
+            }
+            valueIdsBySlot.set(slot, NONE);
+        }
+
+        BitSet filter(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            Integer id = idByKey.get(value.trim().toLowerCase(Locale.ROOT));
+            return id == null ? new BitSet() : postings.get(id);
+        }
+
+        Map<String, Integer> count(BitSet matches) {
+            int[] counts = new int[labels.size()];
+            int limit = valueIdsBySlot.size();
+            for (int slot = matches.nextSetBit(0); slot >= 0 && slot < limit; slot = matches.nextSetBit(slot + 1)) {
+                for (int id : valueIdsBySlot.get(slot)) {
+                    counts[id]++;
+                }
+            }
+            List<Integer> ids = new ArrayList<>();
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] > 0) {
+                    ids.add(id);
+                }
+            }
+            ids.sort((a, b) -> counts[b] - counts[a]);
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (int id : ids) {
+                result.put(labels.get(id), counts[id]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.PrescribeCorrect.app.util;
+
+import com.PrescribeCorrect.app.model.Doctor;
+import com.PrescribeCorrect.app.model.Message;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the pooled id sequences past ids assigned while the tables still used IDENTITY
+ * (or inserted by the SQL migrations). ddl-auto creates a missing sequence at 1, and the
+ * V4/V6 migrations are applied by hand, so this runs before anything else inserts.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IdSequenceAligner implements CommandLineRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        align(Doctor.ID_SEQUENCE, "doctor");
+        align(Message.ID_SEQUENCE, "messages");
+    }
+
+    // pooled blocks are [value - allocationSize + 1, value], so last_value >= MAX(id) is enough
+    private void align(String sequence, String table) {
+        try {
+            jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', GREATEST("
+                    + "COALESCE((SELECT MAX(id) FROM " + table + "), 1), "
+                    + "(SELECT last_value FROM " + sequence + ")))", Long.class);
+        } catch (Exception e) {
+            System.err.println("⚠️  Could not align " + sequence + " with " + table + ".id: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.PrescribeCorrect.app.util;
+
+import com.PrescribeCorrect.app.model.InteractionSeverity;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Drug-drug interactions between generics, compiled into a dense n x n matrix over integer drug ids.
+ * A patient's drugs are resolved to ids once; every pair is then a single array read, so checking
+ * 20 drugs (190 pairs) or a whole user base costs no hashing or string comparison per pair.
+ */
+public final class InteractionTable {
+
+    public record Interaction(String drugA, String drugB, InteractionSeverity severity, String description) {
+    }
+
+    private static final int[] NO_DRUGS = new int[0];
+
+    public static final InteractionTable EMPTY = new Builder().build();
+
+    // sorted generics; a drug's id is its index
+    private final String[] drugs;
+    // drugs.length * drugs.length, symmetric: 0 for no interaction, otherwise index + 1 into interactions
+    private final short[] cells;
+    private final Interaction[] interactions;
+
+    private InteractionTable(String[] drugs, short[] cells, Interaction[] interactions) {
+        this.drugs = drugs;
+        this.cells = cells;
+        this.interactions = interactions;
+    }
+
+    /**
+     * Reads medicines/interactions.tsv: "@group TAB members" lines and "drug TAB drug TAB severity TAB description"
+     * lines, where either drug may be a @group.
+     */
+    public static InteractionTable load(InputStream in) throws IOException {
+        Builder builder = new Builder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                if (line.startsWith("@") && columns.length == 2) {
+                    builder.addGroup(columns[0], Arrays.asList(columns[1].split(",")));
+                } else if (columns.length == 4) {
+                    InteractionSeverity severity;
+                    try {
+                        severity = InteractionSeverity.valueOf(columns[2].strip());
+                    } catch (IllegalArgumentException e) {
+                        throw new IOException("Invalid interaction severity: " + line);
+                    }
+                    builder.addInteraction(columns[0], columns[1], severity, columns[3].strip());
+                } else {
+                    throw new IOException("Invalid interaction line, expected drug<TAB>drug<TAB>severity<TAB>description: " + line);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    public int drugCount() {
+        return drugs.length;
+    }
+
+    public int interactionCount() {
+        return interactions.length;
+    }
+
+    /**
+     * Id of a generic, or -1 when it takes part in no known interaction.
+     */
+    public int id(String generic) {
+        return Arrays.binarySearch(drugs, normalize(generic));
+    }
+
+    public String drug(int id) {
+        return drugs[id];
+    }
+
+    public Interaction get(int a, int b) {
+        int cell = cells[a * drugs.length + b];
+        return cell == 0 ? null : interactions[cell - 1];
+    }
+
+    /**
+     * Every interacting pair among distinct drug ids.
+     */
+    public List<Interaction> check(int[] ids) {
+        return checkAdded(NO_DRUGS, ids);
+    }
+
+    /**
+     * Only the pairs that involve an added drug: added x existing and added x added. The two arrays must not
+     * share ids; pairs within existing are taken as already checked.
+     */
+    public List<Interaction> checkAdded(int[] existing, int[] added) {
+        List<Interaction> found = new ArrayList<>();
+        int n = drugs.length;
+        for (int i = 0; i < added.length; i++) {
+            int row = added[i] * n;
+            for (int other : existing) {
+                int cell = cells[row + other];
+                if (cell != 0) {
+                    found.add(interactions[cell - 1]);
+                }
+            }
+            for (int j = i + 1; j < added.length; j++) {
+                int cell = cells[row + added[j]];
+                if (cell != 0) {
+                    found.add(interactions[cell - 1]);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static String normalize(String text) {
+        return text.strip().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Collects groups and interactions; {@link #build()} expands the groups and fills the matrix.
+     */
+    public static class Builder {
+        private record Line(String drugA, String drugB, InteractionSeverity severity, String description) {
+        }
+
+        private final Map<String, List<String>> groups = new HashMap<>();
+        private final List<Line> lines = new ArrayList<>();
+
+        public Builder addGroup(String name, List<String> members) {
+            List<String> generics = new ArrayList<>();
+            for (String member : members) {
+                if (!member.isBlank()) {
+                    generics.add(normalize(member));
+                }
+            }
+            groups.put(normalize(name), generics);
+            return this;
+        }
+
+        public Builder addInteraction(String drugA, String drugB, InteractionSeverity severity, String description) {
+            lines.add(new Line(normalize(drugA), normalize(drugB), severity, description));
+            return this;
+        }
+
+        public InteractionTable build() {
+            // every pair once, in file order; a later line only replaces an earlier one when it is more severe
+            Map<List<String>, Line> pairs = new LinkedHashMap<>();
+            for (Line line : lines) {
+                for (String a : expand(line.drugA())) {
+                    for (String b : expand(line.drugB())) {
+                        if (a.equals(b)) {
+                            continue;
+                        }
+                        List<String> key = a.compareTo(b) < 0 ? List.of(a, b) : List.of(b, a);
+                        Line previous = pairs.get(key);
+                        if (previous == null || line.severity().compareTo(previous.severity()) > 0) {
+                            pairs.put(key, line);
+                        }
+                    }
+                }
+            }
+            if (pairs.size() >= Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many drug interactions: " + pairs.size());
+            }
+
+            TreeSet<String> all = new TreeSet<>();
+            pairs.keySet().forEach(all::addAll);
+            String[] drugs = all.toArray(new String[0]);
+            int n = drugs.length;
+            short[] cells = new short[n * n];
+            Interaction[] interactions = new Interaction[pairs.size()];
+            int next = 0;
+            for (Map.Entry<List<String>, Line> pair : pairs.entrySet()) {
+                int a = Arrays.binarySearch(drugs, pair.getKey().get(0));
+                int b = Arrays.binarySearch(drugs, pair.getKey().get(1));
+                Line line = pair.getValue();
+                interactions[next] = new Interaction(drugs[a], drugs[b], line.severity(), line.description());
+                next++;
+                cells[a * n + b] = (short) next;
+                cells[b * n + a] = (short) next;
+            }
+            return new InteractionTable(drugs, cells, interactions);
+        }
+
+        private List<String> expand(String drug) {
+            if (!drug.startsWith("@")) {
+                return List.of(drug);
+            }
+            List<String> members = groups.get(drug);
+            if (members == null) {
+                throw new IllegalArgumentException("Unknown drug group " + drug);
+            }
+            return members;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.PrescribeCorrect.app.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable medical term dictionary compiled from training_data.json ([{text_input, text_output}, ...]).
+ * Terms are kept lower-cased in one sorted array, so lookups and prefix ranges are binary searches;
+ * definitions and categories live in de-duplicated pools referenced by index, and a word index maps
+ * each definition word to the sorted ids of the terms it describes.
+ */
+public final class MedicalTermDictionary {
+
+    public record Entry(String term, String category, String definition) {
+    }
+
+    // the three question shapes in the training data; plain prefix checks keep loading free of regex backtracking
+    private static final String CATEGORY_QUESTION = "What category is the medical term '";
+    private static final String CATEGORY_QUESTION_END = "' in?";
+    private static final String DEFINE_QUESTION = "Define the medical term: ";
+    private static final String DESCRIPTION_QUESTION = "What medical term matches this description: ";
+    private static final String CATEGORY_SUFFIX = "(Category: ";
+    // same test the frontend applied before trusting a text match as a medicine
+    private static final Pattern MEDICINAL = Pattern.compile("drug|medicine|tablet|treatment", Pattern.CASE_INSENSITIVE);
+    private static final int[] NO_TERMS = new int[0];
+
+    public static final MedicalTermDictionary EMPTY = new Builder().build();
+
+    private final String[] terms;
+    private final int[] definitionIds;
+    private final byte[] categoryIds;
+    private final String[] definitions;
+    private final String[] categories;
+    private final BitSet medicinal;
+    private final Map<String, int[]> termsByWord;
+
+    private MedicalTermDictionary(String[] terms, int[] definitionIds, byte[] categoryIds, String[] definitions,
+                                  String[] categories, BitSet medicinal, Map<String, int[]> termsByWord) {
+        this.terms = terms;
+        this.definitionIds = definitionIds;
+        this.categoryIds = categoryIds;
+        this.definitions = definitions;
+        this.categories = categories;
+        this.medicinal = medicinal;
+        this.termsByWord = termsByWord;
+    }
+
+    /**
+     * Streams the training data; entries are bound one at a time, so only the compiled tables stay in memory.
+     */
+    public static MedicalTermDictionary load(ObjectMapper mapper, InputStream in) throws IOException {
+        Builder builder = new Builder();
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Invalid training data: expected an array at the top level");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String input = null;
+                String output = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if ("text_input".equals(field)) {
+                        input = parser.getValueAsString();
+                    } else if ("text_output".equals(field)) {
+                        output = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                builder.addExample(input, output);
+            }
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * Every term and distinct definition, for building word vocabularies from the training data.
+     */
+    public void forEachText(Consumer<String> sink) {
+        for (String term : terms) {
+            sink.accept(term);
+        }
+        for (String definition : definitions) {
+            sink.accept(definition);
+        }
+    }
+
+    public Entry lookup(String term) {
+        int id = indexOf(term);
+        return id >= 0 ? entry(id) : null;
+    }
+
+    /**
+     * Terms starting with the prefix, alphabetically.
+     */
+    public List<Entry> withPrefix(String prefix, int limit) {
+        String key = normalize(prefix);
+        List<Entry> result = new ArrayList<>();
+        if (key.isEmpty()) {
+            return result;
+        }
+        int from = Arrays.binarySearch(terms, key);
+        for (int id = from >= 0 ? from : -from - 1; id < terms.length && result.size() < limit && terms[id].startsWith(key); id++) {
+            result.add(entry(id));
+        }
+        return result;
+    }
+
+    /**
+     * Terms whose definition contains every word of the description.
+     */
+    public List<Entry> describedBy(String description, int limit) {
+        int[] ids = null;
+        for (String word : words(description)) {
+            int[] postings = termsByWord.getOrDefault(word, NO_TERMS);
+            ids = ids == null ? postings : intersect(ids, postings);
+            if (ids.length == 0) {
+                break;
+            }
+        }
+        List<Entry> result = new ArrayList<>();
+        if (ids != null) {
+            for (int i = 0; i < ids.length && result.size() < limit; i++) {
+                result.add(entry(ids[i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Server-side identifyMedicineFromTrainingData: the whole name, the name without spaces and each word
+     * are tried in turn, first as a defined term, then as a word of a medicine-related definition.
+     */
+    public Entry identifyMedicine(String name) {
+        String lower = normalize(name);
+        if (lower.isEmpty()) {
+            return null;
+        }
+        Set<String> candidates = new LinkedHashSet<>();
+        candidates.add(lower);
+        candidates.add(lower.replaceAll("\\s+", ""));
+        candidates.addAll(Arrays.asList(lower.split("\\s+")));
+        for (String candidate : candidates) {
+            int id = indexOf(candidate);
+            if (id >= 0 && definitionIds[id] >= 0) {
+                return entry(id);
+            }
+            for (int termId : termsByWord.getOrDefault(candidate, NO_TERMS)) {
+                if (medicinal.get(termId)) {
+                    return entry(termId);
+                }
+            }
+        }
+        return null;
+    }
+
+    private int indexOf(String term) {
+        String key = normalize(term);
+        return key.isEmpty() ? -1 : Arrays.binarySearch(terms, key);
+    }
+
+    private Entry entry(int id) {
+        return new Entry(terms[id], categoryIds[id] >= 0 ? categories[categoryIds[id]] : null,
+                definitionIds[id] >= 0 ? definitions[definitionIds[id]] : null);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int n = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        String lower = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letter = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                if (i - start > 1) {
+                    words.add(lower.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static boolean startsWithIgnoreCase(String text, String prefix) {
+        return text.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    /**
+     * Collects training examples; {@link #build()} sorts the terms and packs the tables.
+     */
+    public static class Builder {
+        private final Map<String, String> definitionByTerm = new HashMap<>();
+        private final Map<String, String> descriptionByTerm = new HashMap<>();
+        private final Map<String, String> categoryByTerm = new HashMap<>();
+
+        public Builder addExample(String input, String output) {
+            if (input == null || output == null || output.isBlank()) {
+                return this;
+            }
+            input = input.strip();
+            output = output.strip();
+            if (startsWithIgnoreCase(input, CATEGORY_QUESTION) && input.endsWith(CATEGORY_QUESTION_END)) {
+                categoryByTerm.put(normalize(input.substring(CATEGORY_QUESTION.length(),
+                        input.length() - CATEGORY_QUESTION_END.length())), output);
+            } else if (startsWithIgnoreCase(input, DEFINE_QUESTION)) {
+                String term = normalize(input.substring(DEFINE_QUESTION.length()));
+                // "An antibiotic (Category: Medical Term)"
+                int category = output.lastIndexOf(CATEGORY_SUFFIX);
+                if (category >= 0 && output.endsWith(")")) {
+                    categoryByTerm.putIfAbsent(term, output.substring(category + CATEGORY_SUFFIX.length(), output.length() - 1).strip());
+                    output = output.substring(0, category).strip();
+                }
+                definitionByTerm.put(term, output);
+            } else if (startsWithIgnoreCase(input, DESCRIPTION_QUESTION)) {
+                descriptionByTerm.put(normalize(output), input.substring(DESCRIPTION_QUESTION.length()).strip());
+            }
+            return this;
+        }
+
+        public MedicalTermDictionary build() {
+            Set<String> all = new TreeSet<>();
+            all.addAll(definitionByTerm.keySet());
+            all.addAll(descriptionByTerm.keySet());
+            all.addAll(categoryByTerm.keySet());
+            all.remove("");
+            String[] terms = all.toArray(new String[0]);
+
+            int[] definitionIds = new int[terms.length];
+            byte[] categoryIds = new byte[terms.length];
+            Map<String, Integer> definitionPool = new HashMap<>();
+            Map<String, Integer> categoryPool = new HashMap<>();
+            BitSet medicinal = new BitSet(terms.length);
+            Map<String, int[]> postings = new HashMap<>();
+            for (int id = 0; id < terms.length; id++) {
+                String definition = definitionByTerm.getOrDefault(terms[id], descriptionByTerm.get(terms[id]));
+                if (definition == null) {
+                    definitionIds[id] = -1;
+                } else {
+                    definitionIds[id] = definitionPool.computeIfAbsent(definition, d -> definitionPool.size());
+                    medicinal.set(id, MEDICINAL.matcher(definition).find());
+                    int termId = id;
+                    for (String word : new LinkedHashSet<>(words(definition))) {
+                        // growable posting list: slot 0 holds the count
+                        postings.merge(word, new int[]{1, termId}, (list, one) -> {
+                            if (list[0] + 1 == list.length) {
+                                list = Arrays.copyOf(list, list.length * 2);
+                            }
+                            list[++list[0]] = termId;
+                            return list;
+                        });
+                    }
+                }
+                String category = categoryByTerm.get(terms[id]);
+                if (category == null) {
+                    categoryIds[id] = -1;
+                } else {
+                    int categoryId = categoryPool.computeIfAbsent(category, c -> categoryPool.size());
+                    if (categoryId > Byte.MAX_VALUE) {
+                        throw new IllegalStateException("Too many term categories: " + categoryPool.size());
+                    }
+                    categoryIds[id] = (byte) categoryId;
+                }
+            }
+
+            String[] definitions = new String[definitionPool.size()];
+            definitionPool.forEach((text, id) -> definitions[id] = text);
+            String[] categories = new String[categoryPool.size()];
+            categoryPool.forEach((text, id) -> categories[id] = text);
+            // ids were added in ascending order, so every posting list is already sorted
+            postings.replaceAll((word, list) -> Arrays.copyOfRange(list, 1, list[0] + 1));
+            return new MedicalTermDictionary(terms, definitionIds, categoryIds, definitions, categories, medicinal,
+                    Map.copyOf(postings));
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.PrescribeCorrect.app.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Finds medicine names and dosage forms in prescription text in one left-to-right pass.
+ * All names are compiled into an Aho-Corasick automaton whose failure links are folded into a dense
+ * transition table, so each character costs one array lookup however many names there are.
+ * Matching is case-insensitive, runs of whitespace count as one space, and a match must start and end
+ * on a word boundary (a form ending in '.' may run straight into the name, as in "Syp.Napa").
+ * Overlapping matches resolve to the leftmost, then longest. Names that are also ordinary words
+ * ("Ace", "Comet") only count next to a dosage form or a strength.
+ * Immutable once built and safe to share between threads.
+ */
+public final class MedicineExtractor {
+
+    public record Span(int start, int end, String text) {
+    }
+
+    /**
+     * One medicine in the text: the canonical name and generic from the dictionary, where the name was found,
+     * and the strength and dosage form written next to it (null when there is none).
+     */
+    public record Mention(String medicine, String generic, Span name, Span strength, Span form, String formName) {
+    }
+
+    private record Pattern(String name, String generic, String formName, int length, boolean needsContext) {
+        boolean isForm() {
+            return formName != null;
+        }
+    }
+
+    private record Match(int pattern, int start, int end) {
+    }
+
+    private static final Map<String, String> FORMS = new LinkedHashMap<>();
+
+    static {
+        for (String form : new String[]{"tab", "tab.", "tabs", "tablet", "tablets"}) FORMS.put(form, "Tablet");
+        for (String form : new String[]{"cap", "cap.", "caps", "capsule", "capsules"}) FORMS.put(form, "Capsule");
+        for (String form : new String[]{"syp", "syp.", "syr", "syr.", "syrup"}) FORMS.put(form, "Syrup");
+        for (String form : new String[]{"inj", "inj.", "injection"}) FORMS.put(form, "Injection");
+        for (String form : new String[]{"susp", "susp.", "suspension"}) FORMS.put(form, "Suspension");
+        for (String form : new String[]{"drop", "drops", "gtt"}) FORMS.put(form, "Drops");
+        for (String form : new String[]{"cream", "oint", "oint.", "ointment", "gel"}) FORMS.put(form, "Ointment");
+        for (String form : new String[]{"inhaler", "puff", "nebulizer"}) FORMS.put(form, "Inhaler");
+        for (String form : new String[]{"sachet", "supp", "supp.", "suppository"}) FORMS.put(form, "Other");
+    }
+
+    // tried in order and only at a word boundary, so "gm" is read before "g" and "gel" is not a unit
+    private static final String[] UNITS = {"mcg", "ug", "µg", "mg", "gm", "g", "ml", "iu", "%", "units"};
+
+    private static final int ALPHABET_LIMIT = 128;
+
+    // third column of medicines.tsv for names that are also ordinary words
+    private static final String CONTEXT_FLAG = "context";
+
+    private final Pattern[] patterns;
+    private final int[] symbolOf;
+    private final int alphabetSize;
+    private final int spaceSymbol;
+    private final int[] delta;
+    // pattern ending at a state (-1 when none), and the next state on the failure chain that has one
+    private final int[] output;
+    private final int[] outputLink;
+
+    private MedicineExtractor(Pattern[] patterns, int[] symbolOf, int alphabetSize, int spaceSymbol,
+                              int[] delta, int[] output, int[] outputLink) {
+        this.patterns = patterns;
+        this.symbolOf = symbolOf;
+        this.alphabetSize = alphabetSize;
+        this.spaceSymbol = spaceSymbol;
+        this.delta = delta;
+        this.output = output;
+        this.outputLink = outputLink;
+    }
+
+    /**
+     * Reads "name TAB generic [TAB context]" lines ('#' starts a comment); see medicines/medicines.tsv.
+     */
+    public static MedicineExtractor load(InputStream in) throws IOException {
+        Builder builder = new Builder();
+        forEachLine(in, columns -> builder.addMedicine(columns[0], columns[1],
+                columns.length > 2 && columns[2].strip().equalsIgnoreCase(CONTEXT_FLAG)));
+        return builder.build();
+    }
+
+    public static void forEachEntry(InputStream in, BiConsumer<String, String> entry) throws IOException {
+        forEachLine(in, columns -> entry.accept(columns[0], columns[1]));
+    }
+
+    private static void forEachLine(InputStream in, Consumer<String[]> entry) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                if (columns.length < 2) {
+                    throw new IOException("Invalid medicine line, expected name<TAB>generic: " + line);
+                }
+                entry.accept(columns);
+            }
+        }
+    }
+
+    public int medicineCount() {
+        int count = 0;
+        for (Pattern pattern : patterns) {
+            if (!pattern.isForm()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public List<Mention> extract(String text) {
+        List<Mention> mentions = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return mentions;
+        }
+        List<Match> matches = resolve(scan(text));
+        for (int i = 0; i < matches.size(); i++) {
+            Match match = matches.get(i);
+            Pattern pattern = patterns[match.pattern()];
+            if (pattern.isForm()) {
+                continue;
+            }
+            Span strength = strengthAfter(text, match.end());
+            int after = strength != null ? strength.end() : match.end();
+            // "Tab. Napa 500mg" or "Napa 500mg tablet"
+            Match form = null;
+            if (i > 0 && patterns[matches.get(i - 1).pattern()].isForm()
+                    && onlySeparators(text, matches.get(i - 1).end(), match.start())) {
+                form = matches.get(i - 1);
+            } else if (i + 1 < matches.size() && patterns[matches.get(i + 1).pattern()].isForm()
+                    && onlySeparators(text, after, matches.get(i + 1).start())) {
+                form = matches.get(i + 1);
+            }
+            // "Ace of spades" is prose, "Tab. Ace" and "Ace 500mg" are prescriptions
+            if (pattern.needsContext() && form == null && strength == null) {
+                continue;
+            }
+            mentions.add(new Mention(pattern.name(), pattern.generic(), span(text, match.start(), match.end()), strength,
+                    form != null ? span(text, form.start(), form.end()) : null,
+                    form != null ? patterns[form.pattern()].formName() : null));
+        }
+        return mentions;
+    }
+
+    private List<Match> scan(String text) {
+        List<Match> matches = new ArrayList<>();
+        int state = 0;
+        boolean previousSpace = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int symbol;
+            if (Character.isWhitespace(c)) {
+                if (previousSpace) {
+                    continue;
+                }
+                previousSpace = true;
+                symbol = spaceSymbol;
+            } else {
+                previousSpace = false;
+                symbol = c < ALPHABET_LIMIT ? symbolOf[c] : 0;
+            }
+            state = delta[state * alphabetSize + symbol];
+            for (int s = output[state] >= 0 ? state : outputLink[state]; s > 0; s = outputLink[s]) {
+                int end = i + 1;
+                int start = startOf(text, end, patterns[output[s]].length());
+                // OCR often glues the strength on ("NAPA500mg"), so a digit may follow a name ending in a letter;
+                // a form that ends in its own '.' ("Syp.Napa") already ends on a boundary
+                if (isBoundary(text, start - 1) && (isBoundary(text, end) || text.charAt(end - 1) == '.'
+                        || Character.isDigit(text.charAt(end)) && Character.isLetter(text.charAt(end - 1)))) {
+                    matches.add(new Match(output[s], start, end));
+                }
+            }
+        }
+        return matches;
+    }
+
+    // leftmost first, longest among those starting together, dropping anything overlapping a kept match
+    private static List<Match> resolve(List<Match> matches) {
+        matches.sort(Comparator.comparingInt(Match::start).thenComparing(Comparator.comparingInt(Match::end).reversed()));
+        List<Match> kept = new ArrayList<>(matches.size());
+        int coveredUntil = 0;
+        for (Match match : matches) {
+            if (match.start() >= coveredUntil) {
+                kept.add(match);
+                coveredUntil = match.end();
+            }
+        }
+        return kept;
+    }
+
+    // walks back over the pattern's characters, counting a whitespace run as the single space it matched
+    private static int startOf(String text, int end, int length) {
+        int i = end;
+        while (length > 0) {
+            i--;
+            if (Character.isWhitespace(text.charAt(i))) {
+                while (i > 0 && Character.isWhitespace(text.charAt(i - 1))) {
+                    i--;
+                }
+            }
+            length--;
+        }
+        return i;
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static boolean onlySeparators(String text, int from, int to) {
+        if (from > to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r' || !(c == ' ' || c == '\t' || c == '.' || c == ':' || c == '-' || c == ',')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // "500mg", "500 mg", "2.5mg", "-10mg", "500" right after the name
+    private static Span strengthAfter(String text, int from) {
+        int i = from;
+        while (i < text.length() && (text.charAt(i) == ' ' || text.charAt(i) == '\t' || text.charAt(i) == '-')) {
+            i++;
+        }
+        int start = i;
+        while (i < text.length() && Character.isDigit(text.charAt(i))) {
+            i++;
+        }
+        if (i == start) {
+            return null;
+        }
+        if (i + 1 < text.length() && text.charAt(i) == '.' && Character.isDigit(text.charAt(i + 1))) {
+            i++;
+            while (i < text.length() && Character.isDigit(text.charAt(i))) {
+                i++;
+            }
+        }
+        int number = i;
+        while (i < text.length() && text.charAt(i) == ' ') {
+            i++;
+        }
+        for (String unit : UNITS) {
+            if (text.regionMatches(true, i, unit, 0, unit.length()) && isBoundary(text, i + unit.length())) {
+                return span(text, start, i + unit.length());
+            }
+        }
+        // a bare number is a strength ("Napa 500") unless it is short or part of a schedule ("1+0+1", "1/2")
+        if (number - start < 2 || number < text.length() && (text.charAt(number) == '+' || text.charAt(number) == '/')) {
+            return null;
+        }
+        return span(text, start, number);
+    }
+
+    private static Span span(String text, int start, int end) {
+        return new Span(start, end, text.substring(start, end));
+    }
+
+    /**
+     * Collects medicine names; dosage form keywords are always included.
+     */
+    public static class Builder {
+        private final Map<String, Pattern> byKey = new LinkedHashMap<>();
+
+        public Builder() {
+            FORMS.forEach((keyword, formName) -> byKey.put(keyword, new Pattern(keyword, null, formName, keyword.length(), false)));
+        }
+
+        public Builder addMedicine(String name, String generic) {
+            return addMedicine(name, generic, false);
+        }
+
+        /**
+         * @param needsContext the name is also an ordinary word and only counts next to a dosage form or strength
+         */
+        public Builder addMedicine(String name, String generic, boolean needsContext) {
+            String canonicalGeneric = normalize(generic);
+            put(name.strip(), canonicalGeneric, needsContext);
+            // a single-ingredient generic is also a name of its own
+            if (!canonicalGeneric.contains("+")) {
+                put(canonicalGeneric, canonicalGeneric, false);
+            }
+            return this;
+        }
+
+        private void put(String name, String generic, boolean needsContext) {
+            String key = normalize(name);
+            if (key.isEmpty()) {
+                return;
+            }
+            for (int i = 0; i < key.length(); i++) {
+                if (key.charAt(i) >= ALPHABET_LIMIT) {
+                    throw new IllegalArgumentException("Medicine names must be ASCII: " + name);
+                }
+            }
+            // the first spelling of a name wins, dosage forms cannot be redefined
+            byKey.putIfAbsent(key, new Pattern(name, generic, null, key.length(), needsContext));
+        }
+
+        public MedicineExtractor build() {
+            List<String> keys = new ArrayList<>(byKey.keySet());
+            Pattern[] patterns = byKey.values().toArray(new Pattern[0]);
+
+            // symbol 0 stands for every character that appears in no name
+            int[] symbolOf = new int[ALPHABET_LIMIT];
+            int alphabetSize = 1;
+            for (String key : keys) {
+                for (int i = 0; i < key.length(); i++) {
+                    char c = key.charAt(i);
+                    if (symbolOf[c] == 0) {
+                        symbolOf[c] = alphabetSize++;
+                    }
+                }
+            }
+            if (symbolOf[' '] == 0) {
+                symbolOf[' '] = alphabetSize++;
+            }
+            for (char c = 'A'; c <= 'Z'; c++) {
+                symbolOf[c] = symbolOf[Character.toLowerCase(c)];
+            }
+
+            // trie, with -1 for missing edges
+            int capacity = 1;
+            for (String key : keys) {
+                capacity += key.length();
+            }
+            int[] delta = new int[capacity * alphabetSize];
+            Arrays.fill(delta, -1);
+            int[] output = new int[capacity];
+            Arrays.fill(output, -1);
+            int states = 1;
+            for (int p = 0; p < keys.size(); p++) {
+                String key = keys.get(p);
+                int state = 0;
+                for (int i = 0; i < key.length(); i++) {
+                    int edge = state * alphabetSize + symbolOf[key.charAt(i)];
+                    if (delta[edge] < 0) {
+                        delta[edge] = states++;
+                    }
+                    state = delta[edge];
+                }
+                output[state] = p;
+            }
+
+            // breadth-first: failure links, output links, and missing edges filled in from the failure state
+            int[] fail = new int[states];
+            int[] outputLink = new int[states];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = delta[symbol];
+                if (next < 0) {
+                    delta[symbol] = 0;
+                } else {
+                    fail[next] = 0;
+                    outputLink[next] = 0;
+                    queue.add(next);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                    int edge = state * alphabetSize + symbol;
+                    int next = delta[edge];
+                    if (next < 0) {
+                        delta[edge] = delta[fail[state] * alphabetSize + symbol];
+                    } else {
+                        int failure = delta[fail[state] * alphabetSize + symbol];
+                        fail[next] = failure;
+                        outputLink[next] = output[failure] >= 0 ? failure : outputLink[failure];
+                        queue.add(next);
+                    }
+                }
+            }
+            return new MedicineExtractor(patterns, symbolOf, alphabetSize, symbolOf[' '],
+                    Arrays.copyOf(delta, states * alphabetSize), Arrays.copyOf(output, states), outputLink);
+        }
+
+        private static String normalize(String text) {
+            return text.strip().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.PrescribeCorrect.app.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Size- and TTL-bounded cache of values keyed by {@link TextFingerprint}.
+ * Entries live in Caffeine under the exact hash; the SimHash is split into four 16-bit bands, each indexed
+ * separately, so any fingerprint within 3 bits shares at least one band and is found without a scan.
+ * Identical text matches for every owner; a near duplicate only matches text the same owner put,
+ * since a few differing words can be another patient's name on the same printed form.
+ */
+public class NearDuplicateCache<V> {
+
+    public record Hit<V>(V value, int distance) {
+        public boolean exact() {
+            return distance == 0;
+        }
+    }
+
+    private record Entry<V>(TextFingerprint fingerprint, String owner, V value) {
+    }
+
+    private static final int BANDS = 4;
+    public static final int MAX_DISTANCE = BANDS - 1;
+
+    private final Cache<Long, Entry<V>> entries;
+    // (band << 16 | band bits) -> cached fingerprints with those bits; distances are checked before the entry is read
+    private final Map<Integer, Set<TextFingerprint>> bands = new ConcurrentHashMap<>();
+    private final int maxDistance;
+
+    public NearDuplicateCache(long maxSize, Duration ttl, int maxDistance, Consumer<RemovalCause> onEviction) {
+        if (maxDistance < 0 || maxDistance > MAX_DISTANCE) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and " + MAX_DISTANCE);
+        }
+        this.maxDistance = maxDistance;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                // runs for size and expiry evictions only; a put over the same text keeps the same bands
+                .<Long, Entry<V>>evictionListener((key, entry, cause) -> {
+                    if (entry != null) {
+                        unindex(entry.fingerprint());
+                    }
+                    onEviction.accept(cause);
+                })
+                .build();
+    }
+
+    public void put(String owner, TextFingerprint fingerprint, V value) {
+        Entry<V> previous = entries.asMap().put(fingerprint.exact(), new Entry<>(fingerprint, owner, value));
+        if (previous == null) {
+            index(fingerprint);
+        }
+    }
+
+    /**
+     * The exact match if there is one, otherwise the owner's closest entry within maxDistance bits; null if neither.
+     */
+    public Hit<V> get(String owner, TextFingerprint fingerprint) {
+        Entry<V> exact = entries.getIfPresent(fingerprint.exact());
+        if (exact != null) {
+            return new Hit<>(exact.value(), 0);
+        }
+        if (maxDistance == 0) {
+            return null;
+        }
+        Entry<V> best = null;
+        int bestDistance = maxDistance + 1;
+        for (int band = 0; band < BANDS; band++) {
+            Set<TextFingerprint> candidates = bands.get(bandKey(fingerprint.simHash(), band));
+            if (candidates == null) {
+                continue;
+            }
+            for (TextFingerprint candidate : candidates) {
+                int distance = fingerprint.distance(candidate);
+                if (distance >= bestDistance) {
+                    continue;
+                }
+                Entry<V> entry = entries.getIfPresent(candidate.exact());
+                if (entry != null && Objects.equals(entry.owner(), owner)) {
+                    best = entry;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best != null ? new Hit<>(best.value(), bestDistance) : null;
+    }
+
+    /**
+     * Drops every entry the owner put. Walks all entries, so it is meant for rare events like deleting a user.
+     */
+    public void removeOwner(String owner) {
+        Map<Long, Entry<V>> map = entries.asMap();
+        map.forEach((key, entry) -> {
+            // explicit removals skip the eviction listener, so the bands are cleaned here
+            if (Objects.equals(entry.owner(), owner) && map.remove(key, entry)) {
+                unindex(entry.fingerprint());
+            }
+        });
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private void index(TextFingerprint fingerprint) {
+        for (int band = 0; band < BANDS; band++) {
+            bands.computeIfAbsent(bandKey(fingerprint.simHash(), band), k -> ConcurrentHashMap.newKeySet())
+                    .add(fingerprint);
+        }
+    }
+
+    private void unindex(TextFingerprint fingerprint) {
+        for (int band = 0; band < BANDS; band++) {
+            bands.computeIfPresent(bandKey(fingerprint.simHash(), band), (k, candidates) -> {
+                candidates.remove(fingerprint);
+                return candidates.isEmpty() ? null : candidates;
+            });
+        }
+    }
+
+    private static int bandKey(long simHash, int band) {
+        return band << 16 | (int) (simHash >>> (16 * band) & 0xffff);
+    }
+}
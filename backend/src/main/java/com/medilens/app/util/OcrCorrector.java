@@ -0,0 +1,342 @@
+package com.PrescribeCorrect.app.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Symmetric-delete (SymSpell) spelling correction for OCR'd prescription text.
+ * Every vocabulary word's prefix is expanded into its deletes up to the maximum edit distance once, at build time;
+ * a token is corrected by generating its own deletes and verifying only the words that share one of them.
+ * The deletes are kept as a sorted long[] of (hash &lt;&lt; 32 | word id), so the index is a few primitive arrays
+ * and a hash collision only costs one extra distance check.
+ */
+public final class OcrCorrector {
+
+    public record Correction(int start, int end, String original, String replacement, int distance) {
+    }
+
+    public record Result(String text, List<Correction> corrections) {
+    }
+
+    // deletes are generated from the first PREFIX_LENGTH characters only, which bounds them per word
+    private static final int PREFIX_LENGTH = 7;
+    private static final int MIN_TOKEN_LENGTH = 3;
+    // "rn" read for "m" and back: glyph swaps that cost 2 edits but are one OCR mistake
+    private static final String[][] GLYPH_CONFUSIONS = {{"rn", "m"}, {"m", "rn"}, {"cl", "d"}, {"d", "cl"}, {"vv", "w"}};
+
+    public static final OcrCorrector EMPTY = new Builder().build(2);
+
+    private final String[] words;
+    private final int[] counts;
+    // words added with Builder#addName, the only ones a capitalized token may be corrected to
+    private final boolean[] names;
+    private final long[] deletes;
+    private final int maxDistance;
+
+    private OcrCorrector(String[] words, int[] counts, boolean[] names, long[] deletes, int maxDistance) {
+        this.words = words;
+        this.counts = counts;
+        this.names = names;
+        this.deletes = deletes;
+        this.maxDistance = maxDistance;
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    public int indexedDeletes() {
+        return deletes.length;
+    }
+
+    /**
+     * The best vocabulary word for a lowercase token: the token itself when known, otherwise the closest word,
+     * more frequent words first on a tie. Null when nothing is within reach.
+     */
+    public String lookup(String token) {
+        int id = find(token, distanceFor(token.length(), false), false);
+        return id >= 0 ? words[id] : null;
+    }
+
+    /**
+     * Corrects every ASCII word of the text that is not in the vocabulary. Numbers, short tokens and
+     * all-caps abbreviations (BD, TDS, SOS) are left alone. Capitalized and all-caps words are mostly patient,
+     * doctor and place names the vocabulary cannot know ("Habib" or "HABIB" is not a misread "habit"), so they are
+     * only corrected to a medicine name, by a single edit at most. The original capitalization is kept.
+     */
+    public Result correct(String text) {
+        List<Correction> corrections = new ArrayList<>();
+        if (text == null || words.length == 0) {
+            return new Result(text, corrections);
+        }
+        StringBuilder out = null;
+        int copied = 0;
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            if (!isAsciiLetter(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            boolean upper = true;
+            while (i < length && isAsciiLetter(text.charAt(i))) {
+                upper &= text.charAt(i) <= 'Z';
+                i++;
+            }
+            if (i - start < MIN_TOKEN_LENGTH || (upper && i - start == MIN_TOKEN_LENGTH)) {
+                continue;
+            }
+            String original = text.substring(start, i);
+            String token = original.toLowerCase(Locale.ROOT);
+            if (Arrays.binarySearch(words, token) >= 0) {
+                continue;
+            }
+            // printed prescriptions put names in capitals, so "HABIB" counts as capitalized too
+            boolean capitalized = text.charAt(start) <= 'Z';
+            int id = find(token, distanceFor(token.length(), capitalized), capitalized);
+            if (id < 0) {
+                continue;
+            }
+            String replacement = matchCase(original, words[id]);
+            if (out == null) {
+                out = new StringBuilder(length + 16);
+            }
+            out.append(text, copied, start).append(replacement);
+            copied = i;
+            corrections.add(new Correction(start, i, original, replacement,
+                    distance(token, words[id], maxDistance + 1)));
+        }
+        if (out == null) {
+            return new Result(text, corrections);
+        }
+        return new Result(out.append(text, copied, length).toString(), corrections);
+    }
+
+    private int distanceFor(int length, boolean capitalized) {
+        return Math.min(maxDistance, length <= 4 || capitalized ? 1 : 2);
+    }
+
+    private int find(String token, int distance, boolean namesOnly) {
+        int known = Arrays.binarySearch(words, token);
+        if (known >= 0) {
+            return known;
+        }
+        for (String[] confusion : GLYPH_CONFUSIONS) {
+            for (int at = token.indexOf(confusion[0]); at >= 0; at = token.indexOf(confusion[0], at + 1)) {
+                String swapped = token.substring(0, at) + confusion[1] + token.substring(at + confusion[0].length());
+                int id = Arrays.binarySearch(words, swapped);
+                if (id >= 0 && (!namesOnly || names[id])) {
+                    return id;
+                }
+            }
+        }
+
+        int prefix = Math.min(token.length(), PREFIX_LENGTH);
+        int[] best = {-1, distance + 1};
+        probe(token, hash(token, prefix, -1, -1), distance, namesOnly, best);
+        for (int i = 0; i < prefix && distance >= 1; i++) {
+            if (prefix > 1) {
+                probe(token, hash(token, prefix, i, -1), distance, namesOnly, best);
+            }
+            for (int j = i + 1; j < prefix && distance >= 2 && prefix > 2; j++) {
+                probe(token, hash(token, prefix, i, j), distance, namesOnly, best);
+            }
+        }
+        return best[0];
+    }
+
+    private void probe(String token, int hash, int distance, boolean namesOnly, int[] best) {
+        long from = (long) hash << 32;
+        int index = Arrays.binarySearch(deletes, from);
+        for (int i = index >= 0 ? index : -index - 1; i < deletes.length && (int) (deletes[i] >>> 32) == hash; i++) {
+            int id = (int) deletes[i];
+            String word = words[id];
+            if (Math.abs(word.length() - token.length()) > distance || namesOnly && !names[id]) {
+                continue;
+            }
+            int d = distance(token, word, best[1]);
+            if (d < best[1] || (d == best[1] && best[0] >= 0 && isBetter(id, best[0], token.length()))) {
+                best[0] = id;
+                best[1] = d;
+            }
+        }
+    }
+
+    // OCR drops faint letters far more often than it invents them, so a tie goes to a word that is not shorter
+    private boolean isBetter(int id, int current, int tokenLength) {
+        boolean complete = words[id].length() >= tokenLength;
+        if (complete != words[current].length() >= tokenLength) {
+            return complete;
+        }
+        return counts[id] > counts[current] || (counts[id] == counts[current] && id < current);
+    }
+
+    /**
+     * Optimal string alignment distance (adjacent transpositions count once), or more than limit
+     * as soon as every alignment is past it.
+     */
+    static int distance(String a, String b, int limit) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > limit) {
+            return limit + 1;
+        }
+        int[] previous2 = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char cb = b.charAt(j - 1);
+                int cost = ca == cb ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[m];
+    }
+
+    // FNV-1a over the first end characters, skipping up to two deleted positions
+    private static int hash(String text, int end, int skip1, int skip2) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < end; i++) {
+            if (i != skip1 && i != skip2) {
+                hash = (hash ^ text.charAt(i)) * 0x01000193;
+            }
+        }
+        return hash;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static String matchCase(String original, String word) {
+        if (original.chars().allMatch(c -> c <= 'Z')) {
+            return word.toUpperCase(Locale.ROOT);
+        }
+        if (original.charAt(0) <= 'Z') {
+            return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+        }
+        return word;
+    }
+
+    /**
+     * Counts vocabulary words; {@link #build(int)} sorts them and precomputes the deletes.
+     */
+    public static class Builder {
+        private final Map<String, Integer> counts = new HashMap<>();
+        private final Set<String> names = new HashSet<>();
+
+        public Builder addWord(String word, int count) {
+            addWord(word, count, false);
+            return this;
+        }
+
+        /**
+         * Adds every ASCII word of the text, once per occurrence.
+         */
+        public Builder addText(String text, int count) {
+            return addText(text, count, false);
+        }
+
+        /**
+         * Adds every ASCII word of a medicine name; unlike other words these may replace a capitalized token.
+         */
+        public Builder addName(String text, int count) {
+            return addText(text, count, true);
+        }
+
+        private Builder addText(String text, int count, boolean name) {
+            if (text == null) {
+                return this;
+            }
+            int start = -1;
+            for (int i = 0; i <= text.length(); i++) {
+                boolean letter = i < text.length() && isAsciiLetter(text.charAt(i));
+                if (letter && start < 0) {
+                    start = i;
+                } else if (!letter && start >= 0) {
+                    addWord(text.substring(start, i), count, name);
+                    start = -1;
+                }
+            }
+            return this;
+        }
+
+        private void addWord(String word, int count, boolean name) {
+            String key = word.strip().toLowerCase(Locale.ROOT);
+            if (key.length() >= 2 && key.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+                counts.merge(key, count, Integer::sum);
+                if (name) {
+                    names.add(key);
+                }
+            }
+        }
+
+        public OcrCorrector build(int maxDistance) {
+            if (maxDistance < 1 || maxDistance > 2) {
+                throw new IllegalArgumentException("maxDistance must be 1 or 2");
+            }
+            String[] words = counts.keySet().toArray(new String[0]);
+            Arrays.sort(words);
+            int[] wordCounts = new int[words.length];
+            boolean[] wordNames = new boolean[words.length];
+            long[] deletes = new long[64];
+            int size = 0;
+            for (int id = 0; id < words.length; id++) {
+                wordCounts[id] = counts.get(words[id]);
+                wordNames[id] = names.contains(words[id]);
+                String word = words[id];
+                int prefix = Math.min(word.length(), PREFIX_LENGTH);
+                if (size + 1 + prefix + prefix * prefix / 2 > deletes.length) {
+                    deletes = Arrays.copyOf(deletes, deletes.length * 2);
+                }
+                deletes[size++] = key(hash(word, prefix, -1, -1), id);
+                for (int i = 0; i < prefix; i++) {
+                    if (prefix > 1) {
+                        deletes[size++] = key(hash(word, prefix, i, -1), id);
+                    }
+                    for (int j = i + 1; j < prefix && maxDistance >= 2 && prefix > 2; j++) {
+                        deletes[size++] = key(hash(word, prefix, i, j), id);
+                    }
+                }
+            }
+            Arrays.sort(deletes, 0, size);
+            // repeated letters produce the same delete more than once
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || deletes[i] != deletes[unique - 1]) {
+                    deletes[unique++] = deletes[i];
+                }
+            }
+            return new OcrCorrector(words, wordCounts, wordNames, Arrays.copyOf(deletes, unique), maxDistance);
+        }
+
+        private static long key(int hash, int id) {
+            return ((long) hash << 32) | (id & 0xffffffffL);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.PrescribeCorrect.app.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves analyses saved before V9 from the plain full_prescription_text column into
+ * full_prescription_text_compressed, a batch per statement, emptying the old column as it goes.
+ * Runs before startup completes so the search backfill already sees the moved text.
+ * Once the old column holds no values it can be dropped (see V9__Compress_Prescription_Text.sql).
+ */
+@Component
+public class PrescriptionTextCompressor implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        try {
+            Integer legacyColumns = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                    + "WHERE LOWER(table_name) = 'prescription_analysis' AND LOWER(column_name) = 'full_prescription_text'",
+                    Integer.class);
+            if (legacyColumns == null || legacyColumns == 0) {
+                return;
+            }
+            int total = 0;
+            List<Map<String, Object>> rows;
+            do {
+                rows = jdbcTemplate.queryForList("SELECT id, full_prescription_text FROM prescription_analysis "
+                        + "WHERE full_prescription_text IS NOT NULL LIMIT " + BATCH_SIZE);
+                jdbcTemplate.batchUpdate("UPDATE prescription_analysis SET full_prescription_text_compressed = ?, "
+                        + "full_prescription_text = NULL WHERE id = ?", rows, rows.size(), (ps, row) -> {
+                    ps.setBytes(1, CompressedText.of((String) row.get("full_prescription_text")).stored());
+                    ps.setLong(2, ((Number) row.get("id")).longValue());
+                });
+                total += rows.size();
+            } while (rows.size() == BATCH_SIZE);
+            if (total > 0) {
+                System.out.println("🗜️  Compressed prescription text of " + total + " analyses");
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️  Could not compress existing prescription text: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.PrescribeCorrect.app.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements Hibernate may run while handling a request to this endpoint.
+ * Going over is logged (query-budget.mode=log) or fails the request at the first statement
+ * past the budget (query-budget.mode=fail, meant for integration tests).
+ * On a class it applies to every handler method without its own budget.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface QueryBudget {
+    int value();
+}
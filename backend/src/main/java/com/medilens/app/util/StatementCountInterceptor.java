@@ -0,0 +1,76 @@
+package com.PrescribeCorrect.app.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many Hibernate statements each request ran, per endpoint, as hibernate.statements.per.request.
+ * A count growing with the size of the result is the signature of an N+1.
+ * Endpoints annotated with {@link QueryBudget} are also checked against their budget.
+ */
+public class StatementCountInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean failOverBudget;
+
+    public StatementCountInterceptor(MeterRegistry meterRegistry, boolean failOverBudget) {
+        this.meterRegistry = meterRegistry;
+        this.failOverBudget = failOverBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StatementCounter.start(budget(handler), failOverBudget);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int statements = StatementCounter.stop();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("hibernate.statements.per.request")
+                .description("SQL statements prepared by Hibernate while handling one request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+
+        int budget = budget(handler);
+        if (budget != StatementCounter.NO_BUDGET && statements > budget) {
+            System.err.println("🚨 Query budget exceeded: " + request.getMethod() + " " + uri + " ran "
+                    + statements + " statements, budget is " + budget);
+            Counter.builder("hibernate.query.budget.exceeded")
+                    .description("Requests that ran more statements than their endpoint's @QueryBudget")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // streaming responses (SSE) finish on another thread; don't leak the counter into this pooled one
+        StatementCounter.stop();
+    }
+
+    private static int budget(Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return StatementCounter.NO_BUDGET;
+        }
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), QueryBudget.class);
+        }
+        return budget != null ? budget.value() : StatementCounter.NO_BUDGET;
+    }
+}
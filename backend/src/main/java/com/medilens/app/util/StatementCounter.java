@@ -0,0 +1,65 @@
+package com.PrescribeCorrect.app.util;
+
+import com.PrescribeCorrect.app.exception.QueryBudgetExceededException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a request is being handled.
+ * Registered as Hibernate's statement inspector; the SQL itself is passed through unchanged.
+ */
+public class StatementCounter implements StatementInspector {
+
+    public static final int NO_BUDGET = -1;
+
+    private static final ThreadLocal<Counter> COUNTER = new ThreadLocal<>();
+
+    private static final class Counter {
+        private final int budget;
+        private final boolean failOverBudget;
+        private int count;
+
+        private Counter(int budget, boolean failOverBudget) {
+            this.budget = budget;
+            this.failOverBudget = failOverBudget;
+        }
+    }
+
+    public static void start() {
+        start(NO_BUDGET, false);
+    }
+
+    /**
+     * Starts counting on this thread. With failOverBudget the statement that goes past the budget
+     * is rejected with a {@link QueryBudgetExceededException} instead of being run.
+     */
+    public static void start(int budget, boolean failOverBudget) {
+        COUNTER.set(new Counter(budget, failOverBudget));
+    }
+
+    public static int current() {
+        Counter counter = COUNTER.get();
+        return counter != null ? counter.count : 0;
+    }
+
+    /**
+     * Ends counting on this thread and returns the number of statements since {@link #start()}.
+     */
+    public static int stop() {
+        int count = current();
+        COUNTER.remove();
+        return count;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counter counter = COUNTER.get();
+        if (counter != null) {
+            counter.count++;
+            if (counter.failOverBudget && counter.budget != NO_BUDGET && counter.count > counter.budget) {
+                throw new QueryBudgetExceededException("Query budget of " + counter.budget
+                        + " statements exceeded by: " + sql);
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,93 @@
+package com.PrescribeCorrect.app.util;
+
+import java.util.Arrays;
+
+/**
+ * Fingerprints of OCR'd prescription text after normalisation (lower case, punctuation and layout dropped):
+ * an exact 64-bit hash of the word sequence, and a 64-bit SimHash over words and word bigrams whose Hamming
+ * distance tracks how many words differ, so a re-scan with a few misread words lands a few bits away.
+ * Words alone would match unrelated prescriptions that share a vocabulary; bigrams alone miss short texts.
+ */
+public record TextFingerprint(long exact, long simHash, int words) {
+
+    // below this SimHash is dominated by single words and says little about similarity
+    public static final int MIN_WORDS = 8;
+
+    /**
+     * Null when the text has fewer than {@link #MIN_WORDS} words.
+     */
+    public static TextFingerprint of(String text) {
+        if (text == null) {
+            return null;
+        }
+        long[] hashes = new long[Math.max(16, text.length() / 4)];
+        int count = 0;
+        long word = 0;
+        boolean inWord = false;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (!inWord) {
+                    word = 0xcbf29ce484222325L;
+                    inWord = true;
+                }
+                word = (word ^ Character.toLowerCase(c)) * 0x100000001b3L;
+            } else if (inWord) {
+                if (count == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, count * 2);
+                }
+                hashes[count++] = mix(word);
+                inWord = false;
+            }
+        }
+        if (count < MIN_WORDS) {
+            return null;
+        }
+
+        long exact = 0;
+        long[] features = new long[2 * count - 1];
+        for (int i = 0; i < count; i++) {
+            exact = mix(exact * 0x9e3779b97f4a7c15L + hashes[i]);
+            features[2 * i] = hashes[i];
+            if (i + 1 < count) {
+                features[2 * i + 1] = mix(hashes[i] * 31 + hashes[i + 1]);
+            }
+        }
+        // each distinct feature votes once: "tab", "mg", "after meal" repeat on every line and would otherwise
+        // pull every prescription's SimHash towards the same value
+        Arrays.sort(features);
+        int[] weights = new int[64];
+        for (int i = 0; i < features.length; i++) {
+            if (i == 0 || features[i] != features[i - 1]) {
+                addFeature(weights, features[i]);
+            }
+        }
+        long simHash = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                simHash |= 1L << bit;
+            }
+        }
+        return new TextFingerprint(exact, simHash, count);
+    }
+
+    public int distance(TextFingerprint other) {
+        return Long.bitCount(simHash ^ other.simHash);
+    }
+
+    private static void addFeature(int[] weights, long feature) {
+        for (int bit = 0; bit < 64; bit++) {
+            weights[bit] += (feature >>> bit & 1) != 0 ? 1 : -1;
+        }
+    }
+
+    // murmur3 finalizer: spreads FNV's weak high bits so every SimHash bit is a fair coin
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,35 @@
+package com.PrescribeCorrect.app.util;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the executors we create ourselves, following spring.threads.virtual.enabled
+ * like Tomcat, @Async and @Scheduled do. Virtual threads are only used when the runtime is Java 21+;
+ * on Java 17 the property is ignored and these stay named daemon platform threads.
+ */
+public final class ThreadFactories {
+
+    private ThreadFactories() {
+    }
+
+    public static boolean virtualThreads(Environment environment) {
+        return Threading.VIRTUAL.isActive(environment);
+    }
+
+    public static ThreadFactory create(Environment environment, String prefix) {
+        if (virtualThreads(environment)) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
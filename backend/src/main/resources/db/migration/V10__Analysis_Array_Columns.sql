@@ -0,0 +1,40 @@
+-- @ElementCollection join tables replaced by array columns, the same mapping Doctor.specialization uses:
+-- PrescriptionAnalysis.medicines / keyDiseases / dosageInstructions and User.currentMedications
+-- Apply before deploying the new version. If only ddl-auto=update created the columns, ArrayColumnBackfill runs the
+-- same copy at startup (and deletes the copied join rows); startup fails if a join table cannot be copied.
+-- The join tables are bags with no order column, so lists are aggregated in physical row order (ctid), the order
+-- Hibernate read them in.
+
+ALTER TABLE prescription_analysis ADD COLUMN IF NOT EXISTS medicines varchar(255)[];
+ALTER TABLE prescription_analysis ADD COLUMN IF NOT EXISTS key_diseases varchar(255)[];
+ALTER TABLE prescription_analysis ADD COLUMN IF NOT EXISTS dosage_instructions varchar(255)[];
+ALTER TABLE users ADD COLUMN IF NOT EXISTS current_medications varchar(255)[];
+
+UPDATE prescription_analysis a SET medicines = m.items
+FROM (SELECT prescription_analysis_id, array_agg(medicines ORDER BY ctid) AS items
+      FROM prescription_analysis_medicines GROUP BY prescription_analysis_id) m
+WHERE m.prescription_analysis_id = a.id AND a.medicines IS NULL;
+
+UPDATE prescription_analysis a SET key_diseases = k.items
+FROM (SELECT prescription_analysis_id, array_agg(key_diseases ORDER BY ctid) AS items
+      FROM prescription_analysis_key_diseases GROUP BY prescription_analysis_id) k
+WHERE k.prescription_analysis_id = a.id AND a.key_diseases IS NULL;
+
+UPDATE prescription_analysis a SET dosage_instructions = d.items
+FROM (SELECT prescription_analysis_id, array_agg(dosage_instructions ORDER BY ctid) AS items
+      FROM prescription_analysis_dosage_instructions GROUP BY prescription_analysis_id) d
+WHERE d.prescription_analysis_id = a.id AND a.dosage_instructions IS NULL;
+
+UPDATE users u SET current_medications = c.items
+FROM (SELECT user_email, array_agg(current_medications ORDER BY ctid) AS items
+      FROM user_current_medications GROUP BY user_email) c
+WHERE c.user_email = u.email AND u.current_medications IS NULL;
+
+-- "analyses containing medicine X" (array @> ARRAY[X]) becomes an index lookup
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_analysis_medicines ON prescription_analysis USING GIN (medicines);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_analysis_key_diseases ON prescription_analysis USING GIN (key_diseases);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_current_medications ON users USING GIN (current_medications);
+
+-- Once the new version is live and the data checked, the join tables can go:
+--   DROP TABLE prescription_analysis_medicines, prescription_analysis_key_diseases,
+--              prescription_analysis_dosage_instructions, user_current_medications;
@@ -0,0 +1,13 @@
+-- Drug interactions recorded when a saved prescription or a profile update adds a drug (InteractionAlert).
+-- One row per user and pair of generics, drug_a sorting first; the unique key keeps repeated checks idempotent.
+
+CREATE TABLE IF NOT EXISTS interaction_alert (
+    id bigserial PRIMARY KEY,
+    user_email varchar(255) NOT NULL REFERENCES users (email),
+    drug_a varchar(255) NOT NULL,
+    drug_b varchar(255) NOT NULL,
+    severity varchar(255) NOT NULL,
+    description varchar(500),
+    detected_at timestamp(6),
+    CONSTRAINT uk_interaction_alert_pair UNIQUE (user_email, drug_a, drug_b)
+);
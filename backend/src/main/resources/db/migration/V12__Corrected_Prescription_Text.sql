@@ -0,0 +1,5 @@
+-- OCR correction no longer rewrites the prescription text: the text as read stays in full_prescription_text_compressed
+-- and the corrected copy, when correction changed anything, goes next to it (PrescriptionAnalysis.correctedPrescriptionText).
+-- Same CompressedText encoding as V9; rows saved before this keep NULL and are read as they were stored.
+
+ALTER TABLE prescription_analysis ADD COLUMN IF NOT EXISTS corrected_prescription_text_compressed bytea;
@@ -0,0 +1,7 @@
+-- Interaction alerts are deduplicated per time window (interactions.alert-window-days) instead of once per pair
+-- forever: a pair that comes back after the window, such as a drug restarted months later, is alerted again.
+-- The service reads a user's alerts by detected_at, newest first for the list and within the window for the check.
+
+ALTER TABLE interaction_alert DROP CONSTRAINT IF EXISTS uk_interaction_alert_pair;
+
+CREATE INDEX IF NOT EXISTS idx_interaction_alert_user_date ON interaction_alert (user_email, detected_at);
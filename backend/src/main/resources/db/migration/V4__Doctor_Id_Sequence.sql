@@ -0,0 +1,12 @@
+-- Move doctor ids from IDENTITY to a pooled sequence so inserts can be batched
+-- Matches @SequenceGenerator(sequenceName = "doctor_seq", allocationSize = 50) on Doctor
+-- Each nextval reserves the block [value - 49, value], so the sequence must start at or above MAX(id)
+
+CREATE SEQUENCE IF NOT EXISTS doctor_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('doctor_seq', COALESCE((SELECT MAX(id) FROM doctor), 1));
+
+ALTER TABLE doctor ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- Verify:
+-- SELECT last_value, (SELECT MAX(id) FROM doctor) FROM doctor_seq;
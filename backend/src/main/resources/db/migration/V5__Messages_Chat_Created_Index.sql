@@ -0,0 +1,4 @@
+-- Index for keyset paging of chat messages (GET /api/chat/{id}/messages)
+-- Matches @Index(name = "idx_messages_chat_created") on Message
+
+CREATE INDEX IF NOT EXISTS idx_messages_chat_created ON messages (chat_id, created_at, id);
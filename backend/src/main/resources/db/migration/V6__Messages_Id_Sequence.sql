@@ -0,0 +1,8 @@
+-- Move message ids from IDENTITY to a pooled sequence so transcript appends can be batched
+-- Matches @SequenceGenerator(sequenceName = "messages_seq", allocationSize = 50) on Message
+
+CREATE SEQUENCE IF NOT EXISTS messages_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('messages_seq', COALESCE((SELECT MAX(id) FROM messages), 1));
+
+ALTER TABLE messages ALTER COLUMN id DROP IDENTITY IF EXISTS;
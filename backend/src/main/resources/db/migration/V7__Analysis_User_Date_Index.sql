@@ -0,0 +1,4 @@
+-- Index for keyset paging of a user's analysis history (GET /api/analysis/history)
+-- Matches @Index(name = "idx_analysis_user_date") on PrescriptionAnalysis
+
+CREATE INDEX IF NOT EXISTS idx_analysis_user_date ON prescription_analysis (user_email, analysis_date, id);
@@ -0,0 +1,17 @@
+-- Full-text search over saved analyses (GET /api/analysis/search)
+-- Weights match PostgresAnalysisSearchService.DOCUMENT: A doctor + medicines, B diseases, C summary, D prescription text.
+-- Rows with a NULL vector are also filled in batches at startup, so the UPDATE below can be skipped on large tables.
+
+ALTER TABLE prescription_analysis ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_analysis_search ON prescription_analysis USING GIN (search_vector);
+
+UPDATE prescription_analysis a SET search_vector =
+    setweight(to_tsvector('simple', coalesce(a.doctor_name, '') || ' ' ||
+        coalesce((SELECT string_agg(m.medicines, ' ') FROM prescription_analysis_medicines m
+                  WHERE m.prescription_analysis_id = a.id), '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce((SELECT string_agg(k.key_diseases, ' ')
+                  FROM prescription_analysis_key_diseases k WHERE k.prescription_analysis_id = a.id), '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(a.analysis_summary, '')), 'C') ||
+    setweight(to_tsvector('simple', coalesce(a.full_prescription_text, '')), 'D')
+WHERE a.search_vector IS NULL;
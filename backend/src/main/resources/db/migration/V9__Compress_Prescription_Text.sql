@@ -0,0 +1,14 @@
+-- Prescription text moves to a compressed bytea column (PrescriptionAnalysis.fullPrescriptionText, CompressedText)
+-- The bytes are deflate with an application-side dictionary, so existing rows are converted by the application:
+-- PrescriptionTextCompressor copies full_prescription_text into the new column at startup and sets the old one to NULL.
+
+ALTER TABLE prescription_analysis ADD COLUMN IF NOT EXISTS full_prescription_text_compressed bytea;
+
+-- analysis_summary stays plain text because previews and search read it in SQL; PostgreSQL 14+ can at least
+-- TOAST it with lz4 instead of pglz (applies to newly written values)
+ALTER TABLE prescription_analysis ALTER COLUMN analysis_summary SET COMPRESSION lz4;
+
+-- After the application has started once and this returns 0, the old column can go:
+--   SELECT COUNT(*) FROM prescription_analysis WHERE full_prescription_text IS NOT NULL;
+--   ALTER TABLE prescription_analysis DROP COLUMN full_prescription_text;
+-- then VACUUM FULL prescription_analysis (or pg_repack) to give the space back.
@@ -3,7 +3,8 @@ package com.PrescribeCorrect.app;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// endpoints going over their @QueryBudget fail instead of only logging
+@SpringBootTest(properties = "query-budget.mode=fail")
 class PrescribeCorrectApplicationTests {
 
 	@Test
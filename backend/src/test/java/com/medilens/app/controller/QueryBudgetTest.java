@@ -0,0 +1,164 @@
+package com.PrescribeCorrect.app.controller;
+
+import com.PrescribeCorrect.app.repository.UserRepository;
+import com.PrescribeCorrect.app.util.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// every @QueryBudget endpoint against a few rows of data; in fail mode a regression (an N+1) turns into a 500
+@SpringBootTest(properties = {
+        "query-budget.mode=fail",
+        "spring.datasource.url=jdbc:h2:mem:budget;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "analysis.search=in-memory"
+})
+@AutoConfigureMockMvc
+@Import(QueryBudgetTest.OverBudgetController.class)
+class QueryBudgetTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+    private static final int ROWS = 3;
+    private static final String PRESCRIPTION = "Tab. Napa 500mg 1+0+1 after meal for 5 days, Cap. Seclo 20mg 1+0+1 before meal";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String email;
+    private long chatId;
+    private long analysisId;
+
+    @RestController
+    static class OverBudgetController {
+        @Autowired
+        private UserRepository userRepository;
+
+        @QueryBudget(1)
+        @GetMapping("/api/test/over-budget")
+        long overBudget() {
+            return userRepository.count() + userRepository.count();
+        }
+    }
+
+    private String signUp(String prefix) throws Exception {
+        String address = prefix + USERS.incrementAndGet() + "@example.com";
+        mockMvc.perform(post("/api/user/sign-up").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + address + "\",\"password\":\"pw\",\"firstName\":\"Test\",\"lastName\":\"User\"}"))
+                .andExpect(status().isCreated());
+        return address;
+    }
+
+    private RequestPostProcessor patient() {
+        return user(email).roles("USER");
+    }
+
+    // several rows behind every list, so a per-row query would show up as going over budget
+    @BeforeEach
+    void seed() throws Exception {
+        for (int i = 0; i < ROWS; i++) {
+            String doctor = signUp("doctor");
+            mockMvc.perform(post("/api/doctor/add").with(user(doctor).roles("DOCTOR"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"specialization\":[\"Medicine\"],\"degree\":[\"MBBS\"],\"currentCity\":\"Dhaka\"}"))
+                    .andExpect(status().isOk());
+        }
+
+        email = signUp("patient");
+        mockMvc.perform(put("/api/user").with(patient()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Test\",\"currentMedications\":[\"Warfarin\",\"Aspirin\"]}"))
+                .andExpect(status().isOk());
+        for (int i = 0; i < ROWS; i++) {
+            String response = mockMvc.perform(post("/api/analysis/save").with(patient())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"analysisSummary\":\"Fever " + i + "\",\"fullPrescriptionText\":\"" + PRESCRIPTION + "\","
+                                    + "\"medicines\":[\"Napa 500mg\",\"Ibuprofen\"],\"keyDiseases\":[\"Fever\"],"
+                                    + "\"dosageInstructions\":[\"1+0+1\"]}"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            analysisId = Long.parseLong(response.replaceAll("^\\{\"id\":(\\d+).*$", "$1"));
+
+            chatId = Long.parseLong(mockMvc.perform(post("/api/chat/create").with(patient()))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString());
+            mockMvc.perform(post("/api/chat/" + chatId + "/messages").with(patient())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"role\":\"USER\",\"message\":\"hello\"},{\"role\":\"ASSISTANT\",\"message\":\"hi\"}]"))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    @Test
+    void userEndpointsStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/user/all").with(patient())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/user/" + email).with(patient())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/user/chat").with(patient())).andExpect(status().isOk());
+    }
+
+    @Test
+    void chatEndpointsStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/chat/" + chatId).with(patient())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/chat/" + chatId + "/messages").with(patient())).andExpect(status().isOk());
+    }
+
+    @Test
+    void analysisEndpointsStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/analysis/my-analyses").with(patient())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/analysis/history").with(patient())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/analysis/by-medicine").param("name", "Napa 500mg").with(patient()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/analysis/search").param("q", "napa").with(patient())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/analysis/" + analysisId).with(patient())).andExpect(status().isOk());
+        mockMvc.perform(post("/api/analysis/lookup").with(patient()).contentType(MediaType.TEXT_PLAIN)
+                        .content(PRESCRIPTION))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void doctorEndpointsStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/doctor/all")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/doctor/page")).andExpect(status().isOk());
+    }
+
+    @Test
+    void interactionEndpointsStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/interactions/my").with(patient())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/interactions/alerts").with(patient())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/interactions/all").with(user("admin@example.com").roles("ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void interactionEndpointsNeedALogin() throws Exception {
+        mockMvc.perform(get("/api/interactions/my")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/api/interactions/alerts")).andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void endpointOverBudgetFails() throws Exception {
+        mockMvc.perform(get("/api/test/over-budget"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message", containsString("Query budget of 1 statements exceeded")));
+    }
+}
@@ -0,0 +1,76 @@
+package com.PrescribeCorrect.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil(10);
+
+    private String token(String subject, Date expiration, SecretKey key) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .setExpiration(expiration)
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private SecretKey signingKey() {
+        return (SecretKey) ReflectionTestUtils.getField(jwtUtil, "signingKey");
+    }
+
+    @Test
+    void validTokenIsAccepted() {
+        String token = jwtUtil.generateToken("user@example.com");
+        assertEquals("user@example.com", jwtUtil.validate(token).getSubject());
+        // the second call is served from the cache
+        assertEquals("user@example.com", jwtUtil.extractUsername(token));
+    }
+
+    @Test
+    void expiredTokenIsRejectedAfterItWasCached() throws InterruptedException {
+        // exp is stored in whole seconds, so allow two to be sure the first check sees it unexpired
+        Date expiration = new Date(System.currentTimeMillis() + 2000);
+        String token = token("user@example.com", expiration, signingKey());
+        assertEquals("user@example.com", jwtUtil.validate(token).getSubject());
+
+        Thread.sleep(Math.max(expiration.getTime() - System.currentTimeMillis(), 0) + 100);
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.validate(token));
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        jwtUtil.validate(token("user@example.com", expiration, signingKey()));
+
+        SecretKey otherKey = Keys.hmacShaKeyFor("AnotherSecretKeyThatIsAlsoVeryLong0987654321".getBytes(StandardCharsets.UTF_8));
+        String forged = token("user@example.com", expiration, otherKey);
+        assertThrows(JwtException.class, () -> jwtUtil.validate(forged));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cacheStaysBounded() {
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        for (int i = 0; i < 100; i++) {
+            jwtUtil.validate(token("user" + i + "@example.com", expiration, signingKey()));
+        }
+        Cache<String, JwtClaims> cache = (Cache<String, JwtClaims>) ReflectionTestUtils.getField(jwtUtil, "verifiedTokens");
+        cache.cleanUp();
+        assertTrue(cache.estimatedSize() <= 10, "cache holds " + cache.estimatedSize());
+    }
+}
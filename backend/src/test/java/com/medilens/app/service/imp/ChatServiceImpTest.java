@@ -0,0 +1,80 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.MessageDTO;
+import com.PrescribeCorrect.app.model.ChatRole;
+import com.PrescribeCorrect.app.repository.ChatRepository;
+import com.PrescribeCorrect.app.repository.MessageRepository;
+import com.PrescribeCorrect.app.util.ChatStreamRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatServiceImpTest {
+
+    private static final Long CHAT = 3L;
+    private static final LocalDateTime SENT = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private MessageRepository messageRepository;
+    private ChatStreamRegistry chatStreamRegistry;
+    private ChatServiceImp service;
+
+    @BeforeEach
+    void setUp() {
+        ChatRepository chatRepository = mock(ChatRepository.class);
+        when(chatRepository.existsById(CHAT)).thenReturn(true);
+        messageRepository = mock(MessageRepository.class);
+        when(messageRepository.findCreatedAt(CHAT, 10L)).thenReturn(Optional.of(SENT));
+        chatStreamRegistry = mock(ChatStreamRegistry.class);
+        when(chatStreamRegistry.replayLimit()).thenReturn(128);
+        service = new ChatServiceImp();
+        ReflectionTestUtils.setField(service, "chatRepository", chatRepository);
+        ReflectionTestUtils.setField(service, "messageRepository", messageRepository);
+        ReflectionTestUtils.setField(service, "chatStreamRegistry", chatStreamRegistry);
+    }
+
+    private static List<MessageDTO> messages(int count) {
+        return LongStream.rangeClosed(11, 10 + count)
+                .mapToObj(id -> new MessageDTO(id, ChatRole.USER, "m" + id, SENT))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ChatStreamRegistry.Backlog reconnectBacklog(int missed) throws Exception {
+        when(messageRepository.findAfter(eq(CHAT), eq(SENT), eq(10L), any(Limit.class))).thenReturn(messages(missed));
+        service.stream(CHAT, 10L);
+        ArgumentCaptor<Supplier<ChatStreamRegistry.Backlog>> backlog = ArgumentCaptor.forClass(Supplier.class);
+        verify(chatStreamRegistry).subscribe(eq(CHAT), backlog.capture());
+        return backlog.getValue().get();
+    }
+
+    @Test
+    void reconnectReplaysWhatFits() throws Exception {
+        ChatStreamRegistry.Backlog backlog = reconnectBacklog(128);
+        assertEquals(128, backlog.messages().size());
+        assertNull(backlog.gapAfter());
+        verify(messageRepository).findAfter(CHAT, SENT, 10L, Limit.of(129));
+    }
+
+    @Test
+    void reconnectTooFarBehindGetsAGap() throws Exception {
+        ChatStreamRegistry.Backlog backlog = reconnectBacklog(129);
+        assertEquals(List.of(), backlog.messages());
+        assertEquals(10L, backlog.gapAfter());
+    }
+}
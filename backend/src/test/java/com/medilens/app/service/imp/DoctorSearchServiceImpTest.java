@@ -0,0 +1,85 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.AutocompleteSuggestionDTO;
+import com.PrescribeCorrect.app.dto.DoctorDTO;
+import com.PrescribeCorrect.app.model.Status;
+import com.PrescribeCorrect.app.repository.DoctorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DoctorSearchServiceImpTest {
+
+    private DoctorRepository doctorRepository;
+    private DoctorSearchServiceImp service;
+
+    private static DoctorDTO doctor(long id, String firstName, String lastName) {
+        DoctorDTO doctor = new DoctorDTO();
+        doctor.setId(id);
+        doctor.setFirstName(firstName);
+        doctor.setLastName(lastName);
+        doctor.setSpecialization(List.of("Medicine"));
+        doctor.setCurrentCity("Dhaka");
+        doctor.setStatus(Status.ACTIVE);
+        return doctor;
+    }
+
+    @BeforeEach
+    void setUp() {
+        doctorRepository = mock(DoctorRepository.class);
+        when(doctorRepository.findDirectoryAfter(anyLong(), any(Limit.class))).thenReturn(List.of(
+                doctor(1, "Rahim", null),
+                doctor(2, null, "Rahman"),
+                doctor(3, "Rahima", "Akter")));
+        service = new DoctorSearchServiceImp();
+        ReflectionTestUtils.setField(service, "doctorRepository", doctorRepository);
+        service.rebuild();
+    }
+
+    @Test
+    void missingNamePartIsNotSuggested() {
+        List<String> suggestions = service.autocomplete("rah", 20).stream()
+                .map(AutocompleteSuggestionDTO::getText)
+                .toList();
+        assertFalse(suggestions.stream().anyMatch(s -> s.contains("null")), suggestions.toString());
+        assertEquals(List.of("Rahim", "Rahima", "Rahima Akter", "Rahman"), suggestions.stream().sorted().toList());
+    }
+
+    @Test
+    void searchesDuringRebuildSeeTheOldIndex() {
+        when(doctorRepository.findDirectoryAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            assertEquals(3, service.search(null, null, null, null, 0, 10).getTotal());
+            return List.of(doctor(4, "Nasrin", "Sultana"));
+        });
+        service.rebuild();
+        assertEquals(1, service.search(null, null, null, null, 0, 10).getTotal());
+    }
+
+    @Test
+    void changesDuringRebuildAreKept() {
+        when(doctorRepository.findDirectoryEntry(5L)).thenReturn(Optional.of(doctor(5, "Tanvir", "Hasan")));
+        when(doctorRepository.findDirectoryAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            // saved after the rebuild read its batch: reaches the old index only, then gets replayed
+            service.reindex(5L);
+            service.remove(1L);
+            return List.of(doctor(1, "Rahim", null), doctor(4, "Nasrin", "Sultana"));
+        });
+        service.rebuild();
+        List<Long> ids = service.search(null, null, null, null, 0, 10).getHits().stream()
+                .map(DoctorDTO::getId)
+                .sorted()
+                .toList();
+        assertEquals(List.of(4L, 5L), ids);
+    }
+}
@@ -0,0 +1,73 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.exception.ImportQueueFullException;
+import com.PrescribeCorrect.app.repository.ImportJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImportJobServiceImpTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ImportJobRepository importJobRepository;
+    private ImportJobServiceImp service;
+
+    @BeforeEach
+    void setUp() {
+        importJobRepository = mock(ImportJobRepository.class);
+        when(importJobRepository.findByStatusInOrderByIdDesc(anyCollection())).thenReturn(List.of());
+        service = new ImportJobServiceImp();
+        ReflectionTestUtils.setField(service, "importJobRepository", importJobRepository);
+        ReflectionTestUtils.setField(service, "environment", new MockEnvironment());
+        ReflectionTestUtils.setField(service, "jsonFilePath", "doctors_data.json");
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void fullQueueRejectsBeforeTheJobIsStored() {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "executor");
+        // one task running and one waiting fill the single worker and its one-slot queue
+        executor.execute(this::await);
+        executor.execute(this::await);
+
+        assertThrows(ImportQueueFullException.class, service::submit);
+        verify(importJobRepository, never()).save(any());
+    }
+
+    @Test
+    void stoppedExecutorRejectsBeforeTheJobIsStored() {
+        service.shutdown();
+
+        assertThrows(ImportQueueFullException.class, service::submit);
+        verify(importJobRepository, never()).save(any());
+    }
+
+    private void await() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
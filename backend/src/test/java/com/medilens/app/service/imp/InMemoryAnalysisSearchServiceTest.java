@@ -0,0 +1,86 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.AnalysisSearchResultDTO;
+import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+import com.PrescribeCorrect.app.model.User;
+import com.PrescribeCorrect.app.repository.PrescriptionAnalysisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryAnalysisSearchServiceTest {
+
+    private static final String OWNER = "patient@example.com";
+
+    private PrescriptionAnalysisRepository analysisRepository;
+    private InMemoryAnalysisSearchService service;
+
+    private static PrescriptionAnalysis analysis(long id, String medicine) {
+        User user = new User();
+        user.setEmail(OWNER);
+        PrescriptionAnalysis analysis = new PrescriptionAnalysis();
+        analysis.setId(id);
+        analysis.setUser(user);
+        analysis.setMedicines(List.of(medicine));
+        analysis.setAnalysisSummary("Summary " + id);
+        return analysis;
+    }
+
+    private List<Long> ids(String query) {
+        AnalysisSearchResultDTO result = service.search(OWNER, query, 0, 100);
+        return result.getHits().stream().map(hit -> hit.getAnalysis().getId()).sorted().toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        analysisRepository = mock(PrescriptionAnalysisRepository.class);
+        when(analysisRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(analysis(1, "Napa"), analysis(2, "Napa"), analysis(3, "Napa"))));
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        service = new InMemoryAnalysisSearchService();
+        ReflectionTestUtils.setField(service, "analysisRepository", analysisRepository);
+        ReflectionTestUtils.setField(service, "transactionTemplate", transactionTemplate);
+        service.rebuild();
+    }
+
+    @Test
+    void searchesDuringRebuildSeeTheOldIndex() {
+        when(analysisRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            assertEquals(List.of(1L, 2L, 3L), ids("napa"));
+            return new PageImpl<>(List.of(analysis(4, "Napa")));
+        });
+        service.rebuild();
+        assertEquals(List.of(4L), ids("napa"));
+    }
+
+    @Test
+    void changesDuringRebuildAreKept() {
+        when(analysisRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            // saved and deleted after the rebuild read its batch: reach the old index only, then get replayed
+            service.index(analysis(5, "Napa"));
+            service.remove(1L);
+            return new PageImpl<>(List.of(analysis(1, "Napa"), analysis(4, "Napa")));
+        });
+        service.rebuild();
+        assertEquals(List.of(4L, 5L), ids("napa"));
+    }
+
+    @Test
+    void removedAnalysisIsNotFound() {
+        service.remove(2L);
+        assertEquals(List.of(1L, 3L), ids("napa"));
+    }
+}
@@ -0,0 +1,29 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.MessageDTO;
+import com.PrescribeCorrect.app.model.ChatRole;
+import com.PrescribeCorrect.app.util.ChatStreamRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class InProcessChatMessageBroadcasterTest {
+
+    @Test
+    void publishDeliversToThisInstancesSubscribers() {
+        ChatStreamRegistry registry = mock(ChatStreamRegistry.class);
+        InProcessChatMessageBroadcaster broadcaster = new InProcessChatMessageBroadcaster();
+        ReflectionTestUtils.setField(broadcaster, "chatStreamRegistry", registry);
+        MessageDTO message = new MessageDTO(5L, ChatRole.USER, "hello", LocalDateTime.now());
+
+        broadcaster.publish(3L, message);
+
+        verify(registry).deliver(3L, message);
+        verifyNoMoreInteractions(registry);
+    }
+}
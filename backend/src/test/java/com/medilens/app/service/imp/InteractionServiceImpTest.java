@@ -0,0 +1,191 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.UserInteractionsPageDTO;
+import com.PrescribeCorrect.app.model.InteractionAlert;
+import com.PrescribeCorrect.app.model.InteractionSeverity;
+import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+import com.PrescribeCorrect.app.model.User;
+import com.PrescribeCorrect.app.repository.InteractionAlertRepository;
+import com.PrescribeCorrect.app.repository.PrescriptionAnalysisRepository;
+import com.PrescribeCorrect.app.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class InteractionServiceImpTest {
+
+    private static final String OWNER = "patient@example.com";
+
+    private UserRepository userRepository;
+    private PrescriptionAnalysisRepository analysisRepository;
+    private InteractionAlertRepository alertRepository;
+    private InteractionServiceImp service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        analysisRepository = mock(PrescriptionAnalysisRepository.class);
+        alertRepository = mock(InteractionAlertRepository.class);
+        service = new InteractionServiceImp();
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "analysisRepository", analysisRepository);
+        ReflectionTestUtils.setField(service, "alertRepository", alertRepository);
+        ReflectionTestUtils.setField(service, "medicineExtractionService", new MedicineExtractionServiceImp());
+        ReflectionTestUtils.setField(service, "historyDays", 180);
+        ReflectionTestUtils.setField(service, "alertWindowDays", 30);
+
+        user = new User();
+        user.setEmail(OWNER);
+        user.setCurrentMedications(List.of("Warfarin 5mg"));
+    }
+
+    private void history(Object[]... rows) {
+        when(analysisRepository.findMedicinesSince(eq(OWNER), any(LocalDateTime.class))).thenReturn(List.of(rows));
+    }
+
+    private PrescriptionAnalysis analysis(long id, String... medicines) {
+        PrescriptionAnalysis analysis = new PrescriptionAnalysis();
+        analysis.setId(id);
+        analysis.setUser(user);
+        analysis.setMedicines(List.of(medicines));
+        return analysis;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> savedPairs() {
+        ArgumentCaptor<List<InteractionAlert>> saved = ArgumentCaptor.forClass(List.class);
+        verify(alertRepository).saveAll(saved.capture());
+        List<String> pairs = new ArrayList<>();
+        for (InteractionAlert alert : saved.getValue()) {
+            assertEquals(OWNER, alert.getUser().getEmail());
+            pairs.add(alert.getDrugA() + "+" + alert.getDrugB() + " " + alert.getSeverity());
+        }
+        return pairs;
+    }
+
+    private static InteractionAlert alert(String drugA, String drugB) {
+        InteractionAlert alert = new InteractionAlert();
+        alert.setDrugA(drugA);
+        alert.setDrugB(drugB);
+        alert.setSeverity(InteractionSeverity.MAJOR);
+        return alert;
+    }
+
+    @Test
+    void newAnalysisAlertsThePairsItBringsIn() {
+        history();
+        service.checkNewAnalysis(analysis(2, "Ecosprin 75mg", "Fexo 120mg"));
+        assertEquals(List.of("aspirin+warfarin MAJOR"), savedPairs());
+    }
+
+    @Test
+    void newAnalysisIsNotItsOwnHistory() {
+        // the analysis is already saved, so the history query returns it too
+        history(new Object[]{2L, List.of("Ecosprin 75mg")});
+        service.checkNewAnalysis(analysis(2, "Ecosprin 75mg"));
+        assertEquals(List.of("aspirin+warfarin MAJOR"), savedPairs());
+    }
+
+    @Test
+    void drugsAlreadyTakenAreNotAlertedAgain() {
+        history(new Object[]{1L, List.of("Ecosprin 75mg")});
+        service.checkNewAnalysis(analysis(2, "Ecosprin 75mg", "Fexo 120mg"));
+        verify(alertRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void pairAlertedWithinTheWindowIsNotRepeated() {
+        history();
+        when(alertRepository.findByUser_EmailAndDetectedAtAfter(eq(OWNER), any()))
+                .thenReturn(List.of(alert("aspirin", "warfarin")));
+        service.checkNewAnalysis(analysis(2, "Ecosprin 75mg"));
+        verify(alertRepository, never()).saveAll(any());
+
+        ArgumentCaptor<LocalDateTime> after = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(alertRepository).findByUser_EmailAndDetectedAtAfter(eq(OWNER), after.capture());
+        LocalDateTime windowStart = LocalDateTime.now().minusDays(30);
+        assertTrue(after.getValue().isAfter(windowStart.minusMinutes(1)) && after.getValue().isBefore(windowStart.plusMinutes(1)),
+                after.getValue().toString());
+    }
+
+    @Test
+    void analysisWithoutKnownDrugsIsNotChecked() {
+        service.checkNewAnalysis(analysis(2, "Fexo 120mg"));
+        verifyNoInteractions(analysisRepository, alertRepository);
+    }
+
+    @Test
+    void addedMedicationIsCheckedAgainstHistory() {
+        history(new Object[]{1L, List.of("ibuprofen 400mg")});
+        user.setCurrentMedications(List.of("Fexo", "Warfarin 5mg"));
+        service.checkMedicationChange(user, List.of("Fexo"));
+        assertEquals(List.of("ibuprofen+warfarin MAJOR"), savedPairs());
+    }
+
+    @Test
+    void removedMedicationIsNotChecked() {
+        user.setCurrentMedications(List.of("Fexo"));
+        service.checkMedicationChange(user, List.of("Fexo", "Warfarin 5mg"));
+        verifyNoInteractions(analysisRepository, alertRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void allUsersArePagedByEmail() {
+        when(userRepository.findCurrentMedicationsAfter("", Limit.of(3))).thenReturn(List.of(
+                new Object[]{"a@example.com", List.of("Warfarin 5mg")},
+                new Object[]{"b@example.com", List.of("Fexo")},
+                new Object[]{"c@example.com", List.of("Warfarin 5mg", "Ecosprin")}));
+        when(analysisRepository.findMedicinesSince(anyCollection(), any(LocalDateTime.class))).thenReturn(List.of(
+                new Object[]{"a@example.com", List.of("Ecosprin 75mg")},
+                new Object[]{"b@example.com", List.of("ibuprofen")}));
+
+        UserInteractionsPageDTO page = service.checkAllUsers(null, 2);
+        assertTrue(page.isHasMore());
+        assertEquals("b@example.com", page.getNextCursor());
+        assertEquals(1, page.getContent().size());
+        assertEquals("a@example.com", page.getContent().get(0).getEmail());
+        assertEquals(List.of("aspirin", "warfarin"), page.getContent().get(0).getDrugs());
+
+        // only the page's users are read, never the one fetched to see if there is more
+        ArgumentCaptor<Collection<String>> emails = ArgumentCaptor.forClass(Collection.class);
+        verify(analysisRepository).findMedicinesSince(emails.capture(), any(LocalDateTime.class));
+        assertEquals(List.of("a@example.com", "b@example.com"), new ArrayList<>(emails.getValue()));
+    }
+
+    @Test
+    void lastPageHasNoMore() {
+        when(userRepository.findCurrentMedicationsAfter("b@example.com", Limit.of(3))).thenReturn(List.of());
+        UserInteractionsPageDTO page = service.checkAllUsers("b@example.com", 2);
+        assertFalse(page.isHasMore());
+        assertEquals(List.of(), page.getContent());
+        verifyNoInteractions(analysisRepository);
+    }
+
+    @Test
+    void pageSizeIsBounded() {
+        assertThrows(IllegalArgumentException.class, () -> service.checkAllUsers(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.checkAllUsers(null, 1001));
+    }
+}
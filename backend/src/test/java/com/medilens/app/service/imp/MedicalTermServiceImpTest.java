@@ -0,0 +1,36 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MedicalTermServiceImpTest {
+
+    private static MedicalTermServiceImp service(String location) {
+        MedicalTermServiceImp service = new MedicalTermServiceImp();
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(service, "trainingDataLocation", location);
+        return service;
+    }
+
+    @Test
+    void packagedTrainingDataLoads() throws Exception {
+        MedicalTermServiceImp service = service("classpath:medical-terms/training_data.json");
+        service.load();
+        assertTrue(service.getDictionary().size() > 1000);
+        assertEquals("slimming", service.getTerm("Slimming").getTerm());
+    }
+
+    @Test
+    void missingTrainingDataStopsStartup() {
+        MedicalTermServiceImp service = service("does-not-exist/training_data.json");
+        IllegalStateException e = assertThrows(IllegalStateException.class, service::load);
+        assertTrue(e.getMessage().contains("not found"), e.getMessage());
+    }
+}
@@ -0,0 +1,65 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// the packaged vocabulary: training data, medicine names and prescription words
+class OcrCorrectionServiceImpTest {
+
+    private static OcrCorrectionServiceImp service;
+
+    @BeforeAll
+    static void build() throws Exception {
+        MedicalTermServiceImp medicalTermService = new MedicalTermServiceImp();
+        ReflectionTestUtils.setField(medicalTermService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(medicalTermService, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(medicalTermService, "trainingDataLocation", "classpath:medical-terms/training_data.json");
+        medicalTermService.load();
+
+        service = new OcrCorrectionServiceImp();
+        ReflectionTestUtils.setField(service, "medicalTermService", medicalTermService);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "maxDistance", 2);
+        service.build();
+    }
+
+    @Test
+    void dosageFormsAndUnitsAreKnown() {
+        String text = "Syp. Napa 1 tsf TDS, Susp. Amodis 2 tsp, Oint. apply at night, Supp. if needed";
+        assertEquals(text, service.correct(text));
+    }
+
+    @Test
+    void namesAreLeftAlone() {
+        String text = "Patient: Tamen Habib. Father: Rahim Mandal. Mother: Rashida Akter";
+        assertEquals(text, service.correct(text));
+    }
+
+    @Test
+    void namesInCapitalsAreLeftAlone() {
+        for (String text : new String[]{"HABIB RAHMAN", "MD KARIM AKTER", "Dr. MANDAL", "SALMA KHATUN", "Mirpur, DHAKA"}) {
+            assertEquals(text, service.correct(text));
+        }
+    }
+
+    @Test
+    void misreadWordsAreCorrected() {
+        assertEquals("Tab. Napa 500mg after meal for 5 days",
+                service.correct("Tab. Nepa 500mg afler rneal for 5 dayz"));
+    }
+
+    @Test
+    void correctionCanBeTurnedOff() {
+        ReflectionTestUtils.setField(service, "enabled", false);
+        try {
+            assertEquals("afler rneal", service.correct("afler rneal"));
+        } finally {
+            ReflectionTestUtils.setField(service, "enabled", true);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.PrescriptionAnalysisDTO;
+import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+import com.PrescribeCorrect.app.model.User;
+import com.PrescribeCorrect.app.repository.PrescriptionAnalysisRepository;
+import com.PrescribeCorrect.app.repository.UserRepository;
+import com.PrescribeCorrect.app.service.AnalysisCacheService;
+import com.PrescribeCorrect.app.service.AnalysisSearchService;
+import com.PrescribeCorrect.app.service.InteractionService;
+import com.PrescribeCorrect.app.service.OcrCorrectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrescriptionAnalysisServiceImpTest {
+
+    private static final String OWNER = "patient@example.com";
+
+    private OcrCorrectionService ocrCorrectionService;
+    private AnalysisCacheService analysisCacheService;
+    private PrescriptionAnalysisServiceImp service;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail(OWNER);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.getUserByEmail(OWNER)).thenReturn(Optional.of(user));
+        PrescriptionAnalysisRepository analysisRepository = mock(PrescriptionAnalysisRepository.class);
+        when(analysisRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ocrCorrectionService = mock(OcrCorrectionService.class);
+        analysisCacheService = mock(AnalysisCacheService.class);
+
+        service = new PrescriptionAnalysisServiceImp();
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "analysisRepository", analysisRepository);
+        ReflectionTestUtils.setField(service, "ocrCorrectionService", ocrCorrectionService);
+        ReflectionTestUtils.setField(service, "medicineExtractionService", new MedicineExtractionServiceImp());
+        ReflectionTestUtils.setField(service, "analysisSearchService", mock(AnalysisSearchService.class));
+        ReflectionTestUtils.setField(service, "interactionService", mock(InteractionService.class));
+        ReflectionTestUtils.setField(service, "analysisCacheService", analysisCacheService);
+    }
+
+    private static PrescriptionAnalysis analysis(String text) {
+        PrescriptionAnalysis analysis = new PrescriptionAnalysis();
+        analysis.setFullPrescriptionText(text);
+        analysis.setAnalysisSummary("Fever");
+        return analysis;
+    }
+
+    @Test
+    void correctedTextIsKeptNextToTheOriginal() throws Exception {
+        when(ocrCorrectionService.correct("Tab. Nepa 500mg")).thenReturn("Tab. Napa 500mg");
+        PrescriptionAnalysisDTO saved = service.saveAnalysis(analysis("Tab. Nepa 500mg"), OWNER);
+
+        assertEquals("Tab. Nepa 500mg", saved.getFullPrescriptionText());
+        assertEquals("Tab. Napa 500mg", saved.getCorrectedPrescriptionText());
+        // medicines are read from the corrected text
+        assertEquals(List.of("Napa 500mg"), saved.getMedicines());
+    }
+
+    @Test
+    void nothingIsStoredWhenCorrectionChangesNothing() throws Exception {
+        when(ocrCorrectionService.correct("Tab. Napa 500mg")).thenReturn("Tab. Napa 500mg");
+        PrescriptionAnalysisDTO saved = service.saveAnalysis(analysis("Tab. Napa 500mg"), OWNER);
+
+        assertEquals("Tab. Napa 500mg", saved.getFullPrescriptionText());
+        assertNull(saved.getCorrectedPrescriptionText());
+    }
+
+    @Test
+    void analysisIsCachedOnlyOnceCommitted() throws Exception {
+        when(ocrCorrectionService.correct("Tab. Napa 500mg")).thenReturn("Tab. Napa 500mg");
+        PrescriptionAnalysis analysis = analysis("Tab. Napa 500mg");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.saveAnalysis(analysis, OWNER);
+            verify(analysisCacheService, never()).put(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(analysisCacheService).put(analysis);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.model.User;
+import com.PrescribeCorrect.app.repository.PrescriptionAnalysisRepository;
+import com.PrescribeCorrect.app.repository.UserRepository;
+import com.PrescribeCorrect.app.security.PrincipalCache;
+import com.PrescribeCorrect.app.service.AnalysisCacheService;
+import com.PrescribeCorrect.app.service.AnalysisSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImpTest {
+
+    @Test
+    void deletedUsersAnalysesLeaveTheSearchIndexAndCache() throws Exception {
+        User user = new User();
+        user.setEmail("patient@example.com");
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.getUserByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        PrescriptionAnalysisRepository analysisRepository = mock(PrescriptionAnalysisRepository.class);
+        when(analysisRepository.findIdsByUserEmail(user.getEmail())).thenReturn(List.of(3L, 8L));
+        AnalysisSearchService analysisSearchService = mock(AnalysisSearchService.class);
+        AnalysisCacheService analysisCacheService = mock(AnalysisCacheService.class);
+
+        UserServiceImp service = new UserServiceImp();
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "analysisRepository", analysisRepository);
+        ReflectionTestUtils.setField(service, "analysisSearchService", analysisSearchService);
+        ReflectionTestUtils.setField(service, "analysisCacheService", analysisCacheService);
+        ReflectionTestUtils.setField(service, "principalCache", mock(PrincipalCache.class));
+        service.delete(user.getEmail());
+
+        verify(userRepository).delete(user);
+        verify(analysisSearchService).remove(3L);
+        verify(analysisSearchService).remove(8L);
+        verify(analysisCacheService).invalidate(user.getEmail());
+    }
+}
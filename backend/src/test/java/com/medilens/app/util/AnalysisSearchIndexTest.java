@@ -0,0 +1,56 @@
+package com.PrescribeCorrect.app.util;
+
+import com.PrescribeCorrect.app.dto.AnalysisSearchResultDTO;
+import com.PrescribeCorrect.app.dto.PrescriptionAnalysisSummaryDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnalysisSearchIndexTest {
+
+    private static final String OWNER = "patient@example.com";
+
+    private static AnalysisSearchIndex.Document document(long id, String owner, String medicine) {
+        PrescriptionAnalysisSummaryDTO summary = new PrescriptionAnalysisSummaryDTO(id, "Summary " + id,
+                "Dr. Karim", "Patient", LocalDateTime.now(), false);
+        return new AnalysisSearchIndex.DocumentBuilder()
+                .add(medicine, AnalysisSearchIndex.WEIGHT_A)
+                .build(id, owner, summary, medicine);
+    }
+
+    @Test
+    void prefixMatchesEveryCompletion() {
+        AnalysisSearchIndex index = new AnalysisSearchIndex();
+        // 100 distinct medicine names sharing the prefix "para"
+        for (int i = 0; i < 100; i++) {
+            index.put(document(i, OWNER, "Para" + i));
+        }
+        AnalysisSearchResultDTO result = index.search(OWNER, "para", 0, 10);
+        assertEquals(100, result.getTotal());
+        assertEquals(10, result.getHits().size());
+    }
+
+    @Test
+    void onlyTheOwnersAnalysesMatch() {
+        AnalysisSearchIndex index = new AnalysisSearchIndex();
+        index.put(document(1, OWNER, "Napa"));
+        index.put(document(2, "other@example.com", "Napa"));
+        AnalysisSearchResultDTO result = index.search(OWNER, "napa", 0, 10);
+        assertEquals(1, result.getTotal());
+        assertEquals(1L, result.getHits().get(0).getAnalysis().getId());
+    }
+
+    @Test
+    void removedAnalysisIsNotFound() {
+        AnalysisSearchIndex index = new AnalysisSearchIndex();
+        index.put(document(1, OWNER, "Napa"));
+        index.put(document(2, OWNER, "Napa Extra"));
+        index.remove(1L);
+        AnalysisSearchResultDTO result = index.search(OWNER, "napa", 0, 10);
+        assertEquals(1, result.getTotal());
+        assertEquals(2L, result.getHits().get(0).getAnalysis().getId());
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,42 @@
+package com.PrescribeCorrect.app.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArrayColumnBackfillTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    private ArrayColumnBackfill backfill(int legacyTables) {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any())).thenReturn(legacyTables);
+        ArrayColumnBackfill backfill = new ArrayColumnBackfill();
+        ReflectionTestUtils.setField(backfill, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(backfill, "transactionTemplate", transactionTemplate);
+        return backfill;
+    }
+
+    @Test
+    void nothingToDoWithoutTheJoinTables() {
+        backfill(0).run();
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void startupFailsWhenTheCopyFails() {
+        when(transactionTemplate.execute(any())).thenThrow(new DataAccessResourceFailureException("column missing"));
+        assertThrows(IllegalStateException.class, () -> backfill(1).run());
+    }
+}
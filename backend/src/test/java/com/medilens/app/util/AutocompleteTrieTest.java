@@ -0,0 +1,97 @@
+package com.PrescribeCorrect.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutocompleteTrieTest {
+
+    private static List<String> texts(List<AutocompleteTrie.Suggestion> suggestions) {
+        return suggestions.stream().map(AutocompleteTrie.Suggestion::text).toList();
+    }
+
+    @Test
+    void completesPrefix() {
+        AutocompleteTrie trie = new AutocompleteTrie.Builder()
+                .add("Karim", AutocompleteTrie.Type.NAME)
+                .add("Kamal", AutocompleteTrie.Type.NAME)
+                .add("Cardiology", AutocompleteTrie.Type.SPECIALIZATION)
+                .build();
+        assertEquals(List.of("Kamal", "Karim"), texts(trie.suggest("ka", 10)));
+        assertEquals(List.of("Cardiology"), texts(trie.suggest("card", 10)));
+        assertTrue(trie.suggest("z", 10).isEmpty());
+    }
+
+    @Test
+    void normalizesCaseAccentsAndPunctuation() {
+        AutocompleteTrie trie = new AutocompleteTrie.Builder()
+                .add("Ear, Nose & Throat", AutocompleteTrie.Type.SPECIALIZATION)
+                .add("Café", AutocompleteTrie.Type.CITY)
+                .build();
+        assertEquals(List.of("Ear, Nose & Throat"), texts(trie.suggest("EAR NOSE", 10)));
+        assertEquals(List.of("Café"), texts(trie.suggest("cafe", 10)));
+    }
+
+    @Test
+    void ranksMoreFrequentTermsFirst() {
+        AutocompleteTrie trie = new AutocompleteTrie.Builder()
+                .add("Dhaka", AutocompleteTrie.Type.CITY)
+                .add("Dinajpur", AutocompleteTrie.Type.CITY)
+                .add("Dinajpur", AutocompleteTrie.Type.CITY)
+                .add("Dinajpur", AutocompleteTrie.Type.CITY)
+                .build();
+        List<AutocompleteTrie.Suggestion> suggestions = trie.suggest("d", 10);
+        assertEquals(List.of("Dinajpur", "Dhaka"), texts(suggestions));
+        assertEquals(3, suggestions.get(0).weight());
+    }
+
+    @Test
+    void exactPrefixOutranksTypo() {
+        AutocompleteTrie trie = new AutocompleteTrie.Builder()
+                .add("Rahman", AutocompleteTrie.Type.NAME)
+                .add("Rohman", AutocompleteTrie.Type.NAME)
+                .add("Rohman", AutocompleteTrie.Type.NAME)
+                .build();
+        List<AutocompleteTrie.Suggestion> suggestions = trie.suggest("rahm", 10);
+        assertEquals(List.of("Rahman", "Rohman"), texts(suggestions));
+        assertEquals(0, suggestions.get(0).distance());
+        assertEquals(1, suggestions.get(1).distance());
+    }
+
+    @Test
+    void shortQueriesAreNotFuzzy() {
+        AutocompleteTrie trie = new AutocompleteTrie.Builder()
+                .add("Rahman", AutocompleteTrie.Type.NAME)
+                .build();
+        assertTrue(trie.suggest("ro", 10).isEmpty());
+    }
+
+    @Test
+    void largeRangeReturnsHeaviestTerms() {
+        // more terms under "s" than the pre-ranking threshold, with two clearly heavier ones
+        AutocompleteTrie.Builder builder = new AutocompleteTrie.Builder();
+        for (int i = 0; i < 200; i++) {
+            builder.add("Surgeon " + i, AutocompleteTrie.Type.NAME);
+        }
+        for (int i = 0; i < 5; i++) {
+            builder.add("Sylhet", AutocompleteTrie.Type.CITY);
+            builder.add("Savar", AutocompleteTrie.Type.CITY);
+        }
+        builder.add("Sylhet", AutocompleteTrie.Type.CITY);
+        List<AutocompleteTrie.Suggestion> suggestions = builder.build().suggest("s", 5);
+        assertEquals(5, suggestions.size());
+        assertEquals(List.of("Sylhet", "Savar"), texts(suggestions.subList(0, 2)));
+    }
+
+    @Test
+    void limitIsCapped() {
+        AutocompleteTrie.Builder builder = new AutocompleteTrie.Builder();
+        for (int i = 0; i < 50; i++) {
+            builder.add("Name " + i, AutocompleteTrie.Type.NAME);
+        }
+        assertEquals(AutocompleteTrie.MAX_LIMIT, builder.build().suggest("name", 100).size());
+    }
+}
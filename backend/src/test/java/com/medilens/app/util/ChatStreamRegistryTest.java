@@ -0,0 +1,145 @@
+package com.PrescribeCorrect.app.util;
+
+import com.PrescribeCorrect.app.dto.MessageDTO;
+import com.PrescribeCorrect.app.model.ChatRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ChatStreamRegistryTest {
+
+    private static final Long CHAT = 7L;
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    private ChatStreamRegistry registry;
+    private MockMvc mockMvc;
+    private Supplier<ChatStreamRegistry.Backlog> backlog = () -> ChatStreamRegistry.Backlog.NONE;
+
+    @RestController
+    class StreamController {
+        @GetMapping("/stream")
+        SseEmitter stream() {
+            return registry.subscribe(CHAT, backlog);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new ChatStreamRegistry(60_000, 8, 2, new SimpleMeterRegistry(), new MockEnvironment());
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    private static MessageDTO message(long id) {
+        return new MessageDTO(id, ChatRole.USER, "message " + id, LocalDateTime.now());
+    }
+
+    private MvcResult open() throws Exception {
+        return mockMvc.perform(get("/stream")).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static List<Long> eventIds(MvcResult result, int expected) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int attempt = 0; attempt < 200; attempt++) {
+            ids.clear();
+            Matcher matcher = EVENT_ID.matcher(result.getResponse().getContentAsString());
+            while (matcher.find()) {
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+            if (ids.size() >= expected) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        return ids;
+    }
+
+    @Test
+    void replaysBacklogThenLiveMessages() throws Exception {
+        backlog = () -> new ChatStreamRegistry.Backlog(List.of(message(1), message(2)), null);
+        MvcResult result = open();
+        registry.deliver(CHAT, message(3));
+        registry.deliver(CHAT + 1, message(99));
+
+        assertEquals(List.of(1L, 2L, 3L), eventIds(result, 3));
+        assertEquals(1, registry.subscriberCount());
+    }
+
+    @Test
+    void messagesPublishedWhileTheBacklogLoadsAreNotDuplicated() throws Exception {
+        backlog = () -> {
+            // message 2 is committed after the subscriber registered but before the replay query ran
+            registry.deliver(CHAT, message(2));
+            registry.deliver(CHAT, message(3));
+            return new ChatStreamRegistry.Backlog(List.of(message(1), message(2)), null);
+        };
+        MvcResult result = open();
+
+        assertEquals(List.of(1L, 2L, 3L), eventIds(result, 3));
+    }
+
+    @Test
+    void gapIsAnnouncedBeforeLiveMessages() throws Exception {
+        backlog = () -> ChatStreamRegistry.Backlog.gap(40L);
+        MvcResult result = open();
+        registry.deliver(CHAT, message(500));
+
+        assertEquals(List.of(500L), eventIds(result, 1));
+        String content = result.getResponse().getContentAsString();
+        assertTrue(content.startsWith("event:gap\ndata:{\"after\":40}"), content);
+    }
+
+    @Test
+    void replayLeavesRoomInTheQueue() {
+        assertEquals(4, registry.replayLimit());
+    }
+
+    @Test
+    void streamEndedByTheContainerIsUnsubscribed() throws Exception {
+        MvcResult result = open();
+        assertEquals(1, registry.subscriberCount());
+
+        // what the container does when the client goes away or the request times out
+        result.getRequest().getAsyncContext().complete();
+        assertEquals(0, registry.subscriberCount());
+        registry.deliver(CHAT, message(1));
+        assertEquals(List.of(), eventIds(result, 0));
+    }
+
+    @Test
+    void failedBacklogQueryUnsubscribes() {
+        backlog = () -> {
+            throw new IllegalStateException("database down");
+        };
+        try {
+            open();
+        } catch (Exception expected) {
+            // surfaced to the caller as a failed request
+        }
+        assertEquals(0, registry.subscriberCount());
+    }
+}
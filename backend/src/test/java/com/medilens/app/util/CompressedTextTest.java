@@ -0,0 +1,74 @@
+package com.PrescribeCorrect.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedTextTest {
+
+    private static final String PRESCRIPTION = "Tab. Napa 500mg 1+0+1 after meal for 5 days\n"
+            + "Cap. Seclo 20mg 1+0+1 before meal";
+
+    // PRESCRIPTION as written by DEFLATE_V1; rows like this are already in the database
+    private static final byte[] STORED_V1 = {1, 67, -113, 32, 72, 76, 32, -123, 45, -62, -25, 92, -24, -27, 39,
+            68, 45, 82, -100, 0, 0};
+
+    private static String roundTrip(String text) {
+        return CompressedText.fromStored(CompressedText.of(text).stored()).text();
+    }
+
+    @Test
+    void emptyText() {
+        assertArrayEquals(new byte[]{CompressedText.PLAIN}, CompressedText.of("").stored());
+        assertEquals("", roundTrip(""));
+    }
+
+    @Test
+    void shortTextIsStoredPlain() {
+        byte[] stored = CompressedText.of("Napa 500mg").stored();
+        assertEquals(CompressedText.PLAIN, stored[0]);
+        assertEquals("Napa 500mg", roundTrip("Napa 500mg"));
+    }
+
+    @Test
+    void longTextIsCompressed() {
+        String text = (PRESCRIPTION + "\n").repeat(50);
+        byte[] stored = CompressedText.of(text).stored();
+        assertEquals(CompressedText.DEFLATE_V1, stored[0]);
+        assertTrue(stored.length < text.length() / 10);
+        assertEquals(text, roundTrip(text));
+    }
+
+    @Test
+    void banglaText() {
+        String text = "ট্যাব. নাপা ৫০০ মি.গ্রা. ১+০+১ খাবারের পরে ৫ দিন, ক্যাপ. সেকলো ২০ মি.গ্রা. খাবারের আগে";
+        assertEquals(CompressedText.DEFLATE_V1, CompressedText.of(text).stored()[0]);
+        assertEquals(text, roundTrip(text));
+        assertEquals("নাপা", roundTrip("নাপা"));
+    }
+
+    @Test
+    void storedRowsStillDecode() {
+        assertEquals(PRESCRIPTION, CompressedText.fromStored(STORED_V1).text());
+        assertArrayEquals(STORED_V1, CompressedText.of(PRESCRIPTION).stored());
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        assertThrows(IllegalStateException.class, () -> CompressedText.fromStored(new byte[]{9, 1, 2}).text());
+    }
+
+    @Test
+    void converterMapsNullAndEmptyColumnsToNull() {
+        CompressedTextConverter converter = new CompressedTextConverter();
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+        assertNull(converter.convertToEntityAttribute(new byte[0]));
+        assertEquals(PRESCRIPTION, converter.convertToEntityAttribute(
+                converter.convertToDatabaseColumn(CompressedText.of(PRESCRIPTION))).text());
+    }
+}
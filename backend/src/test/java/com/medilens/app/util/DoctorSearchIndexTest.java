@@ -0,0 +1,58 @@
+package com.PrescribeCorrect.app.util;
+
+import com.PrescribeCorrect.app.dto.DoctorDTO;
+import com.PrescribeCorrect.app.dto.DoctorSearchResultDTO;
+import com.PrescribeCorrect.app.model.Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DoctorSearchIndexTest {
+
+    private static DoctorDTO doctor(long id, String firstName, String lastName, String specialization, String city) {
+        DoctorDTO doctor = new DoctorDTO();
+        doctor.setId(id);
+        doctor.setFirstName(firstName);
+        doctor.setLastName(lastName);
+        doctor.setSpecialization(List.of(specialization));
+        doctor.setCurrentCity(city);
+        doctor.setStatus(Status.ACTIVE);
+        return doctor;
+    }
+
+    @Test
+    void prefixMatchesEveryCompletion() {
+        DoctorSearchIndex index = new DoctorSearchIndex();
+        // 200 distinct last names sharing the prefix "ka"
+        for (int i = 0; i < 200; i++) {
+            index.put(doctor(i, "Doctor", "Ka" + i, "Medicine", "Dhaka"));
+        }
+        DoctorSearchResultDTO result = index.search("ka", null, null, null, 0, 10);
+        assertEquals(200, result.getTotal());
+        assertEquals(10, result.getHits().size());
+    }
+
+    @Test
+    void pageFarPastTheEndIsEmpty() {
+        DoctorSearchIndex index = new DoctorSearchIndex();
+        index.put(doctor(1, "Abdul", "Karim", "Medicine", "Dhaka"));
+        DoctorSearchResultDTO result = index.search(null, null, null, null, Integer.MAX_VALUE, 100);
+        assertEquals(1, result.getTotal());
+        assertTrue(result.getHits().isEmpty());
+    }
+
+    @Test
+    void removedDoctorIsNotFound() {
+        DoctorSearchIndex index = new DoctorSearchIndex();
+        index.put(doctor(1, "Abdul", "Karim", "Medicine", "Dhaka"));
+        index.put(doctor(2, "Nasrin", "Karim", "Cardiology", "Sylhet"));
+        index.remove(1L);
+        DoctorSearchResultDTO result = index.search("karim", null, null, null, 0, 10);
+        assertEquals(1, result.getTotal());
+        assertEquals(2L, result.getHits().get(0).getId());
+        assertEquals(1, result.getCityFacets().size());
+    }
+}
@@ -0,0 +1,83 @@
+package com.PrescribeCorrect.app.util;
+
+import com.PrescribeCorrect.app.model.InteractionSeverity;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InteractionTableTest {
+
+    private static final InteractionTable TABLE = new InteractionTable.Builder()
+            .addGroup("@nsaids", List.of("ibuprofen", " Naproxen "))
+            .addInteraction("warfarin", "aspirin", InteractionSeverity.MAJOR, "bleeding")
+            .addInteraction("@nsaids", "@nsaids", InteractionSeverity.MODERATE, "two nsaids")
+            .addInteraction("aspirin", "@nsaids", InteractionSeverity.MINOR, "blocks aspirin")
+            .addInteraction("naproxen", "aspirin", InteractionSeverity.MODERATE, "naproxen and aspirin")
+            .build();
+
+    private static int id(String drug) {
+        return TABLE.id(drug);
+    }
+
+    private static List<String> pairs(List<InteractionTable.Interaction> found) {
+        return found.stream().map(interaction -> interaction.drugA() + "+" + interaction.drugB()).sorted().toList();
+    }
+
+    @Test
+    void cellsAreSymmetricWithDrugsInOrder() {
+        InteractionTable.Interaction interaction = TABLE.get(id("warfarin"), id("aspirin"));
+        assertSame(interaction, TABLE.get(id("aspirin"), id("warfarin")));
+        assertEquals("aspirin", interaction.drugA());
+        assertEquals("warfarin", interaction.drugB());
+        assertNull(TABLE.get(id("warfarin"), id("ibuprofen")));
+    }
+
+    @Test
+    void groupsExpandAndPairWithThemselves() {
+        assertEquals("two nsaids", TABLE.get(id("ibuprofen"), id("naproxen")).description());
+        assertNull(TABLE.get(id("ibuprofen"), id("ibuprofen")));
+    }
+
+    @Test
+    void moreSevereLineWins() {
+        assertEquals(InteractionSeverity.MINOR, TABLE.get(id("aspirin"), id("ibuprofen")).severity());
+        assertEquals(InteractionSeverity.MODERATE, TABLE.get(id("aspirin"), id("naproxen")).severity());
+    }
+
+    @Test
+    void drugsWithoutInteractionsHaveNoId() {
+        assertTrue(TABLE.id("paracetamol") < 0);
+        assertEquals(id("naproxen"), TABLE.id(" NAPROXEN"));
+        assertEquals(4, TABLE.drugCount());
+        assertEquals(4, TABLE.interactionCount());
+    }
+
+    @Test
+    void checkFindsEveryPair() {
+        assertEquals(List.of("aspirin+ibuprofen", "aspirin+warfarin"),
+                pairs(TABLE.check(new int[]{id("warfarin"), id("aspirin"), id("ibuprofen")})));
+    }
+
+    @Test
+    void checkAddedSkipsPairsAmongExistingDrugs() {
+        int[] existing = {id("warfarin"), id("aspirin")};
+        assertEquals(List.of("aspirin+ibuprofen", "aspirin+naproxen", "ibuprofen+naproxen"),
+                pairs(TABLE.checkAdded(existing, new int[]{id("ibuprofen"), id("naproxen")})));
+        assertEquals(List.of(), TABLE.checkAdded(existing, new int[0]));
+    }
+
+    @Test
+    void packagedTableLoads() throws Exception {
+        try (InputStream in = InteractionTable.class.getResourceAsStream("/medicines/interactions.tsv")) {
+            InteractionTable table = InteractionTable.load(in);
+            assertEquals(InteractionSeverity.MAJOR, table.get(table.id("warfarin"), table.id("ibuprofen")).severity());
+            assertTrue(table.interactionCount() > 50, "interactions: " + table.interactionCount());
+        }
+    }
+}
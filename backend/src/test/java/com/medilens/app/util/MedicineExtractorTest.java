@@ -0,0 +1,89 @@
+package com.PrescribeCorrect.app.util;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MedicineExtractorTest {
+
+    private static MedicineExtractor extractor;
+
+    @BeforeAll
+    static void load() throws Exception {
+        try (InputStream in = MedicineExtractor.class.getResourceAsStream("/medicines/medicines.tsv")) {
+            extractor = MedicineExtractor.load(in);
+        }
+    }
+
+    private static List<String> medicines(String text) {
+        return extractor.extract(text).stream().map(MedicineExtractor.Mention::medicine).toList();
+    }
+
+    @Test
+    void readsFormNameAndStrength() {
+        MedicineExtractor.Mention napa = extractor.extract("Tab. Napa 500mg 1+0+1").get(0);
+        assertEquals("Napa", napa.medicine());
+        assertEquals("paracetamol", napa.generic());
+        assertEquals(new MedicineExtractor.Span(5, 9, "Napa"), napa.name());
+        assertEquals("500mg", napa.strength().text());
+        assertEquals("Tab.", napa.form().text());
+        assertEquals("Tablet", napa.formName());
+    }
+
+    @Test
+    void formGluedToTheNameKeepsItsDot() {
+        MedicineExtractor.Mention napa = extractor.extract("Syp.Napa 120mg/5ml").get(0);
+        assertEquals(new MedicineExtractor.Span(0, 4, "Syp."), napa.form());
+        assertEquals(new MedicineExtractor.Span(4, 8, "Napa"), napa.name());
+        assertEquals("Syrup", napa.formName());
+    }
+
+    @Test
+    void strengthGluedToTheName() {
+        MedicineExtractor.Mention napa = extractor.extract("NAPA500mg").get(0);
+        assertEquals("Napa", napa.medicine());
+        assertEquals("500mg", napa.strength().text());
+        assertNull(napa.form());
+    }
+
+    @Test
+    void formAfterTheName() {
+        MedicineExtractor.Mention seclo = extractor.extract("Seclo 20mg capsule before meal").get(0);
+        assertEquals("Capsule", seclo.formName());
+    }
+
+    @Test
+    void longestNameWins() {
+        assertEquals(List.of("Napa Extra"), medicines("Napa Extra 1+1+1"));
+        assertEquals("paracetamol+caffeine", extractor.extract("Napa Extra").get(0).generic());
+    }
+
+    @Test
+    void namesMatchWholeWordsOnly() {
+        assertEquals(List.of(), medicines("Napalm and Seclonex"));
+    }
+
+    @Test
+    void genericsAreNamesOfTheirOwn() {
+        assertEquals(List.of("omeprazole"), medicines("omeprazole 20mg"));
+    }
+
+    @Test
+    void ambiguousBrandsAreSkippedInProse() {
+        assertEquals(List.of(), medicines("Ace of spades. We saw a comet last night, Rupa said."));
+    }
+
+    @Test
+    void ambiguousBrandsMatchNextToAFormOrStrength() {
+        assertEquals(List.of("Ace"), medicines("Tab. Ace"));
+        assertEquals(List.of("Comet"), medicines("Comet 500mg 1+0+1"));
+        assertEquals(List.of("Rupa"), medicines("Rupa 10 tablet at night"));
+        // a combination spelled out in full is not ambiguous
+        assertEquals(List.of("Ace Plus"), medicines("then Ace Plus if needed"));
+    }
+}
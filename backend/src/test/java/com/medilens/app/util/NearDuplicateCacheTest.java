@@ -0,0 +1,133 @@
+package com.PrescribeCorrect.app.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NearDuplicateCacheTest {
+
+    private static final String OWNER = "patient@example.com";
+    private static final long SIM_HASH = 0x0123_4567_89ab_cdefL;
+    // one bit in each of the first three 16-bit bands, so only the fourth band still matches
+    private static final long THREE_BANDS = 1L | 1L << 16 | 1L << 32;
+
+    private final List<RemovalCause> evictions = new ArrayList<>();
+    private NearDuplicateCache<String> cache = new NearDuplicateCache<>(100, Duration.ofHours(1),
+            NearDuplicateCache.MAX_DISTANCE, evictions::add);
+
+    private static TextFingerprint fingerprint(long exact, long simHash) {
+        return new TextFingerprint(exact, simHash, TextFingerprint.MIN_WORDS);
+    }
+
+    @Test
+    void exactHitForAnyOwner() {
+        cache.put(OWNER, fingerprint(1, SIM_HASH), "analysis");
+        NearDuplicateCache.Hit<String> hit = cache.get("other@example.com", fingerprint(1, SIM_HASH));
+        assertEquals("analysis", hit.value());
+        assertTrue(hit.exact());
+    }
+
+    @Test
+    void nearHitWithinThreeBits() {
+        cache.put(OWNER, fingerprint(1, SIM_HASH), "analysis");
+        NearDuplicateCache.Hit<String> hit = cache.get(OWNER, fingerprint(2, SIM_HASH ^ THREE_BANDS));
+        assertEquals("analysis", hit.value());
+        assertEquals(3, hit.distance());
+    }
+
+    @Test
+    void nearHitOnlyForTheSameOwner() {
+        cache.put(OWNER, fingerprint(1, SIM_HASH), "analysis");
+        assertNull(cache.get("other@example.com", fingerprint(2, SIM_HASH ^ 1L)));
+    }
+
+    @Test
+    void closestEntryWins() {
+        cache.put(OWNER, fingerprint(1, SIM_HASH ^ THREE_BANDS), "far");
+        cache.put(OWNER, fingerprint(2, SIM_HASH ^ 1L << 48), "near");
+        NearDuplicateCache.Hit<String> hit = cache.get(OWNER, fingerprint(3, SIM_HASH));
+        assertEquals("near", hit.value());
+        assertEquals(1, hit.distance());
+    }
+
+    @Test
+    void missBeyondTheThreshold() {
+        cache.put(OWNER, fingerprint(1, SIM_HASH), "analysis");
+        // four bits, one per band: no band left in common
+        assertNull(cache.get(OWNER, fingerprint(2, SIM_HASH ^ THREE_BANDS ^ 1L << 48)));
+        // a lower threshold applies even where a band matches
+        cache = new NearDuplicateCache<>(100, Duration.ofHours(1), 2, evictions::add);
+        cache.put(OWNER, fingerprint(1, SIM_HASH), "analysis");
+        assertNull(cache.get(OWNER, fingerprint(2, SIM_HASH ^ THREE_BANDS)));
+        assertEquals(2, cache.get(OWNER, fingerprint(3, SIM_HASH ^ 3L)).distance());
+    }
+
+    @Test
+    void exactOnlyCacheSkipsTheBands() {
+        cache = new NearDuplicateCache<>(100, Duration.ofHours(1), 0, evictions::add);
+        cache.put(OWNER, fingerprint(1, SIM_HASH), "analysis");
+        assertNull(cache.get(OWNER, fingerprint(2, SIM_HASH)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void evictedEntriesLeaveTheBands() {
+        cache = new NearDuplicateCache<>(1, Duration.ofHours(1), NearDuplicateCache.MAX_DISTANCE, evictions::add);
+        TextFingerprint first = fingerprint(1, SIM_HASH);
+        TextFingerprint second = fingerprint(2, ~SIM_HASH);
+        cache.put(OWNER, first, "first");
+        cache.put(OWNER, second, "second");
+        ((Cache<Long, ?>) ReflectionTestUtils.getField(cache, "entries")).cleanUp();
+
+        assertEquals(List.of(RemovalCause.SIZE), evictions);
+        assertEquals(1, cache.size());
+        TextFingerprint kept = cache.get(OWNER, first) != null ? first : second;
+        Map<Integer, Set<TextFingerprint>> bands = (Map<Integer, Set<TextFingerprint>>) ReflectionTestUtils.getField(cache, "bands");
+        Set<TextFingerprint> indexed = new HashSet<>();
+        bands.values().forEach(indexed::addAll);
+        assertEquals(Set.of(kept), indexed);
+        assertEquals(4, bands.size());
+    }
+
+    @Test
+    void sameTextPutTwiceStaysIndexed() {
+        cache.put(OWNER, fingerprint(1, SIM_HASH), "old");
+        cache.put(OWNER, fingerprint(1, SIM_HASH), "new");
+        assertEquals("new", cache.get(OWNER, fingerprint(2, SIM_HASH ^ 1L)).value());
+        assertEquals(List.of(), evictions);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void removedOwnerLeavesEntriesAndBands() {
+        cache.put(OWNER, fingerprint(1, SIM_HASH), "mine");
+        cache.put("other@example.com", fingerprint(2, ~SIM_HASH), "theirs");
+        cache.removeOwner(OWNER);
+
+        assertNull(cache.get("other@example.com", fingerprint(1, SIM_HASH)));
+        assertNull(cache.get(OWNER, fingerprint(3, SIM_HASH ^ 1L)));
+        assertEquals("theirs", cache.get(OWNER, fingerprint(2, ~SIM_HASH)).value());
+        Map<Integer, Set<TextFingerprint>> bands = (Map<Integer, Set<TextFingerprint>>) ReflectionTestUtils.getField(cache, "bands");
+        assertEquals(4, bands.size());
+        assertEquals(List.of(), evictions);
+    }
+
+    @Test
+    void thresholdIsBoundedByTheBands() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new NearDuplicateCache<String>(100, Duration.ofHours(1), 4, evictions::add));
+    }
+}
@@ -0,0 +1,54 @@
+package com.PrescribeCorrect.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OcrCorrectorTest {
+
+    private static final OcrCorrector CORRECTOR = new OcrCorrector.Builder()
+            .addText("take after meal daily habit", 10)
+            .addName("Napa Seclo paracetamol", 5)
+            .build(2);
+
+    @Test
+    void misreadWordsAreCorrected() {
+        OcrCorrector.Result result = CORRECTOR.correct("tahe after rneal daily");
+        assertEquals("take after meal daily", result.text());
+        assertEquals(List.of(new OcrCorrector.Correction(0, 4, "tahe", "take", 1),
+                new OcrCorrector.Correction(11, 16, "rneal", "meal", 2)), result.corrections());
+    }
+
+    @Test
+    void knownWordsAndAbbreviationsAreLeftAlone() {
+        OcrCorrector.Result result = CORRECTOR.correct("TDS take 500mg BD");
+        assertEquals("TDS take 500mg BD", result.text());
+        assertEquals(List.of(), result.corrections());
+    }
+
+    @Test
+    void capitalizedWordsOnlyBecomeNames() {
+        // "Habib" is a name one edit from "habit"; "Nepa" is a misread medicine
+        assertEquals("Habib Napa habit", CORRECTOR.correct("Habib Nepa habib").text());
+    }
+
+    @Test
+    void allCapsWordsOnlyBecomeNames() {
+        // names are usually printed in capitals; "AFTEE" is left too rather than risk a name
+        assertEquals("HABIB AKTER NAPA AFTEE", CORRECTOR.correct("HABIB AKTER NEPA AFTEE").text());
+    }
+
+    @Test
+    void capitalizationIsKept() {
+        assertEquals("NAPA Seclo", CORRECTOR.correct("NEPA Sedo").text());
+    }
+
+    @Test
+    void lookupFindsTheClosestWord() {
+        assertEquals("paracetamol", CORRECTOR.lookup("paracetarnol"));
+        assertNull(CORRECTOR.lookup("xyzzy"));
+    }
+}
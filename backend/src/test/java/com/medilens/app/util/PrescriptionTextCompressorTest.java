@@ -0,0 +1,67 @@
+package com.PrescribeCorrect.app.util;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrescriptionTextCompressorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private PrescriptionTextCompressor compressor(int legacyColumns) {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(legacyColumns);
+        PrescriptionTextCompressor compressor = new PrescriptionTextCompressor();
+        ReflectionTestUtils.setField(compressor, "jdbcTemplate", jdbcTemplate);
+        return compressor;
+    }
+
+    @Test
+    void nothingToDoWithoutTheOldColumn() {
+        compressor(0).run();
+        verify(jdbcTemplate, never()).queryForList(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void oldTextIsWrittenCompressed() throws Exception {
+        String text = "Tab. Napa 500mg 1+0+1 after meal for 5 days, Cap. Seclo 20mg 1+0+1 before meal";
+        List<Map<String, Object>> rows = List.of(Map.of("id", 7L, "full_prescription_text", text));
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(rows);
+        compressor(1).run();
+
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Map<String, Object>>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), anyInt(), setter.capture());
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, rows.get(0));
+
+        ArgumentCaptor<byte[]> stored = ArgumentCaptor.forClass(byte[].class);
+        verify(ps).setBytes(eq(1), stored.capture());
+        verify(ps).setLong(2, 7L);
+        assertEquals(text, CompressedText.fromStored(stored.getValue()).text());
+    }
+
+    @Test
+    void failureDoesNotStopStartup() {
+        when(jdbcTemplate.queryForList(anyString())).thenThrow(new IllegalStateException("column missing"));
+        compressor(1).run();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+    }
+}
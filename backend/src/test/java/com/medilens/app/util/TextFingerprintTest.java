@@ -0,0 +1,55 @@
+package com.PrescribeCorrect.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextFingerprintTest {
+
+    private static final String PRESCRIPTION = "Dr. Rahman Medical Centre, Dhaka. Patient: Karim Uddin, Age 45. "
+            + "Rx: Tab. Napa 500mg 1+0+1 after meal for 5 days. Cap. Seclo 20mg 1+0+1 before meal for 14 days. "
+            + "Syp. Alatrol 1 tsf at night. Advice: plenty of water, review after 7 days.";
+
+    @Test
+    void shortTextHasNoFingerprint() {
+        assertNull(TextFingerprint.of(null));
+        // "1+0+1" is three words
+        assertNull(TextFingerprint.of("Tab. Napa 500mg 1+0+1 after"));
+        assertEquals(TextFingerprint.MIN_WORDS, TextFingerprint.of("Tab. Napa 500mg 1+0+1 after meal").words());
+    }
+
+    @Test
+    void caseAndLayoutAreIgnored() {
+        TextFingerprint rescan = TextFingerprint.of(PRESCRIPTION.toUpperCase().replace(". ", "\n").replace(",", " ;"));
+        assertEquals(TextFingerprint.of(PRESCRIPTION), rescan);
+        assertEquals(0, TextFingerprint.of(PRESCRIPTION).distance(rescan));
+    }
+
+    @Test
+    void misreadWordStaysClose() {
+        TextFingerprint original = TextFingerprint.of(PRESCRIPTION);
+        TextFingerprint misread = TextFingerprint.of(PRESCRIPTION.replace("Napa", "Nepa"));
+        assertNotEquals(original.exact(), misread.exact());
+        assertTrue(original.distance(misread) <= 8, "distance " + original.distance(misread));
+    }
+
+    @Test
+    void wordOrderChangesTheExactHash() {
+        TextFingerprint original = TextFingerprint.of(PRESCRIPTION);
+        TextFingerprint reordered = TextFingerprint.of(PRESCRIPTION.replace("before meal", "meal before"));
+        assertNotEquals(original.exact(), reordered.exact());
+        assertEquals(original.words(), reordered.words());
+    }
+
+    @Test
+    void unrelatedPrescriptionIsFar() {
+        TextFingerprint other = TextFingerprint.of("City Clinic, Chattogram. Patient: Salma Begum, Age 30. "
+                + "Rx: Tab. Fexo 120mg 0+0+1 for 10 days. Tab. Montene 10mg at night for 30 days. "
+                + "Advice: avoid dust, follow up in 1 month.");
+        int distance = TextFingerprint.of(PRESCRIPTION).distance(other);
+        assertTrue(distance > 16, "distance " + distance);
+    }
+}
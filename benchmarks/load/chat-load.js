@@ -0,0 +1,158 @@
+/**
+ * Chat / analysis load test against a running backend.
+ * Run it once with platform threads and once with VIRTUAL_THREADS=true and compare the summaries.
+ *
+ *   BASE_URL=http://localhost:8080 CONCURRENCY=400 DURATION_S=60 node chat-load.js
+ *
+ * Needs Node 18+ (global fetch). Creates its own user, chat and analyses on the target database.
+ * While measuring it samples /actuator/metrics for live JVM threads and Hikari connections (skipped if not exposed).
+ */
+
+const BASE_URL = process.env.BASE_URL || 'http://localhost:8080'
+const CONCURRENCY = parseInt(process.env.CONCURRENCY || '200', 10)
+const DURATION_S = parseInt(process.env.DURATION_S || '30', 10)
+const WARMUP_S = parseInt(process.env.WARMUP_S || '5', 10)
+const SAMPLE_MS = 500
+const GAUGES = ['jvm.threads.live', 'hikaricp.connections.active', 'hikaricp.connections.pending']
+
+async function call(method, path, token, body) {
+  const headers = { 'Content-Type': 'application/json' }
+  if (token) headers.Authorization = `Bearer ${token}`
+  const res = await fetch(BASE_URL + path, {
+    method,
+    headers,
+    body: body === undefined ? undefined : JSON.stringify(body)
+  })
+  const text = await res.text()
+  if (!res.ok) throw new Error(`${method} ${path} -> ${res.status} ${text.slice(0, 200)}`)
+  return text ? JSON.parse(text) : null
+}
+
+async function setup() {
+  const email = `load-${Date.now()}@example.com`
+  await call('POST', '/api/user/sign-up', null, { email, password: 'load-test', firstName: 'Load' })
+  const { token } = await call('POST', '/api/auth/login', null, { email, password: 'load-test' })
+
+  const chatId = await call('POST', '/api/chat/create', token)
+  const transcript = []
+  for (let i = 0; i < 50; i++) {
+    transcript.push({ role: i % 2 ? 'ASSISTANT' : 'USER', message: `warm-up message ${i}` })
+  }
+  await call('POST', `/api/chat/${chatId}/messages`, token, transcript)
+
+  for (let i = 0; i < 20; i++) {
+    await call('POST', '/api/analysis/save', token, {
+      analysisSummary: `Load test analysis ${i}`,
+      fullPrescriptionText: 'Tab. Napa 500mg 1+0+1 after meal',
+      medicines: ['Napa 500mg'],
+      keyDiseases: ['Fever'],
+      dosageInstructions: ['1+0+1']
+    })
+  }
+  return { token, chatId }
+}
+
+// weighted like the frontend: mostly reads, some message writes
+function scenarios({ token, chatId }) {
+  return [
+    { name: 'GET chat', weight: 3, run: () => call('GET', `/api/chat/${chatId}`, token) },
+    { name: 'GET messages', weight: 3, run: () => call('GET', `/api/chat/${chatId}/messages?limit=50`, token) },
+    { name: 'GET chat list', weight: 2, run: () => call('GET', '/api/user/chat', token) },
+    { name: 'GET analyses', weight: 2, run: () => call('GET', '/api/analysis/my-analyses', token) },
+    { name: 'POST message', weight: 1, run: () => call('POST', `/api/chat/${chatId}`, token, { role: 'USER', message: 'load' }) }
+  ]
+}
+
+function pick(list) {
+  const total = list.reduce((sum, s) => sum + s.weight, 0)
+  let r = Math.random() * total
+  for (const s of list) {
+    r -= s.weight
+    if (r < 0) return s
+  }
+  return list[list.length - 1]
+}
+
+function percentile(sorted, p) {
+  if (sorted.length === 0) return 0
+  return sorted[Math.min(sorted.length - 1, Math.floor(sorted.length * p))]
+}
+
+async function worker(list, stats, until) {
+  while (Date.now() < until.end) {
+    const s = pick(list)
+    const start = performance.now()
+    try {
+      await s.run()
+      if (Date.now() >= until.measureFrom) {
+        const entry = stats[s.name] || (stats[s.name] = { latencies: [], errors: 0 })
+        entry.latencies.push(performance.now() - start)
+      }
+    } catch (error) {
+      if (Date.now() >= until.measureFrom) {
+        const entry = stats[s.name] || (stats[s.name] = { latencies: [], errors: 0 })
+        entry.errors++
+      }
+    }
+  }
+}
+
+async function gauge(name) {
+  const res = await fetch(`${BASE_URL}/actuator/metrics/${name}`)
+  if (!res.ok) return null
+  const { measurements } = await res.json()
+  return measurements.find(m => m.statistic === 'VALUE')?.value ?? null
+}
+
+// peak and mean of each gauge over the measured window
+async function sampler(until, samples) {
+  while (Date.now() < until.end) {
+    if (Date.now() >= until.measureFrom) {
+      for (const name of GAUGES) {
+        const value = await gauge(name).catch(() => null)
+        if (value !== null) (samples[name] || (samples[name] = [])).push(value)
+      }
+    }
+    await new Promise(resolve => setTimeout(resolve, SAMPLE_MS))
+  }
+}
+
+async function main() {
+  console.log(`🚀 ${BASE_URL}: ${CONCURRENCY} clients, ${WARMUP_S}s warm-up + ${DURATION_S}s measured`)
+  const context = await setup()
+  const list = scenarios(context)
+  const stats = {}
+  const now = Date.now()
+  const until = { measureFrom: now + WARMUP_S * 1000, end: now + (WARMUP_S + DURATION_S) * 1000 }
+
+  const samples = {}
+  await Promise.all([
+    sampler(until, samples),
+    ...Array.from({ length: CONCURRENCY }, () => worker(list, stats, until))
+  ])
+
+  let requests = 0
+  let errors = 0
+  const all = []
+  console.log('\n📊 Results')
+  for (const [name, entry] of Object.entries(stats)) {
+    const sorted = entry.latencies.sort((a, b) => a - b)
+    requests += sorted.length
+    errors += entry.errors
+    all.push(...sorted)
+    console.log(`   ${name.padEnd(14)} ${String(sorted.length).padStart(7)} ok ${String(entry.errors).padStart(5)} err ` +
+      `p50 ${percentile(sorted, 0.5).toFixed(1)}ms p95 ${percentile(sorted, 0.95).toFixed(1)}ms p99 ${percentile(sorted, 0.99).toFixed(1)}ms`)
+  }
+  all.sort((a, b) => a - b)
+  console.log(`   ${'total'.padEnd(14)} ${(requests / DURATION_S).toFixed(0)} req/s, ${errors} errors, ` +
+    `p50 ${percentile(all, 0.5).toFixed(1)}ms p95 ${percentile(all, 0.95).toFixed(1)}ms p99 ${percentile(all, 0.99).toFixed(1)}ms`)
+  for (const [name, values] of Object.entries(samples)) {
+    const mean = values.reduce((sum, v) => sum + v, 0) / values.length
+    console.log(`   ${name.padEnd(30)} peak ${Math.max(...values)} mean ${mean.toFixed(1)}`)
+  }
+}
+
+main().catch(error => {
+  console.error('❌ Load test failed:', error.message)
+  process.exit(1)
+})
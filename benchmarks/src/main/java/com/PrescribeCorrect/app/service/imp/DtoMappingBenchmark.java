@@ -0,0 +1,98 @@
+package com.PrescribeCorrect.app.service.imp;
+
+import com.PrescribeCorrect.app.dto.DoctorDTO;
+import com.PrescribeCorrect.app.dto.PrescriptionAnalysisDTO;
+import com.PrescribeCorrect.app.model.Doctor;
+import com.PrescribeCorrect.app.model.PrescriptionAnalysis;
+import com.PrescribeCorrect.app.model.Role;
+import com.PrescribeCorrect.app.model.User;
+import com.PrescribeCorrect.benchmarks.SyntheticDoctors;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a directory page and an analysis history page.
+ * Lives in the service package because both converters are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"50", "1000"})
+    public int rows;
+
+    private final DoctorServiceImp doctorService = new DoctorServiceImp();
+    private final PrescriptionAnalysisServiceImp analysisService = new PrescriptionAnalysisServiceImp();
+
+    private List<User> doctors;
+    private List<PrescriptionAnalysis> analyses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        doctors = new ArrayList<>(rows);
+        for (DoctorDTO source : SyntheticDoctors.generate(rows, 42)) {
+            User user = new User();
+            user.setEmail(source.getEmail());
+            user.setFirstName(source.getFirstName());
+            user.setLastName(source.getLastName());
+            user.setRole(Role.ROLE_DOCTOR);
+            Doctor doctor = new Doctor();
+            doctor.setId(source.getId());
+            doctor.setSpecialization(source.getSpecialization());
+            doctor.setDegree(source.getDegree());
+            doctor.setPhoneNumber(source.getPhoneNumber());
+            doctor.setChamberAddress(source.getChamberAddress());
+            doctor.setDesignation(source.getDesignation());
+            doctor.setInstitute(source.getInstitute());
+            doctor.setCurrentCity(source.getCurrentCity());
+            doctor.setAvailableTime(source.getAvailableTime());
+            doctor.setStatus(source.getStatus());
+            doctor.setUser(user);
+            user.setDoctor(doctor);
+            doctors.add(user);
+        }
+
+        User patient = new User();
+        patient.setEmail("patient@example.com");
+        analyses = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            PrescriptionAnalysis analysis = new PrescriptionAnalysis();
+            analysis.setId((long) i);
+            analysis.setAnalysisSummary("Viral fever with mild dehydration, follow up in 5 days " + i);
+            analysis.setFullPrescriptionText("Tab. Napa 500mg 1+0+1 after meal\nCap. Omep 20mg 1+0+1 before meal\nORS 1 sachet after each loose stool");
+            analysis.setMedicines(List.of("Napa 500mg", "Omep 20mg", "ORS"));
+            analysis.setKeyDiseases(List.of("Viral fever", "Dehydration"));
+            analysis.setDosageInstructions(List.of("1+0+1 after meal", "1+0+1 before meal", "after each loose stool"));
+            analysis.setDoctorName("Dr. Habib Mandal");
+            analysis.setPatientName("Rahima Akter");
+            analysis.setAnalysisDate(LocalDateTime.of(2025, 1, 1, 9, 0).plusHours(i));
+            analysis.setSentToChat(i % 2 == 0);
+            analysis.setUser(patient);
+            analyses.add(analysis);
+        }
+    }
+
+    @Benchmark
+    public void convertToDoctorDTO(Blackhole blackhole) {
+        for (User user : doctors) {
+            blackhole.consume(doctorService.convertToDoctorDTO(user));
+        }
+    }
+
+    @Benchmark
+    public void convertAnalysisToDTO(Blackhole blackhole) {
+        for (PrescriptionAnalysis analysis : analyses) {
+            PrescriptionAnalysisDTO dto = analysisService.convertToDTO(analysis);
+            blackhole.consume(dto);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.PrescribeCorrect.benchmarks;
+
+import com.PrescribeCorrect.app.util.NearDuplicateCache;
+import com.PrescribeCorrect.app.util.TextFingerprint;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analysis cache at 10k cached prescriptions of 500 and 2000 chars: fingerprinting one upload, and finding a
+ * re-upload with one word misread through the SimHash band index vs. a scan over every cached fingerprint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalysisCacheBenchmark {
+
+    private static final int CACHED = 10_000;
+    private static final String OWNER = "patient@example.com";
+
+    @Param({"500", "2000"})
+    public int length;
+
+    private String text;
+    private TextFingerprint reupload;
+    private NearDuplicateCache<Integer> cache;
+    private TextFingerprint[] fingerprints;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = new NearDuplicateCache<>(CACHED * 2L, Duration.ofDays(1), NearDuplicateCache.MAX_DISTANCE, cause -> {
+        });
+        fingerprints = new TextFingerprint[CACHED];
+        for (int i = 0; i < CACHED; i++) {
+            fingerprints[i] = TextFingerprint.of(SyntheticPrescriptions.generate(length, i));
+            cache.put(OWNER, fingerprints[i], i);
+        }
+        text = SyntheticPrescriptions.generate(length, CACHED / 2);
+        // the same page scanned again with one word read differently
+        reupload = TextFingerprint.of(text.replaceFirst("Patient Name: \\S+", "Patient Name: Rahmin"));
+    }
+
+    @Benchmark
+    public TextFingerprint fingerprint() {
+        return TextFingerprint.of(text);
+    }
+
+    @Benchmark
+    public NearDuplicateCache.Hit<Integer> lookupBands() {
+        return cache.get(OWNER, reupload);
+    }
+
+    @Benchmark
+    public int lookupScan() {
+        int best = -1;
+        int bestDistance = NearDuplicateCache.MAX_DISTANCE + 1;
+        for (int i = 0; i < fingerprints.length; i++) {
+            int distance = reupload.distance(fingerprints[i]);
+            if (distance < bestDistance) {
+                best = i;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,53 @@
+package com.PrescribeCorrect.benchmarks;
+
+import com.PrescribeCorrect.app.dto.DoctorDTO;
+import com.PrescribeCorrect.app.util.AutocompleteTrie;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-keystroke autocomplete latency over names, specializations and cities.
+ * Queries mix exact prefixes, transliteration typos (Hobib) and misspellings (Sylht, kardio).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutocompleteTrieBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int doctors;
+
+    @Param({"h", "hab", "Hobib", "cardio", "gynec", "Sylht", "kardiology", "Rahman Ha"})
+    public String query;
+
+    private List<DoctorDTO> directory;
+    private AutocompleteTrie trie;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = SyntheticDoctors.generate(doctors, 42);
+        trie = build(directory);
+    }
+
+    @Benchmark
+    public List<AutocompleteTrie.Suggestion> suggest() {
+        return trie.suggest(query, 10);
+    }
+
+    static AutocompleteTrie build(List<DoctorDTO> directory) {
+        AutocompleteTrie.Builder builder = new AutocompleteTrie.Builder();
+        for (DoctorDTO doctor : directory) {
+            builder.add(doctor.getFirstName(), AutocompleteTrie.Type.NAME);
+            builder.add(doctor.getLastName(), AutocompleteTrie.Type.NAME);
+            builder.add(doctor.getFirstName() + " " + doctor.getLastName(), AutocompleteTrie.Type.NAME);
+            doctor.getSpecialization().forEach(s -> builder.add(s, AutocompleteTrie.Type.SPECIALIZATION));
+            builder.add(doctor.getCurrentCity(), AutocompleteTrie.Type.CITY);
+        }
+        return builder.build();
+    }
+}
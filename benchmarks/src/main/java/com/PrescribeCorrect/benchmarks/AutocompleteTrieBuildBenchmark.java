@@ -0,0 +1,35 @@
+package com.PrescribeCorrect.benchmarks;
+
+import com.PrescribeCorrect.app.dto.DoctorDTO;
+import com.PrescribeCorrect.app.util.AutocompleteTrie;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rebuilding the autocomplete trie after directory changes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AutocompleteTrieBuildBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int doctors;
+
+    private List<DoctorDTO> directory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = SyntheticDoctors.generate(doctors, 42);
+    }
+
+    @Benchmark
+    public AutocompleteTrie build() {
+        return AutocompleteTrieBenchmark.build(directory);
+    }
+}
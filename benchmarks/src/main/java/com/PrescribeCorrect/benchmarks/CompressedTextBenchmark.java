@@ -0,0 +1,87 @@
+package com.PrescribeCorrect.benchmarks;
+
+import com.PrescribeCorrect.app.util.CompressedText;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Stored size and codec latency of the compressed prescription text at typical OCR text lengths.
+ * Sizes (plain UTF-8, deflate without and with the dictionary) are printed once per trial;
+ * decodePlain is the cost of reading the old varchar column, for comparison with decompress.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressedTextBenchmark {
+
+    private static final int TEXTS = 64;
+
+    @Param({"500", "2000", "9999"})
+    public int length;
+
+    private String[] texts;
+    private byte[][] stored;
+    private byte[][] utf8;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        texts = new String[TEXTS];
+        stored = new byte[TEXTS][];
+        utf8 = new byte[TEXTS][];
+        long plainBytes = 0;
+        long deflatedBytes = 0;
+        long storedBytes = 0;
+        for (int i = 0; i < TEXTS; i++) {
+            texts[i] = SyntheticPrescriptions.generate(length, i);
+            utf8[i] = texts[i].getBytes(StandardCharsets.UTF_8);
+            stored[i] = CompressedText.of(texts[i]).stored();
+            plainBytes += utf8[i].length;
+            deflatedBytes += deflatedSize(utf8[i]);
+            storedBytes += stored[i].length;
+        }
+        System.out.printf("%n%d chars: plain %d B, deflate %d B (%.0f%%), deflate + dictionary %d B (%.0f%%)%n",
+                length, plainBytes / TEXTS, deflatedBytes / TEXTS, 100.0 * deflatedBytes / plainBytes,
+                storedBytes / TEXTS, 100.0 * storedBytes / plainBytes);
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        next = (next + 1) % TEXTS;
+        return CompressedText.of(texts[next]).stored();
+    }
+
+    @Benchmark
+    public String decompress() {
+        next = (next + 1) % TEXTS;
+        return CompressedText.fromStored(stored[next]).text();
+    }
+
+    @Benchmark
+    public String decodePlain() {
+        next = (next + 1) % TEXTS;
+        return new String(utf8[next], StandardCharsets.UTF_8);
+    }
+
+    private static int deflatedSize(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] buffer = new byte[input.length + 64];
+            int size = 0;
+            while (!deflater.finished()) {
+                size += deflater.deflate(buffer);
+            }
+            return size + 1;
+        } finally {
+            deflater.end();
+        }
+    }
+}
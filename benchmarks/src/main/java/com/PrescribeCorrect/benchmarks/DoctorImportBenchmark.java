@@ -0,0 +1,119 @@
+package com.PrescribeCorrect.benchmarks;
+
+import com.PrescribeCorrect.app.dto.DoctorDTO;
+import com.PrescribeCorrect.app.util.DoctorBulkWriter;
+import com.PrescribeCorrect.app.util.DoctorJsonReader;
+import com.PrescribeCorrect.app.util.DoctorJsonReader.DoctorRecord;
+import com.PrescribeCorrect.app.util.DoctorJsonReader.UserRecord;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Doctor import at 1k, 10k and 100k records: streaming the JSON file alone, and the whole
+ * parse + batch insert path into an in-memory H2 database in PostgreSQL mode, so it runs offline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DoctorImportBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String[] SCHEMA = {
+            "DROP ALL OBJECTS",
+            "CREATE TABLE users (email VARCHAR(255) PRIMARY KEY, password VARCHAR(255), first_name VARCHAR(255), "
+                    + "last_name VARCHAR(255), phone_number VARCHAR(255), gender VARCHAR(255), role VARCHAR(255) NOT NULL, "
+                    + "date_of_birth VARCHAR(255), address VARCHAR(255))",
+            "CREATE SEQUENCE doctor_seq START WITH 1 INCREMENT BY 50",
+            "CREATE TABLE doctor (id BIGINT PRIMARY KEY, specialization VARCHAR(255) ARRAY, degree VARCHAR(255) ARRAY, "
+                    + "phone_number VARCHAR(255) ARRAY, chamber_address VARCHAR(255), designation VARCHAR(255), "
+                    + "institute VARCHAR(255), current_city VARCHAR(255), available_time VARCHAR(255), "
+                    + "website_url VARCHAR(255), status VARCHAR(255) NOT NULL, "
+                    + "user_email VARCHAR(255) NOT NULL UNIQUE REFERENCES users(email))"
+    };
+
+    @Param({"1000", "10000", "100000"})
+    public int doctors;
+
+    @Param({"500"})
+    public int batchSize;
+
+    private byte[] json;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = generate(SyntheticDoctors.generate(doctors, 42));
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:import;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Setup(Level.Iteration)
+    public void resetDatabase() {
+        jdbcTemplate.batchUpdate(SCHEMA);
+    }
+
+    @Benchmark
+    public long parse() throws IOException {
+        long[] records = {0};
+        try (DoctorJsonReader reader = new DoctorJsonReader(MAPPER, new ByteArrayInputStream(json), batchSize)) {
+            reader.read(users -> records[0] += users.size(), batch -> records[0] += batch.size());
+        }
+        return records[0];
+    }
+
+    @Benchmark
+    public long parseAndInsert() throws IOException {
+        DoctorBulkWriter writer = new DoctorBulkWriter(jdbcTemplate, transactionTemplate);
+        long[] imported = {0};
+        try (DoctorJsonReader reader = new DoctorJsonReader(MAPPER, new ByteArrayInputStream(json), batchSize)) {
+            reader.read(users -> imported[0] += writer.writeUsers(users).imported(),
+                    batch -> imported[0] += writer.writeDoctors(batch).imported());
+        }
+        if (imported[0] != 2L * doctors) {
+            throw new IllegalStateException("imported " + imported[0] + " rows, expected " + 2L * doctors);
+        }
+        return imported[0];
+    }
+
+    // same shape as doctors_data.json: every user first, then the doctor profiles referencing them
+    static byte[] generate(List<DoctorDTO> directory) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(directory.size() * 700);
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("users");
+            for (DoctorDTO doctor : directory) {
+                MAPPER.writeValue(generator, new UserRecord(doctor.getEmail(), null, doctor.getFirstName(),
+                        doctor.getLastName(), doctor.getPhoneNumber().get(0), "Male", "1980-01-01", doctor.getChamberAddress()));
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("doctors");
+            for (DoctorDTO doctor : directory) {
+                MAPPER.writeValue(generator, new DoctorRecord(doctor.getEmail(), doctor.getSpecialization(),
+                        doctor.getDegree(), doctor.getPhoneNumber(), doctor.getChamberAddress(), doctor.getDesignation(),
+                        doctor.getInstitute(), doctor.getCurrentCity(), doctor.getAvailableTime(),
+                        doctor.getWebsiteUrl(), doctor.getStatus().name()));
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,113 @@
+package com.PrescribeCorrect.benchmarks;
+
+import com.PrescribeCorrect.app.util.InteractionTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All-pairs interaction check for one patient on 5, 20 and 40 drugs, and a batch over 100k patients, on the dense
+ * id matrix vs. a HashMap keyed by "drugA|drugB" strings, the usual way such a table is held.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InteractionTableBenchmark {
+
+    private static final int PATIENTS = 100_000;
+
+    @Param({"5", "20", "40"})
+    public int drugsPerPatient;
+
+    private InteractionTable table;
+    private Map<String, InteractionTable.Interaction> byPairName;
+    private int[][] patients;
+    private String[][] patientNames;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (InputStream in = InteractionTable.class.getResourceAsStream("/medicines/interactions.tsv")) {
+            table = InteractionTable.load(in);
+        }
+        byPairName = new HashMap<>();
+        for (int a = 0; a < table.drugCount(); a++) {
+            for (int b = a + 1; b < table.drugCount(); b++) {
+                InteractionTable.Interaction interaction = table.get(a, b);
+                if (interaction != null) {
+                    byPairName.put(interaction.drugA() + "|" + interaction.drugB(), interaction);
+                }
+            }
+        }
+        // sorted distinct ids, as the service builds them from a BitSet
+        Random random = new Random(42);
+        int drugs = Math.min(drugsPerPatient, table.drugCount());
+        patients = new int[PATIENTS][];
+        patientNames = new String[PATIENTS][];
+        for (int p = 0; p < PATIENTS; p++) {
+            patients[p] = random.ints(0, table.drugCount()).distinct().limit(drugs).sorted().toArray();
+            patientNames[p] = new String[drugs];
+            for (int i = 0; i < drugs; i++) {
+                patientNames[p][i] = table.drug(patients[p][i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<InteractionTable.Interaction> patientMatrix() {
+        return table.check(patients[0]);
+    }
+
+    @Benchmark
+    public List<InteractionTable.Interaction> patientHashMap() {
+        return checkByName(patientNames[0]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public int allPatientsMatrix() {
+        int found = 0;
+        for (int[] patient : patients) {
+            found += table.check(patient).size();
+        }
+        return found;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public int allPatientsHashMap() {
+        int found = 0;
+        for (String[] patient : patientNames) {
+            found += checkByName(patient).size();
+        }
+        return found;
+    }
+
+    private List<InteractionTable.Interaction> checkByName(String[] names) {
+        List<InteractionTable.Interaction> found = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            for (int j = i + 1; j < names.length; j++) {
+                InteractionTable.Interaction interaction = byPairName.get(names[i] + "|" + names[j]);
+                if (interaction != null) {
+                    found.add(interaction);
+                }
+            }
+        }
+        return found;
+    }
+}
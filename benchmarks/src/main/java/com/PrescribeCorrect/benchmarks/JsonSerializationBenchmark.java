@@ -0,0 +1,73 @@
+package com.PrescribeCorrect.benchmarks;
+
+import com.PrescribeCorrect.app.dto.ChatDTO;
+import com.PrescribeCorrect.app.dto.DoctorDTO;
+import com.PrescribeCorrect.app.dto.MessageDTO;
+import com.PrescribeCorrect.app.model.ChatRole;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization with an ObjectMapper configured the way Spring MVC builds it:
+ * a chat with its latest page of messages, one doctor, and a page of doctors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int messages;
+
+    private ObjectMapper mapper;
+    private ChatDTO chat;
+    private DoctorDTO doctor;
+    private List<DoctorDTO> doctorPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<MessageDTO> page = new ArrayList<>(messages);
+        for (int i = messages; i > 0; i--) {
+            page.add(new MessageDTO((long) i, i % 2 == 0 ? ChatRole.ASSISTANT : ChatRole.USER,
+                    "Napa 500mg is paracetamol; take one tablet after meals, up to three times a day. Message " + i,
+                    start.plusMinutes(i)));
+        }
+        chat = new ChatDTO(1L, "Fever and headache", start, start.plusMinutes(messages), null, null);
+        chat.setMessages(page);
+        chat.setHasMoreMessages(true);
+
+        doctorPage = SyntheticDoctors.generate(50, 42);
+        for (DoctorDTO dto : doctorPage) {
+            dto.setUser(new DoctorDTO.UserInfoDTO(dto.getFirstName(), dto.getLastName(), dto.getEmail()));
+        }
+        doctor = doctorPage.get(0);
+    }
+
+    @Benchmark
+    public byte[] chat() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(chat);
+    }
+
+    @Benchmark
+    public byte[] doctor() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(doctor);
+    }
+
+    @Benchmark
+    public byte[] doctorPage() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(doctorPage);
+    }
+}
@@ -0,0 +1,62 @@
+package com.PrescribeCorrect.benchmarks;
+
+import com.PrescribeCorrect.app.security.JwtClaims;
+import com.PrescribeCorrect.app.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil on the request path: token generation at login, and validation of every authenticated request,
+ * both served from the verified-token cache and verified from scratch (HMAC check and claims parsing).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final int TOKENS = 1024;
+
+    private JwtUtil jwtUtil;
+    // a one-entry cache cycled through 1024 tokens, so validate() always verifies the signature
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil(10_000);
+        uncachedJwtUtil = new JwtUtil(1);
+        token = jwtUtil.generateToken("dr.habib.mandal1@PrescribeCorrect.com");
+        jwtUtil.validate(token);
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = jwtUtil.generateToken("patient" + i + "@example.com");
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken("dr.habib.mandal1@PrescribeCorrect.com");
+    }
+
+    @Benchmark
+    public JwtClaims validateCached() {
+        return jwtUtil.validate(token);
+    }
+
+    @Benchmark
+    public JwtClaims validateUncached() {
+        next = (next + 1) & (TOKENS - 1);
+        return uncachedJwtUtil.validate(tokens[next]);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+}
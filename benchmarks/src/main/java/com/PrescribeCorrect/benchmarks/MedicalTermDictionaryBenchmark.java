@@ -0,0 +1,97 @@
+package com.PrescribeCorrect.benchmarks;
+
+import com.PrescribeCorrect.app.util.MedicalTermDictionary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Medical term dictionary compiled from training_data.json against the frontend's approach
+ * (identifyMedicineFromTrainingData): an exact term map, then a linear includes() scan over every example.
+ * Run from the benchmarks directory, or pass -p trainingData=/path/to/training_data.json.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MedicalTermDictionaryBenchmark {
+
+    // prescription medicine names: some are defined terms, some only appear in definitions, some are unknown
+    private static final String[] NAMES = {"Amoxicillin 500mg", "Paracetamol", "Napa 500mg", "Omeprazole 20mg",
+            "Warfarin", "Seclo", "Metformin", "Insulin", "Fexo 120mg", "Aspirin 75mg", "Cef-3 200mg", "Digoxin"};
+
+    @Param({"../training_data.json"})
+    public String trainingData;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private byte[] json;
+    private MedicalTermDictionary dictionary;
+    private List<String[]> examples;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = Files.readAllBytes(Path.of(trainingData));
+        dictionary = MedicalTermDictionary.load(mapper, new ByteArrayInputStream(json));
+        examples = new ArrayList<>();
+        for (JsonNode example : mapper.readTree(json)) {
+            examples.add(new String[]{example.path("text_input").asText(), example.path("text_output").asText()});
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public MedicalTermDictionary load() throws IOException {
+        return MedicalTermDictionary.load(mapper, new ByteArrayInputStream(json));
+    }
+
+    @Benchmark
+    public MedicalTermDictionary.Entry identifyIndexed() {
+        next = (next + 1) % NAMES.length;
+        return dictionary.identifyMedicine(NAMES[next]);
+    }
+
+    @Benchmark
+    public String[] identifyLinearScan() {
+        next = (next + 1) % NAMES.length;
+        return linearScan(NAMES[next]);
+    }
+
+    @Benchmark
+    public MedicalTermDictionary.Entry lookupIndexed() {
+        return dictionary.lookup("tachyphylaxis");
+    }
+
+    // the frontend's fallback loop, including its per-call toLowerCase of every example
+    private String[] linearScan(String name) {
+        String lower = name.toLowerCase();
+        List<String> terms = new ArrayList<>();
+        terms.add(lower);
+        terms.add(lower.replaceAll("\\s+", ""));
+        terms.addAll(List.of(lower.split("\\s+")));
+        for (String term : terms) {
+            for (String[] example : examples) {
+                String input = example[0].toLowerCase();
+                String output = example[1].toLowerCase();
+                if ((input.contains(term) || output.contains(term)) && (output.contains("drug")
+                        || output.contains("medicine") || output.contains("tablet") || output.contains("treatment"))) {
+                    return example;
+                }
+            }
+        }
+        return null;
+    }
+}
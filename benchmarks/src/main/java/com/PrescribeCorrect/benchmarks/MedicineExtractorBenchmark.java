@@ -0,0 +1,77 @@
+package com.PrescribeCorrect.benchmarks;
+
+import com.PrescribeCorrect.app.util.MedicineExtractor;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Medicine extraction over 1 MB of synthetic OCR prescription text per operation, so ops/s reads as MB/s.
+ * regexLoop is the frontend's extractMedicinePatterns: every pattern re-run over the whole text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MedicineExtractorBenchmark {
+
+    private static final int TEXT_LENGTH = 1 << 20;
+
+    private static final Pattern[] FRONTEND_PATTERNS = {
+            Pattern.compile("([A-Za-z]+(?:\\s+[A-Za-z]+)*)\\s+(\\d+(?:\\.\\d+)?)\\s*(mg|ug|mcg|ml|g)\\s*(tab|tablet|cap|capsule|syrup|injection)", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("WN\\s+(\\d+)\\s*(ug|mg|mcg)\\s*Tab", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("([A-Z][a-z]+(?:[A-Z][a-z]+)*)\\s+(\\d+(?:\\.\\d+)?)\\s*(mg|ug|mcg)", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(mg|ug|mcg|ml|g)\\s+([A-Za-z]+(?:\\s+[A-Za-z]+)*)\\s*(tab|tablet|cap|capsule)", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("([A-Za-z]{3,}(?:\\s+[A-Za-z]+)*)\\s+Tab", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("(চা|পূ|ডা)\\s*Tab", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("Tab[.\\s]*(\\d{2,3})", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("(tab|tablet|cap|capsule)[.\\s]*(\\d+)", Pattern.CASE_INSENSITIVE)
+    };
+
+    private MedicineExtractor extractor;
+    private String text;
+    // the frontend runs on one prescription at a time; its regexes backtrack badly on a whole megabyte
+    private List<String> prescriptions;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (InputStream in = MedicineExtractor.class.getResourceAsStream("/medicines/medicines.tsv")) {
+            extractor = MedicineExtractor.load(in);
+        }
+        prescriptions = new ArrayList<>();
+        StringBuilder all = new StringBuilder(TEXT_LENGTH);
+        for (int seed = 0; all.length() < TEXT_LENGTH; seed++) {
+            String prescription = SyntheticPrescriptions.generate(2000, seed);
+            prescriptions.add(prescription);
+            all.append(prescription);
+        }
+        text = all.substring(0, TEXT_LENGTH);
+    }
+
+    @Benchmark
+    public List<MedicineExtractor.Mention> ahoCorasick() {
+        return extractor.extract(text);
+    }
+
+    @Benchmark
+    public int regexLoop() {
+        int found = 0;
+        for (String prescription : prescriptions) {
+            for (Pattern pattern : FRONTEND_PATTERNS) {
+                Matcher matcher = pattern.matcher(prescription);
+                while (matcher.find()) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+}
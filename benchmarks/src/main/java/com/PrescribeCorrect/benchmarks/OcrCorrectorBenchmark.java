@@ -0,0 +1,125 @@
+package com.PrescribeCorrect.benchmarks;
+
+import com.PrescribeCorrect.app.util.MedicalTermDictionary;
+import com.PrescribeCorrect.app.util.MedicineExtractor;
+import com.PrescribeCorrect.app.util.OcrCorrector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * SymSpell OCR correction over the training data, medicine list and prescription words, against the
+ * frontend's correctOCRText: fifteen fixed mistakes, one case-insensitive regex replace each.
+ * Run from the benchmarks directory, or pass -p trainingData=/path/to/training_data.json.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OcrCorrectorBenchmark {
+
+    // misread tokens one and two edits away, plus glyph swaps
+    private static final String[] MISSPELLED = {"tahlet", "capsul", "syrap", "evemng", "nigth", "daly", "medicin",
+            "prescriptin", "paracetamal", "amoxicilin", "ibuprofn", "omeprazol", "metforrnin", "moming", "rng", "breakfst"};
+    private static final String[] KNOWN = {"tablet", "capsule", "morning", "paracetamol", "amoxicillin", "daily"};
+
+    private static final Map<String, String> FRONTEND_CORRECTIONS = new LinkedHashMap<>();
+
+    static {
+        String[] pairs = {"rng", "mg", "rnl", "ml", "tahlet", "tablet", "capsul", "capsule", "syrap", "syrup",
+                "moming", "morning", "evemng", "evening", "nigth", "night", "daly", "daily", "tim", "time",
+                "medicin", "medicine", "prescriptin", "prescription", "paracetamal", "paracetamol",
+                "amoxicilin", "amoxicillin", "ibuprofn", "ibuprofen"};
+        for (int i = 0; i < pairs.length; i += 2) {
+            FRONTEND_CORRECTIONS.put(pairs[i], pairs[i + 1]);
+        }
+    }
+
+    @Param({"../training_data.json"})
+    public String trainingData;
+
+    private MedicalTermDictionary dictionary;
+    private OcrCorrector corrector;
+    private Pattern[] frontendPatterns;
+    private String text;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (InputStream in = new FileInputStream(trainingData)) {
+            dictionary = MedicalTermDictionary.load(new ObjectMapper(), in);
+        }
+        corrector = build();
+        frontendPatterns = FRONTEND_CORRECTIONS.keySet().stream()
+                .map(mistake -> Pattern.compile("\\b" + mistake + "\\b", Pattern.CASE_INSENSITIVE))
+                .toArray(Pattern[]::new);
+        text = SyntheticPrescriptions.generate(2000, 7);
+        System.out.println("\n" + corrector.size() + " words, " + corrector.indexedDeletes() + " deletes ("
+                + corrector.indexedDeletes() * Long.BYTES / 1024 + " KB)");
+    }
+
+    // same vocabulary and weights as OcrCorrectionServiceImp
+    private OcrCorrector build() throws IOException {
+        OcrCorrector.Builder builder = new OcrCorrector.Builder();
+        dictionary.forEachText(text -> builder.addText(text, 1));
+        try (InputStream medicines = MedicineExtractor.class.getResourceAsStream("/medicines/medicines.tsv");
+             InputStream words = MedicineExtractor.class.getResourceAsStream("/ocr/prescription-words.txt")) {
+            MedicineExtractor.forEachEntry(medicines, (name, generic) -> builder.addName(name, 1_000).addName(generic, 1_000));
+            BufferedReader reader = new BufferedReader(new InputStreamReader(words, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    builder.addWord(line, 10_000);
+                }
+            }
+        }
+        return builder.build(2);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public OcrCorrector buildIndex() throws IOException {
+        return build();
+    }
+
+    @Benchmark
+    public String lookupMisspelled() {
+        return corrector.lookup(MISSPELLED[next++ & 15]);
+    }
+
+    @Benchmark
+    public String lookupKnown() {
+        next = (next + 1) % KNOWN.length;
+        return corrector.lookup(KNOWN[next]);
+    }
+
+    @Benchmark
+    public OcrCorrector.Result correctPrescription() {
+        return corrector.correct(text);
+    }
+
+    @Benchmark
+    public String frontendCorrections() {
+        String corrected = text;
+        int i = 0;
+        for (String correction : FRONTEND_CORRECTIONS.values()) {
+            corrected = frontendPatterns[i++].matcher(corrected).replaceAll(correction);
+        }
+        return corrected;
+    }
+}
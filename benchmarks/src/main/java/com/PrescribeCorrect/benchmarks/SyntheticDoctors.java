@@ -0,0 +1,50 @@
+package com.PrescribeCorrect.benchmarks;
+
+import com.PrescribeCorrect.app.dto.DoctorDTO;
+import com.PrescribeCorrect.app.model.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic doctor directory generator shaped like doctors_data.json
+ */
+public final class SyntheticDoctors {
+
+    static final String[] FIRST_NAMES = {"Habib", "Latif", "Salma", "Nasrin", "Wasim", "Karim", "Rahima", "Farhana",
+            "Mahmud", "Tanvir", "Shirin", "Rafiq", "Jahanara", "Kamal", "Nusrat", "Arif", "Sabina", "Hasan"};
+    static final String[] LAST_NAMES = {"Mandal", "Rahman", "Hossain", "Chowdhury", "Islam", "Ahmed", "Khan",
+            "Sarkar", "Talukder", "Biswas", "Uddin", "Akter", "Sultana", "Miah", "Bhuiyan", "Haque"};
+    static final String[] SPECIALIZATIONS = {"Cardiology", "Gynecology & Obstetrics", "Neurology", "Renal Surgery",
+            "Psychiatry", "Dermatology", "Pediatrics", "Orthopedics", "ENT", "Ophthalmology", "Gastroenterology",
+            "Endocrinology", "Oncology", "Pulmonology", "Urology"};
+    static final String[] CITIES = {"Dhaka", "Ctg", "Sylhet", "Rajshahi", "Khulna", "Barisal", "Rangpur",
+            "Mymensingh", "Comilla", "Narsingdi"};
+    static final String[] INSTITUTES = {"Dhaka Medical College Hospital", "Chattagram Maa-O-Shishu Hospital",
+            "Sylhet MAG Osmani Medical College", "BSMMU", "Square Hospital", "Evercare Hospital"};
+
+    private SyntheticDoctors() {
+    }
+
+    public static List<DoctorDTO> generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<DoctorDTO> doctors = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            // suffix keeps names diverse at 100k like a real directory, instead of 18 x 16 combinations
+            String first = pick(random, FIRST_NAMES) + (random.nextInt(4) == 0 ? "" : pick(random, LAST_NAMES).substring(0, 2).toLowerCase());
+            String last = pick(random, LAST_NAMES);
+            String city = pick(random, CITIES);
+            doctors.add(new DoctorDTO((long) i, first, last,
+                    "dr." + first.toLowerCase() + "." + last.toLowerCase() + i + "@PrescribeCorrect.com",
+                    List.of(pick(random, SPECIALIZATIONS)), List.of("MBBS", "FCPS"), List.of("+88017" + (10000000 + i)),
+                    "Chamber, " + city, "Associate Professor", pick(random, INSTITUTES), city,
+                    "9:00 AM - 4:00 PM", null, Status.values()[random.nextInt(Status.values().length)]));
+        }
+        return doctors;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
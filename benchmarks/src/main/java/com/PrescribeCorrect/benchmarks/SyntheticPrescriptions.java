@@ -0,0 +1,89 @@
+package com.PrescribeCorrect.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Deterministic OCR-style prescription text, shaped like fullPrescriptionText from the upload page:
+ * letterhead, vitals, complaints, an Rx block and advice, with numbers, names and OCR slips varying per text.
+ */
+public final class SyntheticPrescriptions {
+
+    static final String[] MEDICINES = {"Napa", "Ace", "Seclo", "Maxpro", "Sergel", "Omep", "Fexo", "Monas", "Alatrol",
+            "Zimax", "Cef-3", "Flagyl", "Comet", "Osartil", "Bisocor", "Ecosprin", "Calbo-D", "Rosuva", "Amlopin",
+            "Losectil", "Neoceptin R", "Filwel Gold", "Tofen", "Deslor", "Azin", "Ciprocin", "Famotack", "Xinc",
+            "Motigut", "Emistat", "Pantonix", "Nexum", "Lumona", "Doxiva", "Esoral", "Rolac", "Clonium", "Sedil"};
+    static final String[] FORMS = {"Tab.", "Cap.", "Syp.", "Inj.", "Susp."};
+    static final String[] STRENGTHS = {"500mg", "20mg", "10mg", "40mg", "120mg", "5mg", "250mg", "1gm", "75mg", "2.5mg"};
+    static final String[] SCHEDULES = {"1+0+1", "0+0+1", "1+0+0", "1+1+1", "0+1+0", "1/2+0+1/2", "2 tsf 3 times daily"};
+    static final String[] TIMING = {"after meal", "before meal", "at bed time", "if fever", "if pain", "empty stomach"};
+    static final String[] DURATIONS = {"5 days", "7 days", "14 days", "1 month", "3 months", "continue"};
+    static final String[] COMPLAINTS = {"Fever", "Cough", "Headache", "Abdominal pain", "Vomiting", "Loose motion",
+            "Weakness", "Chest pain", "Burning micturition", "Joint pain", "Sore throat", "Dizziness"};
+    static final String[] ADVICE = {"Drink plenty of water", "Take rest", "Avoid oily and spicy food", "Avoid smoking",
+            "Regular exercise", "Follow up after 7 days", "Next visit after 1 month with reports"};
+    static final String[] TESTS = {"CBC", "ESR", "RBS", "HbA1c", "Serum Creatinine", "SGPT", "Lipid profile",
+            "Urine R/M/E", "X-ray Chest P/A view", "ECG", "USG of whole abdomen"};
+
+    private SyntheticPrescriptions() {
+    }
+
+    public static String generate(int length, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder(length + 256);
+        while (text.length() < length) {
+            appendPrescription(text, random);
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+
+    private static void appendPrescription(StringBuilder text, Random random) {
+        text.append("Dr. ").append(pick(random, SyntheticDoctors.FIRST_NAMES)).append(' ')
+                .append(pick(random, SyntheticDoctors.LAST_NAMES)).append("\nMBBS, FCPS (Medicine)\n")
+                .append(pick(random, SyntheticDoctors.SPECIALIZATIONS)).append(" Specialist\n")
+                .append(pick(random, SyntheticDoctors.INSTITUTES)).append(", ").append(pick(random, SyntheticDoctors.CITIES))
+                .append("\nBMDC Reg. No. A-").append(10000 + random.nextInt(90000))
+                .append("\nMobile: +88017").append(10000000 + random.nextInt(90000000)).append('\n');
+        text.append("Patient Name: ").append(pick(random, SyntheticDoctors.FIRST_NAMES)).append(' ')
+                .append(pick(random, SyntheticDoctors.LAST_NAMES)).append("  Age: ").append(1 + random.nextInt(90))
+                .append(" years  Date: ").append(1 + random.nextInt(28)).append('/').append(1 + random.nextInt(12))
+                .append("/2025\nBP: ").append(100 + random.nextInt(60)).append('/').append(60 + random.nextInt(40))
+                .append(" mmHg  Pulse: ").append(60 + random.nextInt(50)).append("/min  Weight: ")
+                .append(10 + random.nextInt(80)).append(" kg\nC/C:\n");
+        for (int i = 0, n = 1 + random.nextInt(3); i < n; i++) {
+            text.append("- ").append(pick(random, COMPLAINTS)).append(" for ").append(1 + random.nextInt(14)).append(" days\n");
+        }
+        text.append("Investigations: ");
+        for (int i = 0, n = 1 + random.nextInt(4); i < n; i++) {
+            text.append(pick(random, TESTS)).append(", ");
+        }
+        text.append("\nRx\n");
+        for (int i = 0, n = 2 + random.nextInt(5); i < n; i++) {
+            String line = pick(random, FORMS) + " " + pick(random, MEDICINES) + " " + pick(random, STRENGTHS) + "\n    "
+                    + pick(random, SCHEDULES) + " " + pick(random, TIMING) + " - " + pick(random, DURATIONS) + "\n";
+            text.append(ocrSlip(line, random));
+        }
+        text.append("Adv:\n");
+        for (int i = 0, n = 1 + random.nextInt(3); i < n; i++) {
+            text.append("* ").append(pick(random, ADVICE)).append('\n');
+        }
+        text.append('\n');
+    }
+
+    // OCR rarely reads a handwritten line cleanly: now and then a character is swapped
+    private static String ocrSlip(String line, Random random) {
+        if (random.nextInt(3) != 0) {
+            return line;
+        }
+        char[] chars = line.toCharArray();
+        int at = random.nextInt(chars.length);
+        if (Character.isLetter(chars[at])) {
+            chars[at] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
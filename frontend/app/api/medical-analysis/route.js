@@ -12,8 +12,8 @@ export async function POST(request) {
     console.log('Analyzing prescription using local training data...')
     console.log('Original OCR text:', text.substring(0, 200) + '...')
     
-    // Use local training data analysis - NO API calls
-    const analysis = generateMedicalAnalysis(text)
+    // Local analysis; medicine definitions are looked up in the backend's medical term dictionary
+    const analysis = await generateMedicalAnalysis(text)
     const correctedText = correctOCRText(text)
     
     console.log('Corrected text:', correctedText.substring(0, 200) + '...')
@@ -8,6 +8,8 @@ import dynamic from 'next/dynamic'
 
 // API configuration
 const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080/api'
+// /user/chat is paged; a shorter page is the last one
+const CHAT_PAGE_SIZE = 100
 
 // Lazy load Navigation component
 const Navigation = dynamic(() => import('@/components/Navigation'), {
@@ -238,15 +240,21 @@ export default function ChatPage() {
   const loadChatHistory = async () => {
     try {
       const token = getToken()
-      const response = await fetch(`${API_BASE_URL}/user/chat`, {
-        headers: {
-          'Authorization': `Bearer ${token}`,
-          'Content-Type': 'application/json',
-        },
-      })
+      let chats = null
+      for (let page = 0; ; page++) {
+        const response = await fetch(`${API_BASE_URL}/user/chat?page=${page}&size=${CHAT_PAGE_SIZE}`, {
+          headers: {
+            'Authorization': `Bearer ${token}`,
+            'Content-Type': 'application/json',
+          },
+        })
+        if (!response.ok) break
+        const batch = await response.json()
+        chats = (chats || []).concat(batch)
+        if (batch.length < CHAT_PAGE_SIZE) break
+      }
 
-      if (response.ok) {
-        const chats = await response.json()
+      if (chats) {
         setChatHistory(chats)
         
         // If there are existing chats, load the most recent one (only if not coming from prescription)
@@ -273,12 +281,29 @@ export default function ChatPage() {
 
       if (response.ok) {
         const chatData = await response.json()
-        const formattedMessages = chatData.messages?.map(msg => ({
+        const loaded = chatData.messages || []
+        // the chat itself carries the newest page; older messages are paged in, oldest id as the cursor
+        let hasMore = chatData.hasMoreMessages && loaded.length > 0
+        let before = hasMore ? loaded[loaded.length - 1].id : null
+        while (hasMore) {
+          const pageResponse = await fetch(`${API_BASE_URL}/chat/${chatId}/messages?before=${before}&limit=200`, {
+            headers: {
+              'Authorization': `Bearer ${token}`,
+              'Content-Type': 'application/json',
+            },
+          })
+          if (!pageResponse.ok) break
+          const page = await pageResponse.json()
+          loaded.push(...page.content)
+          hasMore = page.hasMore && page.content.length > 0
+          before = page.nextCursor
+        }
+        const formattedMessages = loaded.map(msg => ({
           id: msg.id,
           type: msg.role === 'USER' ? 'user' : 'bot',
           content: msg.message,
           timestamp: new Date(msg.createdAt)
-        })) || []
+        }))
         
         // Sort messages by timestamp (oldest first)
         formattedMessages.sort((a, b) => new Date(a.timestamp) - new Date(b.timestamp))
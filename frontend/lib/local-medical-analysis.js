@@ -1,81 +1,9 @@
-// Local medical analysis using training data - NO API calls
-import fs from 'fs'
-import path from 'path'
-
-let trainingData = null
-let medicalTermsIndex = null
-
-// Load and index training data
-function loadTrainingData() {
-  if (trainingData) return trainingData
-
-  try {
-    // Try correct path first
-    const correctPath = 'D:\\PrescribeCorrect\\PrescribeCorrect\\training_data.json'
-    console.log('Looking for training data at:', correctPath)
-    
-    let rawData
-    if (fs.existsSync(correctPath)) {
-      rawData = fs.readFileSync(correctPath, 'utf8')
-      console.log('Successfully found training data at correct path')
-    } else {
-      // Try alternative paths
-      const altPath = path.join(process.cwd(), '..', 'training_data.json')
-      console.log('Trying alternative path:', altPath)
-      if (fs.existsSync(altPath)) {
-        rawData = fs.readFileSync(altPath, 'utf8')
-      } else {
-        throw new Error('Training data file not found in any expected location')
-      }
-    }
-    trainingData = JSON.parse(rawData)
-    
-    // Create index for fast lookup
-    medicalTermsIndex = {
-      terms: new Map(),
-      definitions: new Map(),
-      categories: new Map()
-    }
-    
-    trainingData.forEach(item => {
-      if (item.text_input && item.text_output) {
-        // Extract medical terms from definitions
-        const defMatch = item.text_input.match(/Define the medical term: (.+)/i)
-        if (defMatch) {
-          const term = defMatch[1].toLowerCase()
-          medicalTermsIndex.terms.set(term, item.text_output)
-        }
-        
-        // Extract term from descriptions
-        const termMatch = item.text_input.match(/What medical term matches this description: (.+)/i)
-        if (termMatch) {
-          const description = termMatch[1].toLowerCase()
-          medicalTermsIndex.definitions.set(description, item.text_output)
-        }
-        
-        // Extract categories
-        const catMatch = item.text_input.match(/What category is the medical term '(.+)' in\?/i)
-        if (catMatch) {
-          const term = catMatch[1].toLowerCase()
-          medicalTermsIndex.categories.set(term, item.text_output)
-        }
-      }
-    })
-    
-    console.log(`Loaded ${trainingData.length} training examples`)
-    console.log(`Indexed ${medicalTermsIndex.terms.size} terms`)
-    
-    return trainingData
-  } catch (error) {
-    console.error('Error loading training data:', error)
-    return []
-  }
-}
+// Local medical analysis; medicine definitions come from the backend's medical term dictionary
+// (GET /api/medical-terms/identify, compiled from training_data.json), no external AI calls
+const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080/api'
 
 // Enhanced OCR correction using training data
 function correctOCRText(rawText) {
-  loadTrainingData()
-  
   let correctedText = rawText
   
   // Common OCR corrections from medical context
@@ -113,11 +41,7 @@ function correctOCRText(rawText) {
 }
 
 // Enhanced medicine identification using training data
-function identifyMedicineFromTrainingData(medicineName) {
-  if (!medicalTermsIndex || !trainingData) {
-    loadTrainingData()
-  }
-  
+async function identifyMedicineFromTrainingData(medicineName) {
   // Common medicine name mappings from OCR patterns
   const commonMedicines = {
     'WN': { name: 'Warfarin', generic: 'Warfarin Sodium', type: 'anticoagulant' },
@@ -144,43 +68,21 @@ function identifyMedicineFromTrainingData(medicineName) {
     }
   }
   
-  const searchTerms = [
-    medicineName.toLowerCase(),
-    medicineName.replace(/\s+/g, ''),
-    medicineName.split(/\s+/)[0], // First word
-    ...medicineName.split(/\s+/) // Individual words
-  ]
-  
-  for (let term of searchTerms) {
-    // Search in medical terms index
-    if (medicalTermsIndex.terms.has(term)) {
-      return {
-        definition: medicalTermsIndex.terms.get(term),
-        source: 'training_data'
-      }
+  // The backend tries the whole name, the name without spaces and each word against its term index
+  try {
+    const response = await fetch(`${API_BASE_URL}/medical-terms/identify?name=${encodeURIComponent(medicineName)}`)
+    if (!response.ok) {
+      return null
     }
-    
-    // Search in training data text
-    for (let item of trainingData) {
-      if (item.text_input && item.text_output) {
-        const input = item.text_input.toLowerCase()
-        const output = item.text_output.toLowerCase()
-        
-        if (input.includes(term) || output.includes(term)) {
-          // Extract relevant medical information
-          if (output.includes('drug') || output.includes('medicine') || 
-              output.includes('tablet') || output.includes('treatment')) {
-            return {
-              definition: item.text_output,
-              source: 'training_data_search'
-            }
-          }
-        }
-      }
+    const term = await response.json()
+    return {
+      definition: term.definition,
+      source: 'training_data'
     }
+  } catch (error) {
+    console.error('Medical term lookup failed:', error.message)
+    return null
   }
-  
-  return null
 }
 
 // Extract medicine patterns with context-aware matching
@@ -231,12 +133,10 @@ function extractMedicinePatterns(text) {
 }
 
 // Extract medical information using training data
-function extractMedicalInfo(text) {
-  loadTrainingData()
-  
+async function extractMedicalInfo(text) {
   const info = {
     patient: extractPatientInfo(text),
-    medications: extractMedications(text),
+    medications: await extractMedications(text),
     tests: extractTests(text),
     hospital: extractHospitalInfo(text)
   }
@@ -277,12 +177,10 @@ function extractHospitalInfo(text) {
   return hospital
 }
 
-function extractMedications(text) {
+async function extractMedications(text) {
   const medications = []
-  loadTrainingData() // Ensure training data is loaded
   
   console.log('Starting comprehensive medication extraction using training data...')
-  console.log('Training data loaded:', trainingData?.length || 0, 'items')
   
   // Extract all possible medicine patterns from OCR text
   const medicinePatterns = extractMedicinePatterns(text)
@@ -326,10 +224,10 @@ function extractMedications(text) {
   console.log('Total medicine candidates:', allCandidates.length)
   
   // Process each candidate
-  allCandidates.forEach((candidate, index) => {
+  for (const [index, candidate] of allCandidates.entries()) {
     console.log(`Processing candidate ${index + 1}:`, candidate.fullMatch.substring(0, 100))
     
-    const medicationInfo = processMedicineCandidate(candidate, text)
+    const medicationInfo = await processMedicineCandidate(candidate, text)
     if (medicationInfo) {
       // Check for duplicates
       const isDuplicate = medications.some(existing => 
@@ -345,7 +243,7 @@ function extractMedications(text) {
         console.log(`Skipped duplicate: ${medicationInfo.ওষুধের_নাম}`)
       }
     }
-  })
+  }
   
   console.log(`Final extracted medications: ${medications.length}`)
   medications.forEach((med, i) => {
@@ -365,7 +263,7 @@ function extractMedications(text) {
   }]
 }
 
-function processMedicineCandidate(candidate, fullText) {
+async function processMedicineCandidate(candidate, fullText) {
   const text = candidate.fullMatch
   const context = candidate.context || text
   
@@ -458,7 +356,7 @@ function processMedicineCandidate(candidate, fullText) {
   
   if (extractedName) {
     // Use training data to get more information about this medicine
-    const trainingInfo = identifyMedicineFromTrainingData(extractedName)
+    const trainingInfo = await identifyMedicineFromTrainingData(extractedName)
     
     if (trainingInfo) {
       if (trainingInfo.name) {
@@ -550,9 +448,9 @@ function extractTests(text) {
 }
 
 // Generate medical analysis using local training data
-function generateMedicalAnalysis(ocrText) {
+async function generateMedicalAnalysis(ocrText) {
   const correctedText = correctOCRText(ocrText)
-  const medicalInfo = extractMedicalInfo(correctedText)
+  const medicalInfo = await extractMedicalInfo(correctedText)
   
   const analysis = {
     "রোগীর_তথ্য": {
@@ -645,7 +543,6 @@ function generateMedicalAnalysis(ocrText) {
 }
 
 export { 
-  loadTrainingData, 
   correctOCRText, 
   extractMedicalInfo, 
   generateMedicalAnalysis 